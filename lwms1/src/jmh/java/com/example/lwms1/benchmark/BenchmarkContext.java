@@ -0,0 +1,48 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.Lwms1Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application once per trial on the "benchmark" profile (embedded H2) and seeds it.
+ * The data volumes are JMH parameters, so they can be changed from the command line,
+ * e.g. {@code -p inventoryRows=50000 -p spaces=200}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    @Param({"1000", "10000"})
+    public int inventoryRows;
+
+    @Param({"50"})
+    public int spaces;
+
+    @Param({"200"})
+    public int maintenanceTasks;
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkDataSeeder.SeededData data;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Lwms1Application.class)
+                .profiles("benchmark")
+                .run();
+        data = new BenchmarkDataSeeder(context).seed(inventoryRows, spaces, maintenanceTasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public BenchmarkDataSeeder.SeededData data() {
+        return data;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.model.*;
+import com.example.lwms1.repository.*;
+import com.example.lwms1.service.CapacityLedger;
+import com.example.lwms1.service.DashboardService;
+import com.example.lwms1.service.MaintenanceLockRegistry;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills the embedded database through the repositories. Zones get far more capacity than the
+ * benchmarks can use up, and pending maintenance only targets equipment outside the seeded
+ * zones, so no benchmark invocation is rejected by a capacity or maintenance check.
+ */
+class BenchmarkDataSeeder {
+
+    static final int ZONE_CAPACITY = 1_000_000_000;
+    static final int ITEM_QUANTITY = 1_000;
+    private static final int BATCH = 500;
+    private static final String[] CATEGORIES = {"Electronics", "Furniture", "Apparel", "Food", "Tools"};
+
+    private final ApplicationContext context;
+    private final TransactionTemplate tx;
+
+    BenchmarkDataSeeder(ApplicationContext context) {
+        this.context = context;
+        this.tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    SeededData seed(int inventoryRows, int spaceCount, int maintenanceTasks) {
+        SpaceRepository spaceRepo = context.getBean(SpaceRepository.class);
+        InventoryRepository inventoryRepo = context.getBean(InventoryRepository.class);
+        ShipmentRepository shipmentRepo = context.getBean(ShipmentRepository.class);
+        MaintenanceScheduleRepository maintenanceRepo = context.getBean(MaintenanceScheduleRepository.class);
+
+        List<Space> newSpaces = new ArrayList<>();
+        for (int i = 0; i < spaceCount; i++) {
+            Space space = new Space();
+            space.setZone("BENCH-" + i);
+            space.setTotalCapacity(ZONE_CAPACITY);
+            space.setUsedCapacity(0);
+            space.setAvailableCapacity(ZONE_CAPACITY);
+            newSpaces.add(space);
+        }
+        List<Space> spaces = tx.execute(status -> spaceRepo.saveAll(newSpaces));
+
+        List<Integer> itemIds = new ArrayList<>(inventoryRows);
+        for (int from = 0; from < inventoryRows; from += BATCH) {
+            int to = Math.min(inventoryRows, from + BATCH);
+            List<Inventory> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Space space = spaces.get(i % spaces.size());
+                Inventory item = new Inventory();
+                item.setItemName("Item-" + i);
+                item.setCategory(CATEGORIES[i % CATEGORIES.length]);
+                item.setQuantity(ITEM_QUANTITY);
+                item.setLocation(space.getZone());
+                item.setStorageSpace(space);
+                item.setLastUpdated(LocalDateTime.now().minusMinutes(i));
+                batch.add(item);
+            }
+            tx.executeWithoutResult(status -> inventoryRepo.saveAll(batch).forEach(item -> itemIds.add(item.getItemId())));
+        }
+        CapacityLedger capacityLedger = context.getBean(CapacityLedger.class);
+        for (int i = 0; i < spaces.size(); i++) {
+            long items = inventoryRows / spaces.size() + (i < inventoryRows % spaces.size() ? 1 : 0);
+            capacityLedger.reserve(spaces.get(i), (int) (items * ITEM_QUANTITY));
+        }
+
+        List<Integer> shipmentItems = itemIds.subList(0, Math.max(1, itemIds.size() / 10));
+        tx.executeWithoutResult(status -> {
+            List<Shipment> shipments = new ArrayList<>();
+            for (Integer itemId : shipmentItems) {
+                Shipment shipment = new Shipment();
+                shipment.setInventory(inventoryRepo.getReferenceById(itemId));
+                shipment.setQuantity(1);
+                shipment.setOrigin("BENCH-DOCK");
+                shipment.setDestination("Customer-" + itemId);
+                shipment.setStatus(ShipmentStatus.DELIVERED);
+                shipment.setExpectedDeliveryDate(LocalDate.now());
+                shipments.add(shipment);
+            }
+            shipmentRepo.saveAll(shipments);
+        });
+
+        List<Integer> spaceIds = spaces.stream().map(Space::getSpaceId).toList();
+        int maxSpaceId = spaceIds.stream().mapToInt(Integer::intValue).max().orElse(0);
+        tx.executeWithoutResult(status -> {
+            List<MaintenanceSchedule> tasks = new ArrayList<>();
+            for (int i = 0; i < maintenanceTasks; i++) {
+                MaintenanceSchedule task = new MaintenanceSchedule();
+                boolean pending = i % 2 == 0;
+                // pending tasks lock equipment that is not one of the seeded zones
+                task.setEquipmentId(pending ? maxSpaceId + 1 + i : spaceIds.get(i % spaceIds.size()));
+                task.setDescription("Inspection " + i);
+                task.setScheduledDate(LocalDate.now().plusDays(i % 30));
+                task.setCompletionStatus(pending ? "PENDING" : "COMPLETED");
+                tasks.add(task);
+            }
+            maintenanceRepo.saveAll(tasks);
+        });
+
+        // Both were initialised from the empty database at startup
+        context.getBean(MaintenanceLockRegistry.class).rebuild();
+        context.getBean(DashboardService.class).onWarehouseChanged(new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY));
+
+        return new SeededData(spaces.stream().map(Space::getZone).toList(), List.copyOf(itemIds));
+    }
+
+    record SeededData(List<String> zones, List<Integer> itemIds) {}
+}
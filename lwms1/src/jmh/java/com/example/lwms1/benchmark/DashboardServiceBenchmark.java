@@ -0,0 +1,39 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.service.DashboardService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DashboardServiceBenchmark {
+
+    private static final WarehouseChangedEvent CHANGE = new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY);
+
+    private DashboardService dashboardService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        dashboardService = context.bean(DashboardService.class);
+    }
+
+    /** Served from the in-memory snapshot. */
+    @Benchmark
+    public Map<String, Object> getAllStatsCached() {
+        return dashboardService.getAllStats();
+    }
+
+    /** Every call follows a write, so the aggregate queries run each time. */
+    @Benchmark
+    public Map<String, Object> getAllStatsAfterWrite() {
+        dashboardService.onWarehouseChanged(CHANGE);
+        return dashboardService.getAllStats();
+    }
+}
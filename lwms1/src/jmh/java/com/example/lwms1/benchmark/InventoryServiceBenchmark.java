@@ -0,0 +1,81 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.dto.InventoryDTO;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryServiceBenchmark {
+
+    private InventoryService inventoryService;
+    private List<String> zones;
+    private List<Integer> itemIds;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        inventoryService = context.bean(InventoryService.class);
+        zones = context.data().zones();
+        itemIds = context.data().itemIds();
+    }
+
+    @Benchmark
+    public Inventory create() {
+        return inventoryService.create(newItem(zones, counter++));
+    }
+
+    @Benchmark
+    public Inventory update() {
+        int n = counter++;
+        InventoryDTO dto = new InventoryDTO();
+        dto.setItemName("Item-" + n);
+        dto.setCategory("Electronics");
+        // each pass over the items flips the quantity, so every update reserves or releases capacity
+        boolean evenPass = (n / itemIds.size()) % 2 == 0;
+        dto.setQuantity(BenchmarkDataSeeder.ITEM_QUANTITY + (evenPass ? 10 : 0));
+        return inventoryService.update(itemIds.get(n % itemIds.size()), dto);
+    }
+
+    @Benchmark
+    public void delete(DeleteTarget target) {
+        inventoryService.delete(target.itemId);
+    }
+
+    static InventoryDTO newItem(List<String> zones, int n) {
+        InventoryDTO dto = new InventoryDTO();
+        dto.setItemName("Bench-" + n);
+        dto.setCategory("Tools");
+        dto.setQuantity(5);
+        dto.setLocation(zones.get(n % zones.size()));
+        return dto;
+    }
+
+    /** Creates a fresh item before each delete() call so that only the delete is measured. */
+    @State(Scope.Thread)
+    public static class DeleteTarget {
+        private InventoryService inventoryService;
+        private List<String> zones;
+        private int counter;
+        Integer itemId;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkContext context) {
+            inventoryService = context.bean(InventoryService.class);
+            zones = context.data().zones();
+        }
+
+        @Setup(Level.Invocation)
+        public void createItem() {
+            itemId = inventoryService.create(newItem(zones, counter++)).getItemId();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.service.MaintenanceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MaintenanceServiceBenchmark {
+
+    private MaintenanceService maintenanceService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        maintenanceService = context.bean(MaintenanceService.class);
+    }
+
+    @Benchmark
+    public List<Integer> getCurrentlyLockedSpaceIds() {
+        return maintenanceService.getCurrentlyLockedSpaceIds();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.dto.ReportDTO;
+import com.example.lwms1.dto.ReportJobDTO;
+import com.example.lwms1.service.ReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/** Measures a whole report job: from submission until the report has been stored. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportServiceBenchmark {
+
+    @Param({"INVENTORY", "SHIPMENT"})
+    public String reportType;
+
+    private ReportService reportService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        reportService = context.bean(ReportService.class);
+    }
+
+    @Benchmark
+    public ReportJobDTO generate() {
+        ReportDTO dto = new ReportDTO();
+        dto.setReportType(reportType);
+        String jobId = reportService.generate(dto);
+        ReportJobDTO job = reportService.findJob(jobId).orElseThrow();
+        while (!job.isFinished()) {
+            LockSupport.parkNanos(50_000);
+        }
+        if (job.getState() == ReportJobDTO.State.FAILED) {
+            throw new IllegalStateException("Report job failed: " + job.getErrorMessage());
+        }
+        return job;
+    }
+}
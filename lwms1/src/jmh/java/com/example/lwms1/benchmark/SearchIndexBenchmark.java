@@ -0,0 +1,71 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.dto.InventorySearchHitDTO;
+import com.example.lwms1.search.InventorySearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead queries against the in-memory inventory search index, without Spring or a database.
+ * Items get a few words from a skewed vocabulary so that short prefixes match a large share of
+ * them, which is the case the candidate limit in the index is there for.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final String[] WORDS = {"steel", "bolt", "nut", "washer", "laptop", "monitor", "cable",
+            "chair", "desk", "lamp", "pallet", "box", "tape", "glove", "helmet", "drill", "battery", "filter"};
+    private static final String[] CATEGORIES = {"Hardware", "Electronics", "Furniture", "Packaging", "Safety"};
+
+    @Param({"1000000"})
+    public int items;
+
+    @Param({"s", "lap", "bol har", "monitor 27", "zone-7 cab"})
+    public String query;
+
+    private InventorySearchIndex index;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<InventorySearchHitDTO> docs = new ArrayList<>(items);
+        for (int id = 1; id <= items; id++) {
+            docs.add(randomDoc(random, id));
+        }
+        index = new InventorySearchIndex();
+        index.replaceAll(docs.iterator());
+        nextId = items + 1;
+    }
+
+    @Benchmark
+    public List<InventorySearchHitDTO> search() {
+        return index.search(query, 10);
+    }
+
+    // Single-item update as the outbox consumer applies it; includes the occasional compaction
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public void apply() {
+        int id = nextId++;
+        index.apply(List.of(randomDoc(new Random(id), id)), List.of());
+    }
+
+    private static InventorySearchHitDTO randomDoc(Random random, int id) {
+        // Squaring the draw skews word frequencies towards the front of the vocabulary
+        String name = WORDS[(int) (Math.pow(random.nextDouble(), 2) * WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)] + " " + (random.nextInt(40) + 1);
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        String location = "Zone-" + random.nextInt(50);
+        return new InventorySearchHitDTO(id, name, category, location);
+    }
+}
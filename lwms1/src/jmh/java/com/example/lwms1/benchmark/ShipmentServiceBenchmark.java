@@ -0,0 +1,41 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.service.ShipmentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ShipmentServiceBenchmark {
+
+    private ShipmentService shipmentService;
+    private List<Integer> itemIds;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        shipmentService = context.bean(ShipmentService.class);
+        itemIds = context.data().itemIds();
+    }
+
+    @Benchmark
+    public void create() {
+        // one unit per shipment, spread over all items so stock does not run out
+        int n = counter++;
+        ShipmentDTO dto = new ShipmentDTO();
+        dto.setItemId(itemIds.get(n % itemIds.size()));
+        dto.setQuantity(1);
+        dto.setOrigin("BENCH-DOCK");
+        dto.setDestination("Customer-" + n);
+        dto.setExpectedDeliveryDate(LocalDate.now().plusDays(3));
+        shipmentService.create(dto);
+    }
+}
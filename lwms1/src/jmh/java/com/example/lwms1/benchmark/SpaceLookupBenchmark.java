@@ -0,0 +1,75 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.metrics.QueryCountInspector;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.SpaceRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zone lookups and space listings as the inventory pages do them, with the second-level cache
+ * in use (NORMAL) and bypassed (IGNORE). The "statements" counter is the number of SQL
+ * statements sent per operation, i.e. the database round trips the cache saves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SpaceLookupBenchmark {
+
+    @Param({"NORMAL", "IGNORE"})
+    public String cacheMode;
+
+    private SpaceRepository spaceRepo;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private List<String> zones;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) {
+        spaceRepo = context.bean(SpaceRepository.class);
+        entityManager = context.bean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.bean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        zones = context.data().zones();
+    }
+
+    @Benchmark
+    public Space findByZone(Statements counter) {
+        String zone = zones.get(next++ % zones.size());
+        return inTransaction(counter, () -> spaceRepo.findByZone(zone).orElseThrow());
+    }
+
+    @Benchmark
+    public List<Space> findAll(Statements counter) {
+        return inTransaction(counter, spaceRepo::findAll);
+    }
+
+    private <T> T inTransaction(Statements counter, Supplier<T> work) {
+        QueryCountInspector.reset();
+        T result = transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setCacheMode(CacheMode.valueOf(cacheMode));
+            return work.get();
+        });
+        counter.statements += QueryCountInspector.current();
+        return result;
+    }
+}
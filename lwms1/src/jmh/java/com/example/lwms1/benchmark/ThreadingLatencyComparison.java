@@ -0,0 +1,143 @@
+package com.example.lwms1.benchmark;
+
+import com.example.lwms1.Lwms1Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Load comparison of Tomcat on platform threads against the "virtual-threads" profile. Each run
+ * boots the application on the embedded benchmark database, logs in once and lets
+ * {@code users} concurrent clients alternate between /user/home and /inventory for
+ * {@code requestsPerUser} requests each, then prints p50/p99/max latency per page.
+ * The virtual-thread run is skipped when the JVM is older than 21.
+ *
+ * Arguments: {@code [users=1000] [requestsPerUser=20]}
+ */
+public class ThreadingLatencyComparison {
+
+    private static final List<String> PAGES = List.of("/user/home", "/inventory");
+    private static final int INVENTORY_ROWS = 10_000;
+    private static final int SPACES = 50;
+    private static final int MAINTENANCE_TASKS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int requestsPerUser = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        run("platform threads", false, users, requestsPerUser);
+        if (Runtime.version().feature() >= 21) {
+            run("virtual threads", true, users, requestsPerUser);
+        } else {
+            System.out.println("Skipping the virtual thread run: Java " + Runtime.version().feature() + " < 21");
+        }
+    }
+
+    private static void run(String label, boolean virtualThreads, int users, int requestsPerUser) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Lwms1Application.class);
+        if (virtualThreads) {
+            builder.profiles("benchmark", "virtual-threads");
+        } else {
+            builder.profiles("benchmark");
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            new BenchmarkDataSeeder(context).seed(INVENTORY_ROWS, SPACES, MAINTENANCE_TASKS);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            HttpClient client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            login(client, baseUrl);
+
+            // Warm-up pass so JIT compilation and template caching do not skew the first run
+            drive(client, baseUrl, Math.min(users, 50), 10);
+            List<ConcurrentLinkedQueue<Long>> latencies = drive(client, baseUrl, users, requestsPerUser);
+
+            System.out.printf("%n== %s: %d users x %d requests ==%n", label, users, requestsPerUser);
+            System.out.printf("%-12s %8s %10s %10s %10s%n", "page", "count", "p50 ms", "p99 ms", "max ms");
+            for (int p = 0; p < PAGES.size(); p++) {
+                long[] sorted = latencies.get(p).stream().mapToLong(Long::longValue).toArray();
+                Arrays.sort(sorted);
+                System.out.printf("%-12s %8d %10.1f %10.1f %10.1f%n", PAGES.get(p), sorted.length,
+                        millis(percentile(sorted, 50)), millis(percentile(sorted, 99)),
+                        millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+            }
+        }
+    }
+
+    private static void login(HttpClient client, String baseUrl) throws Exception {
+        String form = "username=admin&password=" + URLEncoder.encode("admin123", StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + location);
+        }
+    }
+
+    /** Every user is a chain of requests issued one after another; all users run at once. */
+    private static List<ConcurrentLinkedQueue<Long>> drive(HttpClient client, String baseUrl, int users,
+                                                           int requestsPerUser) {
+        List<ConcurrentLinkedQueue<Long>> latencies = new ArrayList<>();
+        for (int p = 0; p < PAGES.size(); p++) {
+            latencies.add(new ConcurrentLinkedQueue<>());
+        }
+        List<CompletableFuture<Void>> running = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            running.add(request(client, baseUrl, u, 0, requestsPerUser, latencies));
+        }
+        CompletableFuture.allOf(running.toArray(new CompletableFuture<?>[0])).join();
+        return latencies;
+    }
+
+    private static CompletableFuture<Void> request(HttpClient client, String baseUrl, int user, int n, int total,
+                                                   List<ConcurrentLinkedQueue<Long>> latencies) {
+        if (n == total) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int page = (user + n) % PAGES.size();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PAGES.get(page)))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenCompose(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException(PAGES.get(page) + " returned " + response.statusCode());
+                    }
+                    latencies.get(page).add(System.nanoTime() - start);
+                    return request(client, baseUrl, user, n + 1, total, latencies);
+                });
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
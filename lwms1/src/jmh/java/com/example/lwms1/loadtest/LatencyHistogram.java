@@ -0,0 +1,100 @@
+package com.example.lwms1.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram in the style of HdrHistogram: fixed memory, constant-time recording from
+ * any number of threads, and values kept to two significant digits over the whole range, so
+ * p99.9 of a run with millions of requests costs a bucket walk instead of a sort. Values are
+ * microseconds; anything above {@link #MAX_MICROS} is counted in the top bucket.
+ *
+ * Values below {@link #SUB_BUCKETS} get a bucket each. Above that every power of two is split
+ * into {@code SUB_BUCKETS / 2} equal buckets, which keeps the relative error under 1/64.
+ */
+class LatencyHistogram {
+
+    static final int SUB_BUCKETS = 128;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+    // One hour
+    static final long MAX_MICROS = 3_600_000_000L;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_MICROS) + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void recordNanos(long nanos) {
+        record(Math.max(0, nanos / 1000));
+    }
+
+    void record(long micros) {
+        long value = Math.min(micros, MAX_MICROS);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    double meanMillis() {
+        long n = count();
+        return n == 0 ? 0 : sum.sum() / (double) n / 1000.0;
+    }
+
+    double maxMillis() {
+        return max.get() / 1000.0;
+    }
+
+    /** Upper bound of the bucket holding the given percentile, in milliseconds. */
+    double percentileMillis(double percentile) {
+        long n = count();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalent(i), max.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        max.accumulate(other.max.get());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Shift so that the value falls into [HALF, SUB_BUCKETS)
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + (shift - 1) * HALF + (int) ((value >> shift) - HALF);
+    }
+
+    static long highestEquivalent(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
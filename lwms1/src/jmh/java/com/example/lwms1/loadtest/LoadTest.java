@@ -0,0 +1,242 @@
+package com.example.lwms1.loadtest;
+
+import com.example.lwms1.Lwms1Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test. Boots the application on the "embedded" profile with a seeded warehouse,
+ * logs {@code users} sessions in through the login form and lets each of them run the weighted
+ * scenarios of {@link WarehouseWorkload} back to back: a warm-up period that is thrown away,
+ * then the measured period. Prints throughput, errors and latency percentiles per endpoint and
+ * exits with status 1 when {@link RegressionCheck} finds a limit broken, which fails the Maven
+ * build that ran it.
+ *
+ * Configuration comes from loadtest.properties, overridden by {@code key=value} arguments:
+ * mvn -P benchmark,loadtest test-compile exec:exec -Djmh.args="users=100 record=target/loadtest-baseline.properties"
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Properties config = loadConfig(args);
+        int users = Integer.parseInt(config.getProperty("users"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(config.getProperty("warmup-seconds")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(config.getProperty("duration-seconds")));
+
+        List<String> failures;
+        try (ConfigurableApplicationContext context = start(config)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            WarehouseWorkload workload = WarehouseWorkload.from(context, baseUrl, config);
+            System.out.println("Workload: " + workload.describe());
+
+            List<HttpClient> sessions = new ArrayList<>(users);
+            for (int u = 0; u < users; u++) {
+                sessions.add(login(baseUrl));
+            }
+
+            run(workload, sessions, warmup);
+            Map<String, EndpointStats> results = run(workload, sessions, duration);
+            print(results, users, duration);
+
+            String record = config.getProperty("record");
+            if (record != null) {
+                RegressionCheck.writeBaseline(Path.of(record), results, duration);
+                System.out.println("Baseline written to " + record);
+            }
+            failures = RegressionCheck.check(config, results, duration);
+        }
+
+        if (!failures.isEmpty()) {
+            System.out.println("\nLoad test FAILED:");
+            failures.forEach(failure -> System.out.println("  " + failure));
+            System.exit(1);
+        }
+        System.out.println("\nLoad test passed.");
+    }
+
+    private static Properties loadConfig(String[] args) throws IOException {
+        Properties config = new Properties();
+        try (InputStream in = LoadTest.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                config.load(in);
+            }
+        }
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            config.setProperty(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return config;
+    }
+
+    private static ConfigurableApplicationContext start(Properties config) {
+        List<String> properties = new ArrayList<>(List.of("server.port=0", "logging.level.root=WARN",
+                "spring.devtools.restart.enabled=false"));
+        for (String key : config.stringPropertyNames()) {
+            if (key.startsWith("lwms.seed.")) {
+                properties.add(key + "=" + config.getProperty(key));
+            }
+        }
+        return new SpringApplicationBuilder(Lwms1Application.class)
+                .profiles("embedded")
+                .properties(properties.toArray(new String[0]))
+                .run();
+    }
+
+    // Each user has its own client and therefore its own session cookie
+    private static HttpClient login(String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String form = "username=admin&password=" + URLEncoder.encode("admin123", StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + location);
+        }
+        return client;
+    }
+
+    private static Map<String, EndpointStats> run(WarehouseWorkload workload, List<HttpClient> sessions,
+                                                  Duration duration) throws Exception {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String endpoint : WarehouseWorkload.SCENARIOS) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(sessions.size());
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int u = 0; u < sessions.size(); u++) {
+                HttpClient client = sessions.get(u);
+                Random random = new Random(u);
+                running.add(workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        for (WarehouseWorkload.Step step : workload.next(random)) {
+                            send(client, step, stats.get(step.endpoint()));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return stats;
+    }
+
+    private static void send(HttpClient client, WarehouseWorkload.Step step, EndpointStats stats) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(step.request(), HttpResponse.BodyHandlers.discarding());
+            long elapsed = System.nanoTime() - start;
+            String problem = problemWith(step, response);
+            if (problem == null) {
+                stats.latency.recordNanos(elapsed);
+            } else {
+                stats.fail(problem);
+            }
+        } catch (IOException ex) {
+            stats.fail(ex.toString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stats.fail("interrupted");
+        }
+    }
+
+    private static String problemWith(WarehouseWorkload.Step step, HttpResponse<Void> response) {
+        if (response.statusCode() != step.expectedStatus()) {
+            return "status " + response.statusCode();
+        }
+        if (step.expectedLocation() != null) {
+            String location = response.headers().firstValue("Location").orElse("");
+            if (!step.expectedLocation().equals(URI.create(location).getPath())) {
+                return "redirected to " + location;
+            }
+        }
+        return null;
+    }
+
+    private static void print(Map<String, EndpointStats> results, int users, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%n== %d users for %s ==%n", users, duration);
+        System.out.printf("%-20s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        LatencyHistogram all = new LatencyHistogram();
+        long allErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : results.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            printRow(entry.getKey(), stats.latency, stats.errors.sum(), seconds);
+            all.add(stats.latency);
+            allErrors += stats.errors.sum();
+        }
+        printRow("all", all, allErrors, seconds);
+        for (Map.Entry<String, EndpointStats> entry : results.entrySet()) {
+            for (String sample : entry.getValue().errorSamples) {
+                System.out.println("  " + entry.getKey() + ": " + sample);
+            }
+        }
+    }
+
+    private static void printRow(String name, LatencyHistogram latency, long errors, double seconds) {
+        System.out.printf("%-20s %8d %8.1f %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, latency.count(),
+                latency.count() / seconds, errors, latency.percentileMillis(50), latency.percentileMillis(90),
+                latency.percentileMillis(99), latency.percentileMillis(99.9), latency.maxMillis());
+    }
+
+    static class EndpointStats {
+        static final int MAX_ERROR_SAMPLES = 5;
+
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final ConcurrentLinkedQueue<String> errorSamples = new ConcurrentLinkedQueue<>();
+
+        void fail(String problem) {
+            errors.increment();
+            if (errorSamples.size() < MAX_ERROR_SAMPLES) {
+                errorSamples.add(problem);
+            }
+        }
+
+        double errorRate() {
+            long total = latency.count() + errors.sum();
+            return total == 0 ? 0 : errors.sum() / (double) total;
+        }
+    }
+}
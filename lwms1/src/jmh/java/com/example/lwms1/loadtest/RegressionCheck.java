@@ -0,0 +1,103 @@
+package com.example.lwms1.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Decides whether a load test run passes. Two kinds of limits apply per endpoint:
+ * absolute ones from the configuration ({@code max-p99-ms}, {@code max-error-rate}, each with
+ * an optional {@code <endpoint>.} prefixed override), and, when {@code baseline=<file>} names
+ * the results of an earlier run, a regression check that fails when p99 latency has grown or
+ * throughput has dropped by more than {@code regression-tolerance}.
+ */
+final class RegressionCheck {
+
+    private RegressionCheck() {}
+
+    static List<String> check(Properties config, Map<String, LoadTest.EndpointStats> results,
+                              Duration duration) throws IOException {
+        List<String> failures = new ArrayList<>();
+        Properties baseline = null;
+        String baselineFile = config.getProperty("baseline");
+        if (baselineFile != null) {
+            baseline = new Properties();
+            try (InputStream in = Files.newInputStream(Path.of(baselineFile))) {
+                baseline.load(in);
+            }
+        }
+        double tolerance = Double.parseDouble(config.getProperty("regression-tolerance", "0.25"));
+
+        for (Map.Entry<String, LoadTest.EndpointStats> entry : results.entrySet()) {
+            String endpoint = entry.getKey();
+            LoadTest.EndpointStats stats = entry.getValue();
+            if (stats.latency.count() == 0 && stats.errors.sum() == 0) {
+                continue;
+            }
+            double p99 = stats.latency.percentileMillis(99);
+            double throughput = throughput(stats, duration);
+
+            double maxErrorRate = limit(config, endpoint, "max-error-rate");
+            if (stats.errorRate() > maxErrorRate) {
+                failures.add(String.format(Locale.ROOT, "%s: error rate %.3f above %.3f", endpoint,
+                        stats.errorRate(), maxErrorRate));
+            }
+            double maxP99 = limit(config, endpoint, "max-p99-ms");
+            if (p99 > maxP99) {
+                failures.add(String.format(Locale.ROOT, "%s: p99 %.1f ms above %.1f ms", endpoint, p99, maxP99));
+            }
+
+            if (baseline != null && baseline.getProperty(endpoint + ".p99-ms") != null) {
+                double baseP99 = Double.parseDouble(baseline.getProperty(endpoint + ".p99-ms"));
+                double baseThroughput = Double.parseDouble(baseline.getProperty(endpoint + ".throughput"));
+                if (p99 > baseP99 * (1 + tolerance)) {
+                    failures.add(String.format(Locale.ROOT, "%s: p99 %.1f ms regressed from %.1f ms", endpoint,
+                            p99, baseP99));
+                }
+                if (throughput < baseThroughput * (1 - tolerance)) {
+                    failures.add(String.format(Locale.ROOT, "%s: throughput %.1f req/s regressed from %.1f req/s",
+                            endpoint, throughput, baseThroughput));
+                }
+            }
+        }
+        return failures;
+    }
+
+    /** Stores this run's p99 and throughput per endpoint for later runs to compare against. */
+    static void writeBaseline(Path file, Map<String, LoadTest.EndpointStats> results, Duration duration)
+            throws IOException {
+        Properties baseline = new Properties();
+        for (Map.Entry<String, LoadTest.EndpointStats> entry : results.entrySet()) {
+            LoadTest.EndpointStats stats = entry.getValue();
+            if (stats.latency.count() > 0) {
+                baseline.setProperty(entry.getKey() + ".p99-ms",
+                        String.format(Locale.ROOT, "%.1f", stats.latency.percentileMillis(99)));
+                baseline.setProperty(entry.getKey() + ".throughput",
+                        String.format(Locale.ROOT, "%.1f", throughput(stats, duration)));
+            }
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            baseline.store(out, "Load test baseline");
+        }
+    }
+
+    private static double throughput(LoadTest.EndpointStats stats, Duration duration) {
+        return stats.latency.count() / (duration.toMillis() / 1000.0);
+    }
+
+    private static double limit(Properties config, String endpoint, String key) {
+        String value = config.getProperty(endpoint + "." + key, config.getProperty(key));
+        return value != null ? Double.parseDouble(value) : Double.MAX_VALUE;
+    }
+}
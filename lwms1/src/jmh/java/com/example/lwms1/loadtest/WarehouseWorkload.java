@@ -0,0 +1,229 @@
+package com.example.lwms1.loadtest;
+
+import com.example.lwms1.config.SeedDataGenerator;
+import com.example.lwms1.dto.InventoryCursor;
+import com.example.lwms1.dto.InventoryPageDTO;
+import com.example.lwms1.service.MaintenanceLockRegistry;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+/**
+ * The admin and user flows the load test mixes, built against the seeded warehouse. Every
+ * scenario is one or more form requests as the pages send them; a write counts as successful
+ * when it redirects to its own page; failures redirect back to the Referer, which is set to a
+ * path no page uses.
+ *
+ * The targets are chosen so that a healthy application never refuses a request: receipts go
+ * to zones with room that are not under maintenance, shipments take items the workload knows
+ * to still have stock, and maintenance is toggled on a zone that receipts never use.
+ */
+class WarehouseWorkload {
+
+    static final String BROWSE = "browse-inventory";
+    static final String RECEIVE = "receive-item";
+    static final String SHIP = "create-shipment";
+    static final String TOGGLE = "toggle-maintenance";
+    static final String REPORT = "generate-report";
+    static final List<String> SCENARIOS = List.of(BROWSE, RECEIVE, SHIP, TOGGLE, REPORT);
+
+    static final String ERROR_REFERER = "/load-test/refused";
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final double POPULARITY_SKEW = 3.0;
+    private static final int MIN_ZONE_ROOM = 1000;
+    private static final String[] REPORT_TYPES = {"SPACE", "MAINTENANCE", "SHIPMENT", "INVENTORY"};
+
+    /** One HTTP request and the response it must get to count as a success. */
+    record Step(String endpoint, HttpRequest request, int expectedStatus, String expectedLocation) {}
+
+    private final String baseUrl;
+    private final int[] weights;
+    private final int totalWeight;
+    private final int[] itemIds;
+    private final AtomicIntegerArray stock;
+    private final List<String> receiptZones;
+    private final Integer toggleTaskId;
+    private final AtomicInteger received = new AtomicInteger();
+
+    private WarehouseWorkload(String baseUrl, int[] weights, int[] itemIds, AtomicIntegerArray stock,
+                              List<String> receiptZones, Integer toggleTaskId) {
+        this.baseUrl = baseUrl;
+        this.weights = weights;
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        this.totalWeight = total;
+        this.itemIds = itemIds;
+        this.stock = stock;
+        this.receiptZones = receiptZones;
+        this.toggleTaskId = toggleTaskId;
+    }
+
+    static WarehouseWorkload from(ApplicationContext context, String baseUrl, Properties config) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        // Item ids were handed out in popularity order by the generator
+        List<Map<String, Object>> items = jdbc.queryForList("SELECT item_id, quantity FROM inventory ORDER BY item_id");
+        int[] itemIds = new int[items.size()];
+        AtomicIntegerArray stock = new AtomicIntegerArray(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            itemIds[i] = ((Number) items.get(i).get("item_id")).intValue();
+            stock.set(i, ((Number) items.get(i).get("quantity")).intValue());
+        }
+
+        Set<Integer> excluded = new HashSet<>(context.getBean(MaintenanceLockRegistry.class).getLockedSpaceIds());
+        List<Map<String, Object>> tasks = jdbc.queryForList(
+                "SELECT schedule_id, equipment_id FROM maintenance_schedule WHERE completion_status = 'COMPLETED' " +
+                "ORDER BY equipment_id DESC, schedule_id");
+        Integer toggleTaskId = null;
+        for (Map<String, Object> task : tasks) {
+            Integer spaceId = ((Number) task.get("equipment_id")).intValue();
+            if (!excluded.contains(spaceId)) {
+                toggleTaskId = ((Number) task.get("schedule_id")).intValue();
+                excluded.add(spaceId);
+                break;
+            }
+        }
+
+        List<String> receiptZones = new ArrayList<>();
+        for (Map<String, Object> space : jdbc.queryForList(
+                "SELECT space_id, zone, available_capacity FROM space ORDER BY available_capacity DESC")) {
+            int spaceId = ((Number) space.get("space_id")).intValue();
+            Number available = (Number) space.get("available_capacity");
+            if (!excluded.contains(spaceId) && available != null && available.intValue() >= MIN_ZONE_ROOM) {
+                receiptZones.add((String) space.get("zone"));
+            }
+        }
+
+        int[] weights = new int[SCENARIOS.size()];
+        for (int i = 0; i < SCENARIOS.size(); i++) {
+            weights[i] = Integer.parseInt(config.getProperty("weight." + SCENARIOS.get(i), "0"));
+        }
+        if (toggleTaskId == null) {
+            weights[SCENARIOS.indexOf(TOGGLE)] = 0;
+        }
+        if (receiptZones.isEmpty()) {
+            weights[SCENARIOS.indexOf(RECEIVE)] = 0;
+        }
+        if (itemIds.length == 0) {
+            weights[SCENARIOS.indexOf(BROWSE)] = 0;
+            weights[SCENARIOS.indexOf(SHIP)] = 0;
+        }
+        return new WarehouseWorkload(baseUrl, weights, itemIds, stock, receiptZones, toggleTaskId);
+    }
+
+    String describe() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (int i = 0; i < SCENARIOS.size(); i++) {
+            mix.put(SCENARIOS.get(i), weights[i]);
+        }
+        return itemIds.length + " items, " + receiptZones.size() + " receiving zones, mix "
+                + mix.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(" "));
+    }
+
+    /** Draws the next scenario by weight and returns its requests in order. */
+    List<Step> next(Random random) {
+        int draw = random.nextInt(totalWeight);
+        int scenario = 0;
+        while (draw >= weights[scenario]) {
+            draw -= weights[scenario];
+            scenario++;
+        }
+        return switch (SCENARIOS.get(scenario)) {
+            case BROWSE -> List.of(browse(random));
+            case RECEIVE -> List.of(receive(random));
+            case SHIP -> ship(random);
+            case TOGGLE -> List.of(toggle(), toggle());
+            default -> List.of(report(random));
+        };
+    }
+
+    // First page most of the time, otherwise a keyset page somewhere in the table
+    private Step browse(Random random) {
+        String path = "/user/inventory";
+        if (random.nextInt(10) < 3) {
+            int after = itemIds[random.nextInt(itemIds.length)];
+            path += "?after=" + InventoryCursor.encode(InventoryPageDTO.SortKey.ID, after, null);
+        }
+        return new Step(BROWSE, get(path), 200, null);
+    }
+
+    private Step receive(Random random) {
+        String zone = random.nextBoolean() ? "AUTO" : receiptZones.get(random.nextInt(receiptZones.size()));
+        String form = form(Map.of(
+                "itemName", "Load item " + received.incrementAndGet(),
+                "category", "Load",
+                "quantity", String.valueOf(1 + random.nextInt(5)),
+                "location", zone));
+        return new Step(RECEIVE, post("/inventory/add", form), 302, "/inventory");
+    }
+
+    private List<Step> ship(Random random) {
+        // Popular items are shipped most; one unit at a time, from items that still have stock
+        int start = SeedDataGenerator.skewed(random, itemIds.length, POPULARITY_SKEW);
+        for (int n = 0; n < itemIds.length; n++) {
+            int index = (start + n) % itemIds.length;
+            if (stock.getAndUpdate(index, left -> left > 0 ? left - 1 : 0) > 0) {
+                String form = form(Map.of(
+                        "itemId", String.valueOf(itemIds[index]),
+                        "origin", "Dock-" + (1 + random.nextInt(4)),
+                        "destination", "Customer-" + (1 + random.nextInt(1000)),
+                        "status", "PENDING",
+                        "quantity", "1",
+                        "expectedDeliveryDate", LocalDate.now().plusDays(3).toString()));
+                return List.of(new Step(SHIP, post("/admin/shipments/receive", form), 302, "/admin/shipments"));
+            }
+        }
+        return List.of();
+    }
+
+    // Two toggles, so the zone is locked and released again
+    private Step toggle() {
+        return new Step(TOGGLE, post("/admin/maintenance/toggle/" + toggleTaskId, ""), 302, "/admin/maintenance");
+    }
+
+    private Step report(Random random) {
+        String form = form(Map.of("reportType", REPORT_TYPES[random.nextInt(REPORT_TYPES.length)]));
+        return new Step(REPORT, post("/admin/reports/generate", form), 302, "/admin/reports");
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Referer", baseUrl + ERROR_REFERER)
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private static String form(Map<String, String> fields) {
+        return fields.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
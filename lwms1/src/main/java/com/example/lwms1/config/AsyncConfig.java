@@ -0,0 +1,91 @@
+package com.example.lwms1.config;
+
+import com.example.lwms1.service.LiveFeedService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Executors for background work. With {@code spring.threads.virtual.enabled=true} on Java 21
+ * (see the "virtual-threads" Spring profile) Tomcat, the application executor and the dashboard
+ * fan-out all run on virtual threads; the report pool stays a small platform pool because its
+ * size is what limits how many reports are built at once.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    public static final int REPORT_WORKERS = 2;
+    public static final int REPORT_QUEUE_CAPACITY = 20;
+    public static final int DASHBOARD_QUERY_CONCURRENCY = 7;
+    public static final int LIVE_FEED_WORKERS = 8;
+
+    // Declaring any Executor bean makes Boot drop its default one, which Spring MVC
+    // needs for async/streaming responses, so it is re-declared here from Boot's builders.
+    @Bean(name = "applicationTaskExecutor")
+    @Primary
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = "applicationTaskExecutor")
+    @Primary
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor applicationTaskExecutorVirtualThreads(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // Bounded pool for report generation: at most REPORT_WORKERS reports run at once and
+    // further submissions are rejected once REPORT_QUEUE_CAPACITY jobs are waiting.
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(REPORT_WORKERS);
+        executor.setMaxPoolSize(REPORT_WORKERS);
+        executor.setQueueCapacity(REPORT_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("report-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(Duration.ofSeconds(30).toMillis());
+        return executor;
+    }
+
+    // Runs the independent dashboard queries side by side. Rebuilds are serialised in
+    // DashboardService, so this never needs more than one connection per query.
+    @Bean(name = "dashboardExecutor")
+    public SimpleAsyncTaskExecutor dashboardExecutor(Environment environment) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+        executor.setConcurrencyLimit(DASHBOARD_QUERY_CONCURRENCY);
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        return executor;
+    }
+
+    // Writes live-feed messages to SSE subscribers. A subscriber never has more than one send
+    // task queued, so the queue is bounded by the subscriber limit and a slow client only ties
+    // up one worker; with virtual threads every send simply gets its own thread.
+    @Bean(name = "liveFeedExecutor")
+    public TaskExecutor liveFeedExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("live-feed-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(LIVE_FEED_WORKERS);
+        executor.setMaxPoolSize(LIVE_FEED_WORKERS);
+        executor.setQueueCapacity(LiveFeedService.MAX_SUBSCRIBERS);
+        executor.setThreadNamePrefix("live-feed-");
+        return executor;
+    }
+}
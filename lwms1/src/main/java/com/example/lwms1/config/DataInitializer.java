@@ -3,10 +3,15 @@ package com.example.lwms1.config;
 import com.example.lwms1.model.Role;
 import com.example.lwms1.model.UserAccount;
 import com.example.lwms1.repository.RoleRepository;
+import com.example.lwms1.repository.SpaceRepository;
 import com.example.lwms1.repository.UserAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Set;
@@ -14,6 +19,8 @@ import java.util.Set;
 @Configuration
 public class DataInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Bean
     CommandLineRunner initDatabase(RoleRepository roleRepo, UserAccountRepository userRepo, PasswordEncoder encoder) {
         return args -> {
@@ -25,6 +32,7 @@ public class DataInitializer {
             if (userRepo.findByUsername("admin").isEmpty()) {
                 UserAccount admin = new UserAccount();
                 admin.setUsername("admin");
+                admin.setEmail("admin@lwms.local");
                 admin.setPassword(encoder.encode("admin123")); // Encryption is mandatory
                 admin.setRoles(Set.of(adminRole));
                 admin.setEnabled(true);
@@ -33,4 +41,19 @@ public class DataInitializer {
             }
         };
     }
-}
\ No newline at end of file
+
+    // Embedded database only: fills the empty warehouse with the lwms.seed.* volumes
+    @Bean
+    @Profile("embedded")
+    CommandLineRunner seedDatabase(SeedDataGenerator generator, SpaceRepository spaceRepo, Environment environment) {
+        return args -> {
+            if (spaceRepo.count() > 0) {
+                return;
+            }
+            SeedDataGenerator.Volumes volumes = SeedDataGenerator.Volumes.from(environment);
+            long start = System.nanoTime();
+            generator.generate(volumes);
+            log.info("Seeded {} in {} ms", volumes, (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+}
@@ -1,61 +1,20 @@
 package com.example.lwms1.config;
 
-import com.example.lwms1.model.Role;
-import com.example.lwms1.model.UserAccount;
-import com.example.lwms1.repository.UserAccountRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.core.userdetails.*;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
-import java.util.Optional;
-import java.util.Set;
-
 @Configuration
 public class SecurityConfig {
 
-    private final UserAccountRepository userRepo;
-
-    public SecurityConfig(UserAccountRepository userRepo) {
-        this.userRepo = userRepo;
-    }
-
-    @Bean
-    public UserDetailsService userDetailsService() {
-        return new UserDetailsService() {
-            @Override
-            public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-                Optional<UserAccount> userOpt = userRepo.findByUsername(username);
-
-                if (!userOpt.isPresent()) {
-                    throw new UsernameNotFoundException("User not found: " + username);
-                }
-
-                UserAccount u = userOpt.get();
-                Set<Role> roleSet = u.getRoles();
-                String[] roles = new String[roleSet.size()];
-
-                int i = 0;
-                for (Role role : roleSet) {
-                    String name = role.getName();
-                    if (name.startsWith("ROLE_")) {
-                        roles[i] = name.substring(5);
-                    } else {
-                        roles[i] = name;
-                    }
-                    i++;
-                }
-                return User.withUsername(u.getUsername())
-                        .password(u.getPassword())
-                        .roles(roles)
-                        .build();
-            }
-        };
-    }
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -72,6 +31,11 @@ public class SecurityConfig {
                         .requestMatchers("/admin/shipments/track/**").hasAnyRole("ADMIN", "USER")
                         .requestMatchers("/user/**").hasAnyRole("ADMIN", "USER")
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/**").hasAnyRole("ADMIN", "USER")
+                        .requestMatchers("/api/v1/inventory/**").hasAnyRole("ADMIN", "USER")
+                        .requestMatchers("/api/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .formLogin(login -> login
@@ -84,7 +48,12 @@ public class SecurityConfig {
                         .logoutSuccessUrl("/login?logout")
                         .permitAll()
                 )
-                .exceptionHandling(ex -> ex.accessDeniedPage("/error/403"));
+                // API clients (scanners, ERP) authenticate with HTTP Basic and get a 401 instead of the login page
+                .httpBasic(Customizer.withDefaults())
+                .exceptionHandling(ex -> ex
+                        .accessDeniedPage("/error/403")
+                        .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                                new AntPathRequestMatcher("/api/**")));
 
         return http.build();
     }
@@ -0,0 +1,269 @@
+package com.example.lwms1.config;
+
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.MaintenanceSchedule;
+import com.example.lwms1.model.Report;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryJdbcRepository;
+import com.example.lwms1.repository.MaintenanceScheduleRepository;
+import com.example.lwms1.repository.ReportRepository;
+import com.example.lwms1.repository.ShipmentJdbcRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import com.example.lwms1.service.MaintenanceLockRegistry;
+import com.example.lwms1.service.ReportContentStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills an empty database with a warehouse of configurable size for load tests, benchmarks and
+ * integration tests. The data is skewed the way a real warehouse is: a few hot zones hold most
+ * of the items and run nearly full, and a few popular items account for most of the shipments.
+ * The same {@link Volumes} (including the random seed) always produce the same rows.
+ *
+ * Rows are written with JDBC batches and no domain events, so caches that were built from the
+ * empty database at startup have to be rebuilt afterwards; this is done for the maintenance
+ * locks, everything else is built lazily or on ApplicationReadyEvent.
+ */
+@Component
+public class SeedDataGenerator {
+
+    static final int JDBC_BATCH_SIZE = 1000;
+    // Share of zones that count as hot; they are filled to about 95%, the rest far less
+    static final double HOT_ZONE_SHARE = 0.1;
+    // Pending maintenance locks a zone, so it is kept to a slice of the cold zones
+    static final double MAX_LOCKED_ZONE_SHARE = 0.05;
+
+    private static final String[] WORDS = {"Steel", "Bolt", "Nut", "Washer", "Laptop", "Monitor", "Cable",
+            "Chair", "Desk", "Lamp", "Pallet", "Box", "Tape", "Glove", "Helmet", "Drill", "Battery", "Filter"};
+    private static final String[] CATEGORIES = {"Hardware", "Electronics", "Furniture", "Packaging", "Safety",
+            "Tools", "Apparel", "Food"};
+    private static final String[] REPORT_TYPES = {"INVENTORY", "SHIPMENT", "SPACE", "MAINTENANCE"};
+
+    private final SpaceRepository spaceRepo;
+    private final InventoryJdbcRepository inventoryJdbcRepo;
+    private final ShipmentJdbcRepository shipmentJdbcRepo;
+    private final MaintenanceScheduleRepository maintenanceRepo;
+    private final ReportRepository reportRepo;
+    private final ReportContentStore contentStore;
+    private final MaintenanceLockRegistry lockRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public SeedDataGenerator(SpaceRepository spaceRepo, InventoryJdbcRepository inventoryJdbcRepo,
+                             ShipmentJdbcRepository shipmentJdbcRepo, MaintenanceScheduleRepository maintenanceRepo,
+                             ReportRepository reportRepo, ReportContentStore contentStore,
+                             MaintenanceLockRegistry lockRegistry, PlatformTransactionManager transactionManager) {
+        this.spaceRepo = spaceRepo;
+        this.inventoryJdbcRepo = inventoryJdbcRepo;
+        this.shipmentJdbcRepo = shipmentJdbcRepo;
+        this.maintenanceRepo = maintenanceRepo;
+        this.reportRepo = reportRepo;
+        this.contentStore = contentStore;
+        this.lockRegistry = lockRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public SeededData generate(Volumes volumes) {
+        Random random = new Random(volumes.randomSeed());
+        List<Space> spaces = newSpaces(volumes);
+        List<Inventory> items = seedInventory(random, volumes, spaces);
+        transactionTemplate.executeWithoutResult(status -> seedShipments(random, volumes, items));
+        transactionTemplate.executeWithoutResult(status -> seedMaintenance(random, volumes, spaces));
+        transactionTemplate.executeWithoutResult(status -> seedReports(random, volumes));
+        lockRegistry.rebuild();
+
+        List<Integer> itemIds = new ArrayList<>(items.size());
+        for (Inventory item : items) {
+            itemIds.add(item.getItemId());
+        }
+        return new SeededData(spaces.stream().map(Space::getZone).toList(), itemIds);
+    }
+
+    private List<Space> newSpaces(Volumes volumes) {
+        List<Space> spaces = new ArrayList<>(volumes.spaces());
+        for (int i = 0; i < volumes.spaces(); i++) {
+            Space space = new Space();
+            space.setZone(String.format("Zone-%03d", i + 1));
+            spaces.add(space);
+        }
+        return spaces;
+    }
+
+    // Zones are sized once their items are known, so that the hottest ones end up nearly full
+    private List<Inventory> seedInventory(Random random, Volumes volumes, List<Space> spaces) {
+        long[] used = new long[spaces.size()];
+        List<Inventory> items = new ArrayList<>(volumes.inventoryItems());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < volumes.inventoryItems(); i++) {
+            int zone = skewed(random, spaces.size(), volumes.skew());
+            Space space = spaces.get(zone);
+            Inventory item = new Inventory();
+            item.setItemName(WORDS[skewed(random, WORDS.length, volumes.skew())] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + (i + 1));
+            item.setCategory(CATEGORIES[skewed(random, CATEGORIES.length, volumes.skew())]);
+            item.setQuantity(1 + skewed(random, 500, volumes.skew()));
+            item.setLocation(space.getZone());
+            item.setStorageSpace(space);
+            item.setLastUpdated(now.minusMinutes(random.nextInt(60 * 24 * 90)));
+            used[zone] += item.getQuantity();
+            items.add(item);
+        }
+
+        int hotZones = (int) Math.ceil(spaces.size() * HOT_ZONE_SHARE);
+        for (int i = 0; i < spaces.size(); i++) {
+            double fill = i < hotZones ? 0.95 : 0.2 + 0.5 * random.nextDouble();
+            Space space = spaces.get(i);
+            int usedCapacity = (int) used[i];
+            int totalCapacity = Math.max(1000, (int) Math.ceil(usedCapacity / fill));
+            space.setUsedCapacity(usedCapacity);
+            space.setTotalCapacity(totalCapacity);
+            space.setAvailableCapacity(totalCapacity - usedCapacity);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // New entities are persisted in place, so the items' spaces get their ids here
+            spaceRepo.saveAll(spaces);
+            inventoryJdbcRepo.insertAll(items, JDBC_BATCH_SIZE);
+        });
+        return items;
+    }
+
+    private void seedShipments(Random random, Volumes volumes, List<Inventory> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<Shipment> shipments = new ArrayList<>(volumes.shipments());
+        for (int i = 0; i < volumes.shipments(); i++) {
+            Shipment shipment = new Shipment();
+            // Items are drawn with the same skew, so the first items are the popular ones
+            shipment.setInventory(items.get(skewed(random, items.size(), volumes.skew())));
+            shipment.setQuantity(1 + random.nextInt(10));
+            shipment.setOrigin("Dock-" + (1 + random.nextInt(4)));
+            shipment.setDestination("Customer-" + (1 + skewed(random, 1000, volumes.skew())));
+            int draw = random.nextInt(100);
+            if (draw < 70) {
+                shipment.setStatus(ShipmentStatus.DELIVERED);
+                shipment.setExpectedDeliveryDate(today.minusDays(1 + random.nextInt(90)));
+            } else if (draw < 85) {
+                // Some of these are overdue
+                shipment.setStatus(ShipmentStatus.IN_TRANSIT);
+                shipment.setExpectedDeliveryDate(today.plusDays(random.nextInt(14) - 3));
+            } else if (draw < 95) {
+                shipment.setStatus(ShipmentStatus.PENDING);
+                shipment.setExpectedDeliveryDate(today.plusDays(1 + random.nextInt(14)));
+            } else {
+                shipment.setStatus(ShipmentStatus.CANCELLED);
+                shipment.setExpectedDeliveryDate(today.plusDays(random.nextInt(60) - 30));
+            }
+            shipments.add(shipment);
+        }
+        shipmentJdbcRepo.insertAll(shipments, JDBC_BATCH_SIZE);
+        shipmentJdbcRepo.insertInitialStatusLog(shipments, LocalDateTime.now(), "seed", JDBC_BATCH_SIZE);
+    }
+
+    private void seedMaintenance(Random random, Volumes volumes, List<Space> spaces) {
+        if (spaces.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        int hotZones = (int) Math.ceil(spaces.size() * HOT_ZONE_SHARE);
+        int maxLocked = (int) (spaces.size() * MAX_LOCKED_ZONE_SHARE);
+        Set<Integer> locked = new HashSet<>();
+        List<MaintenanceSchedule> tasks = new ArrayList<>(volumes.maintenanceTasks());
+        for (int i = 0; i < volumes.maintenanceTasks(); i++) {
+            int zone = random.nextInt(spaces.size());
+            MaintenanceSchedule task = new MaintenanceSchedule();
+            task.setEquipmentId(spaces.get(zone).getSpaceId());
+            task.setDescription((random.nextBoolean() ? "Racking inspection " : "Forklift service ") + (i + 1));
+            LocalDate date = today.plusDays(random.nextInt(120) - 90);
+            task.setScheduledDate(date);
+            boolean pending = date.isAfter(today) && zone >= hotZones
+                    && (locked.contains(zone) || locked.size() < maxLocked);
+            if (pending) {
+                locked.add(zone);
+            }
+            task.setCompletionStatus(pending ? "PENDING" : "COMPLETED");
+            tasks.add(task);
+        }
+        maintenanceRepo.saveAll(tasks);
+    }
+
+    private void seedReports(Random random, Volumes volumes) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < volumes.reports(); i++) {
+            String type = REPORT_TYPES[random.nextInt(REPORT_TYPES.length)];
+            Report report = new Report();
+            report.setReportType(type);
+            report.setGeneratedOn(now.minusHours(random.nextInt(24 * 90)));
+            report = reportRepo.save(report);
+
+            ReportContentStore.BodyWriter body = contentStore.openWriter(report.getReportId());
+            try (body) {
+                body.write("===== " + type + " REPORT =====\n");
+                body.write("Date: " + report.getGeneratedOn() + "\n\n");
+                for (int line = 0, lines = 20 + random.nextInt(200); line < lines; line++) {
+                    body.write(String.format("%-20s | %-10d | Zone-%03d\n", "Seeded row " + line,
+                            random.nextInt(1000), 1 + random.nextInt(Math.max(1, volumes.spaces()))));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not store report content", ex);
+            }
+            report.setOriginalSize(body.getOriginalSize());
+            report.setCompressedSize(body.getCompressedSize());
+            report.setChunkCount(body.getChunkCount());
+            reportRepo.save(report);
+        }
+    }
+
+    /**
+     * Draws an index in [0, n) where low indexes are more likely: with {@code skew} 3 about half
+     * the draws land in the first 10%. A skew of 1 is uniform.
+     */
+    public static int skewed(Random random, int n, double skew) {
+        return Math.min(n - 1, (int) (Math.pow(random.nextDouble(), skew) * n));
+    }
+
+    /** How much to generate. Read from the {@code lwms.seed.*} properties by the embedded profile. */
+    public record Volumes(int spaces, int inventoryItems, int shipments, int maintenanceTasks, int reports,
+                          double skew, long randomSeed) {
+
+        public Volumes {
+            if (spaces <= 0 && inventoryItems > 0) {
+                throw new IllegalArgumentException("Inventory items need at least one space");
+            }
+            if (skew < 1.0) {
+                throw new IllegalArgumentException("Skew must be at least 1 (uniform)");
+            }
+        }
+
+        public static Volumes from(Environment environment) {
+            return new Volumes(
+                    environment.getProperty("lwms.seed.spaces", Integer.class, 50),
+                    environment.getProperty("lwms.seed.inventory-items", Integer.class, 20_000),
+                    environment.getProperty("lwms.seed.shipments", Integer.class, 10_000),
+                    environment.getProperty("lwms.seed.maintenance-tasks", Integer.class, 500),
+                    environment.getProperty("lwms.seed.reports", Integer.class, 50),
+                    environment.getProperty("lwms.seed.skew", Double.class, 3.0),
+                    environment.getProperty("lwms.seed.random-seed", Long.class, 42L));
+        }
+    }
+
+    /** Zones from hottest to coldest and item ids from most to least popular. */
+    public record SeededData(List<String> zones, List<Integer> itemIds) {}
+}
@@ -0,0 +1,52 @@
+package com.example.lwms1.config;
+
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.model.ShipmentStatusConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Rewrites shipment.status values left over from when the column was free text ("Shipped",
+ * "in transit", ...) to the ShipmentStatus names. The converter already reads them leniently,
+ * but the status queries and idx_shipment_status_delivery compare the stored string, so such
+ * rows would be missing from the active and overdue lists. Each distinct legacy value is mapped
+ * the way ShipmentStatusConverter reads it; once the data is clean this finds nothing to do.
+ */
+@Component
+public class ShipmentStatusMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(ShipmentStatusMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShipmentStatusConverter converter = new ShipmentStatusConverter();
+
+    @Autowired
+    public ShipmentStatusMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int normalise() {
+        List<String> values = jdbcTemplate.queryForList(
+                "SELECT DISTINCT status FROM shipment WHERE status IS NOT NULL", String.class);
+        int updated = 0;
+        for (String value : values) {
+            ShipmentStatus status = converter.convertToEntityAttribute(value);
+            if (!status.name().equals(value)) {
+                int rows = jdbcTemplate.update("UPDATE shipment SET status = ? WHERE status = ?", status.name(), value);
+                log.info("Shipment status '{}' rewritten as {} on {} rows", value, status, rows);
+                updated += rows;
+            }
+        }
+        return updated;
+    }
+}
@@ -57,6 +57,18 @@ public class AdminUserController {
         return "redirect:/admin/users";
     }
 
+    @PostMapping("/users/role")
+    public String updateRole(@ModelAttribute("roleForm") @Valid UserRoleUpdateDTO dto,
+                             BindingResult result, RedirectAttributes ra) {
+        if (result.hasErrors()) {
+            ra.addFlashAttribute("errorMessage", "Please choose a user and a role.");
+            return "redirect:/admin/users";
+        }
+        userService.setUserRole(dto);
+        ra.addFlashAttribute("success", "Role of " + dto.getUsername() + " updated.");
+        return "redirect:/admin/users";
+    }
+
 
 
     @PostMapping("/users/delete/{id}")
@@ -1,9 +1,12 @@
 package com.example.lwms1.controller;
 
 import com.example.lwms1.dto.InventoryDTO;
+import com.example.lwms1.dto.InventoryImportResultDTO;
+import com.example.lwms1.dto.InventoryPageDTO;
 import com.example.lwms1.model.Inventory;
 // Import your MaintenanceService
 import com.example.lwms1.service.MaintenanceService;
+import com.example.lwms1.service.InventoryImportService;
 import com.example.lwms1.service.InventoryService;
 import com.example.lwms1.service.SpaceService;
 import jakarta.validation.Valid;
@@ -12,9 +15,13 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/inventory")
@@ -23,17 +30,23 @@ public class InventoryController {
     private final InventoryService inventoryService;
     private final SpaceService spaceService;
     private final MaintenanceService maintenanceService;
+    private final InventoryImportService importService;
 
     @Autowired
-    public InventoryController(InventoryService invService, SpaceService spaceService, MaintenanceService maintService) {
+    public InventoryController(InventoryService invService, SpaceService spaceService, MaintenanceService maintService,
+                               InventoryImportService importService) {
         this.inventoryService = invService;
         this.spaceService = spaceService;
         this.maintenanceService = maintService;
+        this.importService = importService;
     }
 
     @GetMapping
-    public String list(Model model) {
-        model.addAttribute("items", inventoryService.listAll());
+    public String list(@RequestParam(required = false) String after,
+                       @RequestParam(defaultValue = "id") String sort,
+                       @RequestParam(required = false) Integer size,
+                       Model model) {
+        populatePage(model, inventoryService.listPage(after, sort, size));
         model.addAttribute("inventoryDTO", new InventoryDTO());
         populateSpaceData(model);
         return "admin/inventory/list";
@@ -47,17 +60,43 @@ public class InventoryController {
     }
     @PostMapping("/add")
     public String addItem(@Valid @ModelAttribute("inventoryDTO") InventoryDTO dto,
-                          BindingResult result, RedirectAttributes ra, Model model) {
+                          BindingResult result,
+                          @RequestParam(defaultValue = "false") boolean split,
+                          RedirectAttributes ra, Model model) {
         if (result.hasErrors()) {
-            model.addAttribute("items", inventoryService.listAll());
+            populatePage(model, inventoryService.listPage(null, null, null));
             populateSpaceData(model);
             return "admin/inventory/list";
         }
+        if (InventoryDTO.AUTO_LOCATION.equals(dto.getLocation())) {
+            List<Inventory> placed = inventoryService.createAutoLocated(dto, split);
+            String zones = placed.stream()
+                    .map(item -> item.getLocation() + " (" + item.getQuantity() + ")")
+                    .collect(Collectors.joining(", "));
+            ra.addFlashAttribute("successMessage", "Item added to " + zones + ".");
+            return "redirect:/inventory";
+        }
         inventoryService.create(dto);
         ra.addFlashAttribute("successMessage", "Item added successfully!");
         return "redirect:/inventory";
     }
 
+    @PostMapping("/import")
+    public String importCsv(@RequestParam("file") MultipartFile file, RedirectAttributes ra) throws IOException {
+        if (file.isEmpty()) {
+            ra.addFlashAttribute("errorMessage", "Please choose a CSV file to import.");
+            return "redirect:/inventory";
+        }
+        InventoryImportResultDTO result;
+        try (InputStream in = file.getInputStream()) {
+            result = importService.importCsv(in);
+        }
+        ra.addFlashAttribute("importResult", result);
+        ra.addFlashAttribute("successMessage", "Imported " + result.getImportedRows() + " of "
+                + result.getRowsRead() + " rows from " + file.getOriginalFilename() + ".");
+        return "redirect:/inventory";
+    }
+
     @PostMapping("/update/{id}")
     public String updateItem(@PathVariable Integer id,
                              @Valid @ModelAttribute("inventoryDTO") InventoryDTO dto,
@@ -83,6 +122,11 @@ public class InventoryController {
         return "redirect:/inventory";
     }
 
+    private void populatePage(Model model, InventoryPageDTO page) {
+        model.addAttribute("page", page);
+        model.addAttribute("items", page.getItems());
+    }
+
     private void populateSpaceData(Model model) {
         model.addAttribute("spaces", spaceService.listAll());
         model.addAttribute("lockedSpaceIds", maintenanceService.getCurrentlyLockedSpaceIds());
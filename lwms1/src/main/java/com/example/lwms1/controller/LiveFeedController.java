@@ -0,0 +1,38 @@
+package com.example.lwms1.controller;
+
+import com.example.lwms1.service.LiveFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** Server-Sent Event streams behind the live space, shipment and tracking pages. */
+@RestController
+@RequestMapping("/user/live")
+public class LiveFeedController {
+
+    private final LiveFeedService liveFeedService;
+
+    @Autowired
+    public LiveFeedController(LiveFeedService liveFeedService) {
+        this.liveFeedService = liveFeedService;
+    }
+
+    @GetMapping(value = "/spaces", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter spaces() {
+        return liveFeedService.subscribe(LiveFeedService.SPACES, null);
+    }
+
+    @GetMapping(value = "/shipments", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter shipments() {
+        return liveFeedService.subscribe(LiveFeedService.SHIPMENTS, null);
+    }
+
+    @GetMapping(value = "/shipments/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter shipment(@PathVariable Integer id) {
+        return liveFeedService.subscribe(LiveFeedService.SHIPMENTS, id);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.lwms1.controller;
 
 import com.example.lwms1.dto.MaintenanceDTO;
+import com.example.lwms1.model.MaintenanceSchedule;
 import com.example.lwms1.service.MaintenanceService;
 import com.example.lwms1.service.SpaceService;
 import jakarta.validation.Valid;
@@ -42,8 +43,8 @@ public class MaintenanceController {
             return "admin/maintenance/schedule";
         }
 
-        service.schedule(dto);
-        ra.addFlashAttribute("successMessage", "Maintenance scheduled! Zone is now locked.");
+        MaintenanceSchedule saved = service.schedule(dto);
+        ra.addFlashAttribute("successMessage", "Maintenance scheduled! " + service.describeLock(saved));
         return "redirect:/admin/maintenance";
     }
 
@@ -1,14 +1,20 @@
 package com.example.lwms1.controller;
 
 import com.example.lwms1.dto.ReportDTO;
+import com.example.lwms1.dto.ReportJobDTO;
+import com.example.lwms1.dto.ReportSummaryDTO;
 import com.example.lwms1.model.Report;
 import com.example.lwms1.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Controller
@@ -24,23 +30,41 @@ public class ReportController {
 
     @GetMapping
     public String list(Model model) {
-        List<Report> allReports = service.listAll();
+        List<ReportSummaryDTO> allReports = service.listAll();
         model.addAttribute("reports", allReports);
+        model.addAttribute("jobs", service.listJobs());
         model.addAttribute("form", new ReportDTO());
         return "admin/report/list";
     }
 
     @PostMapping("/generate")
     public String generate(@ModelAttribute("form") ReportDTO dto, RedirectAttributes ra) {
-        service.generate(dto);
-        ra.addFlashAttribute("successMessage", "Report for " + dto.getReportType() + " generated!");
+        String jobId = service.generate(dto);
+        ra.addFlashAttribute("successMessage", "Report for " + dto.getReportType() + " queued (job " + jobId + ").");
         return "redirect:/admin/reports";
     }
 
+    // Polled by the reports page while jobs are queued or running
+    @GetMapping("/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<ReportJobDTO> jobStatus(@PathVariable String jobId) {
+        return service.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/content")
+    public ResponseEntity<StreamingResponseBody> content(@PathVariable Integer id) {
+        Report report = service.get(id);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(out -> service.writeContent(report, out));
+    }
+
     @PostMapping("/delete/{id}")
     public String delete(@PathVariable Integer id, RedirectAttributes ra) {
         service.delete(id);
         ra.addFlashAttribute("successMessage", "Report deleted successfully.");
         return "redirect:/admin/reports";
     }
-}
\ No newline at end of file
+}
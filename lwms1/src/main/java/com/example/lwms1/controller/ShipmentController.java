@@ -77,6 +77,7 @@ public class ShipmentController {
     @GetMapping("/track/{id}")
     public String track(@PathVariable Integer id, Model model) {
         model.addAttribute("shipment", service.get(id));
+        model.addAttribute("history", service.getHistory(id));
         return "admin/shipment/track";
     }
 }
\ No newline at end of file
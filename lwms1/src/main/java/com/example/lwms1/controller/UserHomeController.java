@@ -1,13 +1,22 @@
 package com.example.lwms1.controller;
 
+import com.example.lwms1.dto.InventoryPageDTO;
+import com.example.lwms1.model.Report;
+import com.example.lwms1.search.InventorySearchService;
 import com.example.lwms1.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
 
 @Controller
 @RequestMapping("/user")
@@ -19,6 +28,7 @@ public class UserHomeController {
     private final MaintenanceService maintenanceService;
     private final ReportService reportService;
     private final DashboardService dashboardService;
+    private final InventorySearchService searchService;
 
     @Autowired
     public UserHomeController(InventoryService inventoryService,
@@ -26,13 +36,15 @@ public class UserHomeController {
                               SpaceService spaceService,
                               MaintenanceService maintenanceService,
                               ReportService reportService,
-                              DashboardService dashboardService) {
+                              DashboardService dashboardService,
+                              InventorySearchService searchService) {
         this.inventoryService = inventoryService;
         this.shipmentService = shipmentService;
         this.spaceService = spaceService;
         this.maintenanceService = maintenanceService;
         this.reportService = reportService;
         this.dashboardService = dashboardService;
+        this.searchService = searchService;
     }
 
     @GetMapping("/home")
@@ -46,14 +58,25 @@ public class UserHomeController {
     }
 
     @GetMapping("/inventory")
-    public String viewInventory(Model model) {
-        model.addAttribute("items", inventoryService.listAll());
+    public String viewInventory(@RequestParam(required = false) String after,
+                                @RequestParam(defaultValue = "id") String sort,
+                                @RequestParam(required = false) Integer size,
+                                @RequestParam(required = false) String q,
+                                Model model) {
+        if (q != null && !q.isBlank()) {
+            model.addAttribute("query", q);
+            model.addAttribute("items", searchService.searchItems(q, InventorySearchService.MAX_LIMIT));
+            return "user/inventory";
+        }
+        InventoryPageDTO page = inventoryService.listPage(after, sort, size);
+        model.addAttribute("page", page);
+        model.addAttribute("items", page.getItems());
         return "user/inventory";
     }
 
     @GetMapping("/shipments")
     public String viewShipments(Model model) {
-        model.addAttribute("shipmentList", shipmentService.listAll());
+        model.addAttribute("shipmentList", shipmentService.listActive());
         return "user/shipment";
     }
 
@@ -75,6 +98,14 @@ public class UserHomeController {
         return "user/reports";
     }
 
+    @GetMapping("/reports/{id}/content")
+    public ResponseEntity<StreamingResponseBody> viewReportContent(@PathVariable Integer id) {
+        Report report = reportService.get(id);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(out -> reportService.writeContent(report, out));
+    }
+
     @GetMapping("/profile")
     public String viewProfile(Authentication auth, Model model) {
         model.addAttribute("username", auth.getName());
@@ -0,0 +1,153 @@
+package com.example.lwms1.controller.api;
+
+import com.example.lwms1.dto.InventoryDTO;
+import com.example.lwms1.dto.InventoryPageDTO;
+import com.example.lwms1.dto.InventoryResponseDTO;
+import com.example.lwms1.dto.InventorySearchHitDTO;
+import com.example.lwms1.dto.InventoryVersionDTO;
+import com.example.lwms1.dto.KeysetPageDTO;
+import com.example.lwms1.dto.PutawaySlotDTO;
+import com.example.lwms1.dto.StockMovementDTO;
+import com.example.lwms1.dto.StockQuantityDTO;
+import com.example.lwms1.ledger.StockHistoryService;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.search.InventorySearchService;
+import com.example.lwms1.service.ExportService;
+import com.example.lwms1.service.InventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * JSON API over {@link InventoryService}. Pages and the NDJSON export support conditional GET:
+ * their ETag/Last-Modified come from the table's row count and newest lastUpdated, so a client
+ * polling an unchanged inventory gets a 304 without the rows being read.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory")
+public class InventoryApiController {
+
+    private final InventoryService inventoryService;
+    private final ExportService exportService;
+    private final InventorySearchService searchService;
+    private final StockHistoryService stockHistoryService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public InventoryApiController(InventoryService inventoryService, ExportService exportService,
+                                  InventorySearchService searchService, StockHistoryService stockHistoryService,
+                                  ObjectMapper objectMapper) {
+        this.inventoryService = inventoryService;
+        this.exportService = exportService;
+        this.searchService = searchService;
+        this.stockHistoryService = stockHistoryService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public KeysetPageDTO<InventoryResponseDTO> list(@RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) String sort,
+                                                    @RequestParam(required = false) Integer size,
+                                                    WebRequest request) {
+        InventoryVersionDTO version = inventoryService.getVersion();
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        InventoryPageDTO page = inventoryService.listPage(after, sort, size);
+        return new KeysetPageDTO<>(page.getItems(), page.getSize(), page.getNextCursor(), page.isHasNext())
+                .map(InventoryResponseDTO::from);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(WebRequest request) {
+        InventoryVersionDTO version = inventoryService.getVersion();
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        StreamingResponseBody body = out -> NdjsonWriter.write(objectMapper, out, sink ->
+                exportService.exportInventory(item -> sink.accept(InventoryResponseDTO.from(item))));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Typeahead: answered from the in-memory index, so results may trail a write by a poll interval
+    @GetMapping("/search")
+    public List<InventorySearchHitDTO> search(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return searchService.search(q, limit);
+    }
+
+    // Dry run of the auto-locate mode: where a receipt would go right now, nothing is reserved
+    @GetMapping("/putaway")
+    public List<PutawaySlotDTO> planPutaway(@RequestParam int quantity,
+                                            @RequestParam(required = false) String category,
+                                            @RequestParam(defaultValue = "false") boolean split) {
+        return inventoryService.planPutaway(quantity, category, split);
+    }
+
+    // Every item's quantity at a past instant, rebuilt from the stock ledger
+    @GetMapping(value = "/as-of", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        StreamingResponseBody body = out -> NdjsonWriter.write(objectMapper, out, sink ->
+                stockHistoryService.exportAsOf(at, sink::accept));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/{id}/quantity-as-of")
+    public StockQuantityDTO quantityAsOf(@PathVariable Integer id,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return stockHistoryService.quantityAsOf(id, at);
+    }
+
+    // Newest first; pass the movedAt of the last movement as "before" for the next page
+    @GetMapping("/{id}/movements")
+    public List<StockMovementDTO> movements(@PathVariable Integer id,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                            @RequestParam(required = false) Integer size) {
+        return stockHistoryService.history(id, before, size);
+    }
+
+    @GetMapping("/{id}")
+    public InventoryResponseDTO get(@PathVariable Integer id, WebRequest request) {
+        Inventory item = inventoryService.findById(id);
+        long lastModified = item.getLastUpdated() != null
+                ? item.getLastUpdated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        if (request.checkNotModified("\"inv-" + id + "-" + lastModified + "\"", lastModified)) {
+            return null;
+        }
+        return InventoryResponseDTO.from(item);
+    }
+
+    @PostMapping
+    public ResponseEntity<InventoryResponseDTO> create(@Valid @RequestBody InventoryDTO dto) {
+        Inventory saved = inventoryService.create(dto);
+        return ResponseEntity.created(URI.create("/api/v1/inventory/" + saved.getItemId()))
+                .body(InventoryResponseDTO.from(saved));
+    }
+
+    @PutMapping("/{id}")
+    public InventoryResponseDTO update(@PathVariable Integer id, @Valid @RequestBody InventoryDTO dto) {
+        return InventoryResponseDTO.from(inventoryService.update(id, dto));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        inventoryService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
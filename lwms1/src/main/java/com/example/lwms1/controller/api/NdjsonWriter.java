@@ -0,0 +1,29 @@
+package com.example.lwms1.controller.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/** Writes newline-delimited JSON, one object per line, straight to the response stream. */
+final class NdjsonWriter {
+
+    private NdjsonWriter() {}
+
+    static void write(ObjectMapper objectMapper, OutputStream out, Consumer<Consumer<Object>> rows) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            rows.accept(row -> {
+                try {
+                    generator.writeObject(row);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    // Usually the client went away; abort the export and release the cursor
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.lwms1.controller.api;
+
+import com.example.lwms1.dto.KeysetPageDTO;
+import com.example.lwms1.dto.ShipmentBatchResultDTO;
+import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.dto.ShipmentResponseDTO;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.service.ExportService;
+import com.example.lwms1.service.ShipmentBatchService;
+import com.example.lwms1.service.ShipmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/shipments")
+public class ShipmentApiController {
+
+    private final ShipmentService shipmentService;
+    private final ShipmentBatchService shipmentBatchService;
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ShipmentApiController(ShipmentService shipmentService, ShipmentBatchService shipmentBatchService,
+                                 ExportService exportService, ObjectMapper objectMapper) {
+        this.shipmentService = shipmentService;
+        this.shipmentBatchService = shipmentBatchService;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public KeysetPageDTO<ShipmentResponseDTO> list(@RequestParam(required = false) Integer after,
+                                                   @RequestParam(required = false) Integer size) {
+        return shipmentService.listPage(after, size).map(ShipmentResponseDTO::from);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> NdjsonWriter.write(objectMapper, out, sink ->
+                exportService.exportShipments(s -> sink.accept(ShipmentResponseDTO.from(s))));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/active")
+    public List<ShipmentResponseDTO> active() {
+        return shipmentService.listActive().stream().map(ShipmentResponseDTO::from).toList();
+    }
+
+    @GetMapping("/overdue")
+    public List<ShipmentResponseDTO> overdue() {
+        return shipmentService.listOverdue().stream().map(ShipmentResponseDTO::from).toList();
+    }
+
+    @GetMapping("/{id}")
+    public ShipmentResponseDTO get(@PathVariable Integer id) {
+        return ShipmentResponseDTO.from(shipmentService.get(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<ShipmentResponseDTO> create(@Valid @RequestBody ShipmentDTO dto) {
+        Shipment saved = shipmentService.create(dto);
+        return ResponseEntity.created(URI.create("/api/v1/shipments/" + saved.getShipmentId()))
+                .body(ShipmentResponseDTO.from(saved));
+    }
+
+    /** Creates many shipments at once; each line succeeds or fails on its own. */
+    @PostMapping("/batch")
+    public ShipmentBatchResultDTO createBatch(@RequestBody List<ShipmentDTO> lines) {
+        return shipmentBatchService.createAll(lines);
+    }
+
+    @PutMapping("/{id}/status")
+    public ShipmentResponseDTO changeStatus(@PathVariable Integer id, @RequestParam String status) {
+        return ShipmentResponseDTO.from(shipmentService.changeStatus(id, status));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        shipmentService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
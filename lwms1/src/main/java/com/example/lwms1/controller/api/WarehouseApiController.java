@@ -0,0 +1,67 @@
+package com.example.lwms1.controller.api;
+
+import com.example.lwms1.dto.MaintenanceResponseDTO;
+import com.example.lwms1.dto.ReportSummaryDTO;
+import com.example.lwms1.dto.SpaceResponseDTO;
+import com.example.lwms1.model.Report;
+import com.example.lwms1.service.MaintenanceService;
+import com.example.lwms1.service.ReportService;
+import com.example.lwms1.service.SpaceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/** Read-only JSON views of the smaller reference tables: spaces, maintenance and reports. */
+@RestController
+@RequestMapping("/api/v1")
+public class WarehouseApiController {
+
+    private final SpaceService spaceService;
+    private final MaintenanceService maintenanceService;
+    private final ReportService reportService;
+
+    @Autowired
+    public WarehouseApiController(SpaceService spaceService, MaintenanceService maintenanceService,
+                                  ReportService reportService) {
+        this.spaceService = spaceService;
+        this.maintenanceService = maintenanceService;
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/spaces")
+    public List<SpaceResponseDTO> spaces() {
+        return spaceService.listAll().stream().map(SpaceResponseDTO::from).toList();
+    }
+
+    @GetMapping("/spaces/{id}")
+    public SpaceResponseDTO space(@PathVariable Integer id) {
+        return SpaceResponseDTO.from(spaceService.getById(id));
+    }
+
+    @GetMapping("/maintenance")
+    public List<MaintenanceResponseDTO> maintenance() {
+        return maintenanceService.listAll().stream().map(MaintenanceResponseDTO::from).toList();
+    }
+
+    @GetMapping("/reports")
+    public List<ReportSummaryDTO> reports() {
+        return reportService.listAll();
+    }
+
+    @GetMapping("/reports/{id}/content")
+    public ResponseEntity<StreamingResponseBody> reportContent(@PathVariable Integer id) {
+        Report report = reportService.get(id);
+        StreamingResponseBody body = out -> reportService.writeContent(report, out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
+    }
+}
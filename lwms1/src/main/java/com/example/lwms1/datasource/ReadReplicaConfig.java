@@ -0,0 +1,174 @@
+package com.example.lwms1.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends @Transactional(readOnly = true) work to read replicas, active when
+ * {@code lwms.datasource.replica-urls} lists at least one. Everything else, including every
+ * write, schema update and plain JdbcTemplate call, stays on the primary from
+ * {@code spring.datasource.*}.
+ *
+ * The application's DataSource is a LazyConnectionDataSourceProxy over ReplicaRoutingDataSource:
+ * it only fetches a physical connection on first use, by which time the transaction has been
+ * marked read-only or not, and the routing picks the pool from that.
+ * Every pool is a Hikari pool with its own name ("primary", "replica-1", ...), so the
+ * hikaricp.connections.* metrics are reported per pool. Transactions that may read a replica
+ * leave the second-level cache alone, see {@link ReplicaReadJpaDialect}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lwms.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    // A replica further behind than this is taken out of rotation until it catches up
+    public static final Duration MAX_REPLICA_LAG = Duration.ofSeconds(5);
+    public static final String LAG_CHECK_INTERVAL_PROPERTY = "lwms.datasource.replica-check-interval-ms";
+    public static final long DEFAULT_LAG_CHECK_INTERVAL_MS = 2000;
+    // A replica whose last lag reading missed this many checks is out of rotation until the next one
+    public static final int STALE_AFTER_CHECKS = 3;
+
+    /**
+     * How long reads stay on the primary after a write. A replica in rotation was at most
+     * MAX_REPLICA_LAG behind when last measured, and that reading is at most
+     * STALE_AFTER_CHECKS intervals old, so by then any of them has the write.
+     */
+    public static Duration readYourWritesWindow(Duration checkInterval) {
+        return MAX_REPLICA_LAG.plus(staleAfter(checkInterval));
+    }
+
+    static Duration staleAfter(Duration checkInterval) {
+        return checkInterval.multipliedBy(STALE_AFTER_CHECKS);
+    }
+
+    static Duration checkInterval(Environment environment) {
+        return Duration.ofMillis(environment.getProperty(LAG_CHECK_INTERVAL_PROPERTY, Long.class,
+                DEFAULT_LAG_CHECK_INTERVAL_MS));
+    }
+
+    /** The primary and replica pools, closed together on shutdown. */
+    public static class Pools implements AutoCloseable {
+        private final HikariDataSource primary;
+        private final List<Replica> replicas;
+
+        Pools(HikariDataSource primary, List<Replica> replicas) {
+            this.primary = primary;
+            this.replicas = replicas;
+        }
+
+        public HikariDataSource getPrimary() { return primary; }
+        public List<Replica> getReplicas() { return replicas; }
+
+        @Override
+        public void close() {
+            for (Replica replica : replicas) {
+                ((HikariDataSource) replica.getDataSource()).close();
+            }
+            primary.close();
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public Pools dataSourcePools(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(primary, "primary", environment, registry);
+
+        String username = environment.getProperty("lwms.datasource.replica-username", properties.determineUsername());
+        String password = environment.getProperty("lwms.datasource.replica-password", properties.determinePassword());
+        String[] urls = environment.getProperty("lwms.datasource.replica-urls", String[].class, new String[0]);
+        Duration staleAfter = staleAfter(checkInterval(environment));
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            String name = "replica-" + (replicas.size() + 1);
+            configure(pool, name, environment, registry);
+            // Connections from here are only used for reading; the database rejects anything else
+            pool.setReadOnly(true);
+            replicas.add(new Replica(name, pool, MAX_REPLICA_LAG, staleAfter));
+        }
+        return new Pools(primary, replicas);
+    }
+
+    @Bean
+    public DataSource dataSource(Pools pools, ObjectProvider<MeterRegistry> meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(pools.getPrimary(), pools.getReplicas(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(Pools pools, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaLagMonitor(pools.getReplicas(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(Environment environment) {
+        return new ReadYourWritesFilter(readYourWritesWindow(checkInterval(environment)));
+    }
+
+    // Spring holds a session's connection until the session closes, and with open-in-view that
+    // is the end of the request: a write after a read would reuse the read's replica connection.
+    // Releasing it after each transaction lets every transaction pick its own pool. In this mode
+    // Hibernate never calls setReadOnly on the connection, which is why ReplicaRoutingDataSource
+    // routes on the transaction's read-only flag instead.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Set before the factory bean initialises, which otherwise takes the vendor adapter's dialect
+    @Bean
+    public static BeanPostProcessor replicaReadJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean factory) {
+                    factory.setJpaDialect(new ReplicaReadJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void configure(HikariDataSource pool, String name, Environment environment,
+                                  MeterRegistry meterRegistry) {
+        // The same spring.datasource.hikari.* settings apply to every pool
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+}
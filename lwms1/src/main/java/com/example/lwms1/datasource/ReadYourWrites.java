@@ -0,0 +1,43 @@
+package com.example.lwms1.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as one whose reads must see its user's latest writes, so
+ * ReplicaRoutingDataSource sends them to the primary instead of a replica that may lag.
+ * Set per request by ReadYourWritesFilter; work handed to other threads does not inherit it.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private ReadYourWrites() {}
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    public static void begin() {
+        ACTIVE.set(Boolean.TRUE);
+    }
+
+    public static void end() {
+        ACTIVE.remove();
+    }
+
+    /**
+     * Runs {@code work} with this thread's reads on the primary, for background reloads that
+     * were triggered by a commit and must not read a replica that has not applied it yet.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (isActive()) {
+            return work.get();
+        }
+        begin();
+        try {
+            return work.get();
+        } finally {
+            end();
+        }
+    }
+}
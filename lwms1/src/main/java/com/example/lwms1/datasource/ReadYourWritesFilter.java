@@ -0,0 +1,66 @@
+package com.example.lwms1.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps a user's reads on the primary right after they changed something. A form POST
+ * redirects to a page listing what was just saved; if that GET read from a replica that has
+ * not caught up yet, the new row would be missing. So a successful write pins the session's
+ * reads to the primary for {@code window}, long enough for any replica still in rotation to
+ * have applied it, and the writing request itself never reads from a replica.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PRIMARY_UNTIL = ReadYourWritesFilter.class.getName() + ".PRIMARY_UNTIL";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request);
+        if (write || isPinned(request.getSession(false))) {
+            ReadYourWrites.begin();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+            HttpSession session = request.getSession(false);
+            if (write && session != null && response.getStatus() < 400) {
+                session.setAttribute(PRIMARY_UNTIL, System.currentTimeMillis() + window.toMillis());
+            }
+        }
+    }
+
+    private static boolean isPinned(HttpSession session) {
+        if (session == null) {
+            return false;
+        }
+        Object until = session.getAttribute(PRIMARY_UNTIL);
+        return until instanceof Long millis && millis > System.currentTimeMillis();
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith(request.getContextPath() + "/css/") || uri.startsWith(request.getContextPath() + "/js/");
+    }
+}
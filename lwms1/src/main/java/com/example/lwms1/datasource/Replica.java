@@ -0,0 +1,66 @@
+package com.example.lwms1.datasource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * One read replica pool and its last measured replication lag. A replica only takes reads
+ * once it has been measured, and drops out again when its latest reading is older than
+ * {@code staleAfter}: a lag check that stopped running says nothing about how far behind it is now.
+ */
+public final class Replica {
+
+    /** Seconds behind the primary, NaN while replication is stopped or the replica cannot be reached. */
+    private record Lag(double seconds, Instant measuredAt) {}
+
+    private final String name;
+    private final DataSource dataSource;
+    private final Duration maxLag;
+    private final Duration staleAfter;
+    private final Clock clock;
+
+    // null until the first check
+    private volatile Lag lag;
+
+    public Replica(String name, DataSource dataSource, Duration maxLag, Duration staleAfter) {
+        this(name, dataSource, maxLag, staleAfter, Clock.systemUTC());
+    }
+
+    Replica(String name, DataSource dataSource, Duration maxLag, Duration staleAfter, Clock clock) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.maxLag = maxLag;
+        this.staleAfter = staleAfter;
+        this.clock = clock;
+    }
+
+    public String getName() { return name; }
+    public DataSource getDataSource() { return dataSource; }
+
+    /** The last measured lag in seconds; NaN when not measured yet or not replicating. */
+    public double getLagSeconds() {
+        Lag current = lag;
+        return current == null ? Double.NaN : current.seconds();
+    }
+
+    /** When the lag was last measured, or null before the first check. */
+    public Instant getMeasuredAt() {
+        Lag current = lag;
+        return current == null ? null : current.measuredAt();
+    }
+
+    void setLagSeconds(double lagSeconds) {
+        this.lag = new Lag(lagSeconds, clock.instant());
+    }
+
+    /** Whether reads may go here: recently measured, reachable and no further behind than allowed. */
+    public boolean isUsable() {
+        Lag current = lag;
+        return current != null
+                && !Double.isNaN(current.seconds())
+                && current.seconds() <= maxLag.toSeconds()
+                && !current.measuredAt().plus(staleAfter).isBefore(clock.instant());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.lwms1.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Measures how far each replica is behind the primary, so ReplicaRoutingDataSource stops
+ * reading from one that lags or has stopped replicating and starts again once it has caught
+ * up. The lag is published as "lwms.datasource.replica.lag" per pool. Replicas take no reads
+ * until the first check has run.
+ *
+ * A database that is not a MySQL replica (such as the H2 stand-in of the embedded profile)
+ * shares the primary's data and counts as never behind.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final List<Replica> replicas;
+
+    public ReplicaLagMonitor(List<Replica> replicas, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        for (Replica replica : this.replicas) {
+            Gauge.builder("lwms.datasource.replica.lag", replica, Replica::getLagSeconds)
+                    .description("Seconds the replica is behind the primary; NaN when it is not replicating")
+                    .baseUnit("seconds")
+                    .tag("pool", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${" + ReadReplicaConfig.LAG_CHECK_INTERVAL_PROPERTY + ":"
+            + ReadReplicaConfig.DEFAULT_LAG_CHECK_INTERVAL_MS + "}")
+    public void check() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = replica.isUsable();
+            double lag;
+            try {
+                lag = measureLagSeconds(replica);
+            } catch (SQLException ex) {
+                log.warn("Replica {} could not be checked: {}", replica.getName(), ex.getMessage());
+                lag = Double.NaN;
+            }
+            replica.setLagSeconds(lag);
+            if (wasUsable != replica.isUsable()) {
+                log.warn("Replica {} is {} (lag {} s)", replica.getName(),
+                        replica.isUsable() ? "back in rotation" : "taken out of rotation", lag);
+            }
+        }
+    }
+
+    private double measureLagSeconds(Replica replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                return 0;
+            }
+            try {
+                return readLag(connection, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLSyntaxErrorException ex) {
+                // MySQL before 8.0.22
+                return readLag(connection, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private static double readLag(Connection connection, String sql, String column) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                // Not configured as a replica: a stand-in on the primary's data
+                return 0;
+            }
+            long seconds = rs.getLong(column);
+            return rs.wasNull() ? Double.NaN : seconds;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.lwms1.datasource;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Keeps rows read from a replica out of the second-level cache. A read-only transaction that is
+ * not pinned to the primary may be served by a replica up to MAX_REPLICA_LAG behind, and the
+ * Space and Role regions and the query cache are shared by every request, so such a transaction
+ * bypasses the cache altogether. Only bypassing the store is not enough: on a miss Hibernate
+ * stores a cacheable query's result whenever reading the query cache is enabled.
+ *
+ * The modes are set as entity manager properties and restored when the transaction ends, since
+ * with open-in-view the same entity manager runs the request's later writes.
+ */
+class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    private record ReplicaRead(Object transactionData, EntityManager entityManager, Object previousRetrieveMode,
+                               Object previousStoreMode) {}
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || ReadYourWrites.isActive()) {
+            return transactionData;
+        }
+        Map<String, Object> properties = entityManager.getProperties();
+        ReplicaRead read = new ReplicaRead(transactionData, entityManager,
+                properties.get(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE), properties.get(SpecHints.HINT_SPEC_CACHE_STORE_MODE));
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return read;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaRead read) {
+            read.entityManager().setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE,
+                    read.previousRetrieveMode() != null ? read.previousRetrieveMode() : CacheRetrieveMode.USE);
+            read.entityManager().setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE,
+                    read.previousStoreMode() != null ? read.previousStoreMode() : CacheStoreMode.USE);
+            transactionData = read.transactionData();
+        }
+        super.cleanupTransaction(transactionData);
+    }
+}
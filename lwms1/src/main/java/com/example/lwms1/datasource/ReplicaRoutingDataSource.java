@@ -0,0 +1,76 @@
+package com.example.lwms1.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Where connections come from. Anything outside a @Transactional(readOnly = true) transaction
+ * gets the primary. Inside one, replicas take turns; one that lags too far or cannot be
+ * reached is skipped, and when none is usable, or the current request has to read its own
+ * writes, the connection comes from the primary after all. Each read-only choice is counted in
+ * "lwms.datasource.reads", tagged with the pool that served it.
+ *
+ * The transaction is only marked read-only after Hibernate has begun it, so this must sit
+ * behind a LazyConnectionDataSourceProxy that defers the choice to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> reads = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        reads.put(PRIMARY, readCounter(meterRegistry, PRIMARY));
+        for (Replica replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            reads.put(replica.getName(), readCounter(meterRegistry, replica.getName()));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String key = choose();
+        reads.get(key).increment();
+        return key;
+    }
+
+    private String choose() {
+        if (ReadYourWrites.isActive() || replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUsable()) {
+                return replica.getName();
+            }
+        }
+        return PRIMARY;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("lwms.datasource.reads")
+                .description("Read-only connections handed out, by the pool that served them")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.lwms1.dto;
+
+public class CapacityTotalsDTO {
+
+    private final long usedCapacity;
+    private final long totalCapacity;
+
+    public CapacityTotalsDTO(Long usedCapacity, Long totalCapacity) {
+        this.usedCapacity = usedCapacity != null ? usedCapacity : 0L;
+        this.totalCapacity = totalCapacity != null ? totalCapacity : 0L;
+    }
+
+    public long getUsedCapacity() { return usedCapacity; }
+    public long getTotalCapacity() { return totalCapacity; }
+
+    public double getUtilizationPercent() {
+        if (totalCapacity <= 0) {
+            return 0;
+        }
+        return ((double) usedCapacity / totalCapacity) * 100;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.lwms1.dto;
+
+import com.example.lwms1.model.Inventory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset cursor for inventory pages: the sort key, the last row's sort value and its itemId,
+ * so the next page seeks straight from those values without reading that row again. Handed
+ * out base64url-encoded ("lastUpdated|42|2024-05-01T10:00" before encoding) and meant to be
+ * passed back as-is. A row whose sort value is null has no third part.
+ */
+public final class InventoryCursor {
+
+    private final InventoryPageDTO.SortKey sort;
+    private final Integer itemId;
+    private final String value;
+
+    private InventoryCursor(InventoryPageDTO.SortKey sort, Integer itemId, String value) {
+        this.sort = sort;
+        this.itemId = itemId;
+        this.value = value;
+    }
+
+    /** The cursor that continues after {@code row} in {@code sort} order. */
+    public static String of(InventoryPageDTO.SortKey sort, Inventory row) {
+        String value = switch (sort) {
+            case LAST_UPDATED -> row.getLastUpdated() != null ? row.getLastUpdated().toString() : null;
+            case CATEGORY -> row.getCategory();
+            case ID -> null;
+        };
+        return encode(sort, row.getItemId(), value);
+    }
+
+    public static String encode(InventoryPageDTO.SortKey sort, Integer itemId, String value) {
+        String raw = sort.getParam() + "|" + itemId + (value != null ? "|" + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor handed out for {@code sort}. Returns null when there is none, or when it
+     * cannot be read or was issued for another sort order, which restarts from the first page.
+     */
+    public static InventoryCursor parse(String token, InventoryPageDTO.SortKey sort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length < 2 || !parts[0].equals(sort.getParam())) {
+                return null;
+            }
+            InventoryCursor cursor = new InventoryCursor(sort, Integer.valueOf(parts[1]), parts.length == 3 ? parts[2] : null);
+            // A garbled timestamp fails here rather than in the query
+            cursor.getLastUpdated();
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    public InventoryPageDTO.SortKey getSort() { return sort; }
+    public Integer getItemId() { return itemId; }
+
+    /** Whether the last row had no value in the sort column (no category, never updated). */
+    public boolean isNullValue() { return value == null; }
+
+    public String getCategory() {
+        return sort == InventoryPageDTO.SortKey.CATEGORY ? value : null;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return sort == InventoryPageDTO.SortKey.LAST_UPDATED && value != null ? LocalDateTime.parse(value) : null;
+    }
+}
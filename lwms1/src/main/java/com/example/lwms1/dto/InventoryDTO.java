@@ -5,6 +5,9 @@ import java.time.LocalDateTime;
 
 public class InventoryDTO {
 
+    // Location value that lets the putaway allocator pick the zone
+    public static final String AUTO_LOCATION = "AUTO";
+
     private Integer itemId;
 
     @NotBlank(message = "Item name is required")
@@ -0,0 +1,49 @@
+package com.example.lwms1.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a CSV inventory import. Only the first {@link #MAX_REPORTED_ERRORS} row errors
+ * are kept; {@code failedRows} still counts all of them.
+ */
+public class InventoryImportResultDTO {
+
+    public static final int MAX_REPORTED_ERRORS = 500;
+
+    public static class RowError {
+        private final long lineNumber;
+        private final String message;
+
+        public RowError(long lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public String getMessage() { return message; }
+    }
+
+    private long rowsRead;
+    private long importedRows;
+    private long failedRows;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void rowRead() { rowsRead++; }
+
+    public void imported(int rows) { importedRows += rows; }
+
+    public void rejectRow(long lineNumber, String message) {
+        failedRows++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(lineNumber, message));
+        }
+    }
+
+    public boolean isErrorsTruncated() { return failedRows > errors.size(); }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getImportedRows() { return importedRows; }
+    public long getFailedRows() { return failedRows; }
+    public List<RowError> getErrors() { return errors; }
+}
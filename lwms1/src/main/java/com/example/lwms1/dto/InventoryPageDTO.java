@@ -0,0 +1,64 @@
+package com.example.lwms1.dto;
+
+import com.example.lwms1.model.Inventory;
+
+import java.util.List;
+
+/**
+ * One keyset page of inventory rows. {@code nextCursor} is an {@link InventoryCursor} after
+ * the last row on this page and is passed back as {@code after} to fetch the following page.
+ */
+public class InventoryPageDTO {
+
+    public enum SortKey {
+        ID("id"), LAST_UPDATED("lastUpdated"), CATEGORY("category");
+
+        private final String param;
+
+        SortKey(String param) { this.param = param; }
+
+        public String getParam() { return param; }
+
+        public static SortKey fromParam(String param) {
+            for (SortKey key : values()) {
+                if (key.param.equalsIgnoreCase(param)) {
+                    return key;
+                }
+            }
+            return ID;
+        }
+    }
+
+    private List<Inventory> items;
+    private SortKey sort;
+    private int size;
+    private String cursor;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public InventoryPageDTO() {}
+
+    public InventoryPageDTO(List<Inventory> items, SortKey sort, int size, String cursor, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.sort = sort;
+        this.size = size;
+        this.cursor = cursor;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public boolean isFirstPage() { return cursor == null; }
+
+    public List<Inventory> getItems() { return items; }
+    public void setItems(List<Inventory> items) { this.items = items; }
+    public SortKey getSort() { return sort; }
+    public void setSort(SortKey sort) { this.sort = sort; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+}
@@ -0,0 +1,38 @@
+package com.example.lwms1.dto;
+
+import com.example.lwms1.model.Inventory;
+
+import java.time.LocalDateTime;
+
+/** Read-only JSON view of an inventory row for the /api/v1 endpoints. */
+public class InventoryResponseDTO {
+
+    private final Integer itemId;
+    private final String itemName;
+    private final String category;
+    private final Integer quantity;
+    private final String location;
+    private final LocalDateTime lastUpdated;
+
+    public InventoryResponseDTO(Integer itemId, String itemName, String category, Integer quantity,
+                                String location, LocalDateTime lastUpdated) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.category = category;
+        this.quantity = quantity;
+        this.location = location;
+        this.lastUpdated = lastUpdated;
+    }
+
+    public static InventoryResponseDTO from(Inventory item) {
+        return new InventoryResponseDTO(item.getItemId(), item.getItemName(), item.getCategory(),
+                item.getQuantity(), item.getLocation(), item.getLastUpdated());
+    }
+
+    public Integer getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public String getCategory() { return category; }
+    public Integer getQuantity() { return quantity; }
+    public String getLocation() { return location; }
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+}
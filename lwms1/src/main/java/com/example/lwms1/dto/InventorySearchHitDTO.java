@@ -0,0 +1,22 @@
+package com.example.lwms1.dto;
+
+/** The searchable fields of one inventory item, as held by the search index and returned by it. */
+public class InventorySearchHitDTO {
+
+    private final Integer itemId;
+    private final String itemName;
+    private final String category;
+    private final String location;
+
+    public InventorySearchHitDTO(Integer itemId, String itemName, String category, String location) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.category = category;
+        this.location = location;
+    }
+
+    public Integer getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public String getCategory() { return category; }
+    public String getLocation() { return location; }
+}
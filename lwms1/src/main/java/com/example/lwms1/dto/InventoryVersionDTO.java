@@ -0,0 +1,29 @@
+package com.example.lwms1.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Row count and newest lastUpdated of the inventory table, used as the validator for
+ * conditional GETs on inventory collections: an insert or update moves the timestamp
+ * and a delete changes the count.
+ */
+public class InventoryVersionDTO {
+
+    private final long count;
+    private final long lastModified;
+
+    public InventoryVersionDTO(Long count, LocalDateTime lastUpdated) {
+        this.count = count != null ? count : 0L;
+        this.lastModified = lastUpdated != null ? lastUpdated.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    public long getCount() { return count; }
+
+    /** Epoch millis for Last-Modified, or -1 when the table is empty. */
+    public long getLastModified() { return lastModified; }
+
+    public String getETag() {
+        return "\"inv-" + count + "-" + lastModified + "\"";
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.lwms1.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page for the JSON API. {@code nextCursor} is opaque and passed back as
+ * {@code after} to fetch the following page; it is null on the last page.
+ */
+public class KeysetPageDTO<T> {
+
+    private final List<T> items;
+    private final int size;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public KeysetPageDTO(List<T> items, int size, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public <R> KeysetPageDTO<R> map(Function<T, R> mapper) {
+        return new KeysetPageDTO<>(items.stream().map(mapper).toList(), size, nextCursor, hasNext);
+    }
+
+    public List<T> getItems() { return items; }
+    public int getSize() { return size; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+}
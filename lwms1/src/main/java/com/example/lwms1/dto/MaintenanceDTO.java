@@ -3,6 +3,8 @@ package com.example.lwms1.dto;
 import jakarta.validation.constraints.*;
 import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 public class MaintenanceDTO {
     private Integer scheduleId;
@@ -20,6 +22,14 @@ public class MaintenanceDTO {
     @DateTimeFormat(pattern = "yyyy-MM-dd")
     private LocalDate scheduledDate;
 
+    // Start of the window on the scheduled date; midnight when left empty
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    // Empty keeps the zone locked until the task is completed
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm")
+    private LocalDateTime endsAt;
+
     @NotBlank(message = "Status is required")
     @NotBlank @Size(max = 50)
     private String completionStatus;
@@ -34,6 +44,10 @@ public class MaintenanceDTO {
     public void setDescription(String description) { this.description = description; }
     public LocalDate getScheduledDate() { return scheduledDate; }
     public void setScheduledDate(LocalDate scheduledDate) { this.scheduledDate = scheduledDate; }
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    public LocalDateTime getEndsAt() { return endsAt; }
+    public void setEndsAt(LocalDateTime endsAt) { this.endsAt = endsAt; }
     public String getCompletionStatus() { return completionStatus; }
     public void setCompletionStatus(String completionStatus) { this.completionStatus = completionStatus; }
 }
\ No newline at end of file
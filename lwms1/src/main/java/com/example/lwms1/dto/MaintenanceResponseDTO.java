@@ -0,0 +1,43 @@
+package com.example.lwms1.dto;
+
+import com.example.lwms1.model.MaintenanceSchedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Read-only JSON view of a maintenance schedule entry. */
+public class MaintenanceResponseDTO {
+
+    private final Integer scheduleId;
+    private final Integer equipmentId;
+    private final String description;
+    private final LocalDate scheduledDate;
+    private final LocalDateTime startsAt;
+    private final LocalDateTime endsAt;
+    private final String completionStatus;
+
+    public MaintenanceResponseDTO(Integer scheduleId, Integer equipmentId, String description,
+                                  LocalDate scheduledDate, LocalDateTime startsAt, LocalDateTime endsAt,
+                                  String completionStatus) {
+        this.scheduleId = scheduleId;
+        this.equipmentId = equipmentId;
+        this.description = description;
+        this.scheduledDate = scheduledDate;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.completionStatus = completionStatus;
+    }
+
+    public static MaintenanceResponseDTO from(MaintenanceSchedule m) {
+        return new MaintenanceResponseDTO(m.getScheduleId(), m.getEquipmentId(), m.getDescription(),
+                m.getScheduledDate(), m.windowStart(), m.getEndsAt(), m.getCompletionStatus());
+    }
+
+    public Integer getScheduleId() { return scheduleId; }
+    public Integer getEquipmentId() { return equipmentId; }
+    public String getDescription() { return description; }
+    public LocalDate getScheduledDate() { return scheduledDate; }
+    public LocalDateTime getStartsAt() { return startsAt; }
+    public LocalDateTime getEndsAt() { return endsAt; }
+    public String getCompletionStatus() { return completionStatus; }
+}
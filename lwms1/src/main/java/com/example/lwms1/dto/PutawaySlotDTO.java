@@ -0,0 +1,19 @@
+package com.example.lwms1.dto;
+
+/** One zone chosen by the putaway allocator and how many units of a receipt go there. */
+public class PutawaySlotDTO {
+
+    private final Integer spaceId;
+    private final String zone;
+    private final int quantity;
+
+    public PutawaySlotDTO(Integer spaceId, String zone, int quantity) {
+        this.spaceId = spaceId;
+        this.zone = zone;
+        this.quantity = quantity;
+    }
+
+    public Integer getSpaceId() { return spaceId; }
+    public String getZone() { return zone; }
+    public int getQuantity() { return quantity; }
+}
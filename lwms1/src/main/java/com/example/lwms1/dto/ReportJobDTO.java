@@ -0,0 +1,75 @@
+package com.example.lwms1.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of an asynchronous report generation job. Written by the report worker
+ * thread and read by request threads, hence the volatile fields.
+ */
+public class ReportJobDTO {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final String reportType;
+    private final LocalDateTime submittedAt;
+
+    private volatile State state = State.QUEUED;
+    private volatile long totalRows;
+    private volatile long processedRows;
+    private volatile Integer reportId;
+    private volatile String errorMessage;
+    private volatile LocalDateTime finishedAt;
+
+    public ReportJobDTO(String jobId, String reportType) {
+        this.jobId = jobId;
+        this.reportType = reportType;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public void markRunning(long totalRows) {
+        this.totalRows = totalRows;
+        this.state = State.RUNNING;
+    }
+
+    public void rowWritten() {
+        // only the single worker thread running this job writes the counter
+        processedRows++;
+    }
+
+    public void markCompleted(Integer reportId) {
+        this.reportId = reportId;
+        this.finishedAt = LocalDateTime.now();
+        this.state = State.COMPLETED;
+    }
+
+    public void markFailed(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedAt = LocalDateTime.now();
+        this.state = State.FAILED;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public int getPercentComplete() {
+        if (state == State.COMPLETED) {
+            return 100;
+        }
+        if (totalRows <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99, processedRows * 100 / totalRows);
+    }
+
+    public String getJobId() { return jobId; }
+    public String getReportType() { return reportType; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public State getState() { return state; }
+    public long getTotalRows() { return totalRows; }
+    public long getProcessedRows() { return processedRows; }
+    public Integer getReportId() { return reportId; }
+    public String getErrorMessage() { return errorMessage; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+}
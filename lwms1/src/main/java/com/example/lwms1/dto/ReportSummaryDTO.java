@@ -0,0 +1,45 @@
+package com.example.lwms1.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a report: everything but the body, which stays in
+ * report_chunks until the report is opened.
+ */
+public class ReportSummaryDTO {
+
+    private final Integer reportId;
+    private final String reportType;
+    private final LocalDateTime generatedOn;
+    private final Long originalSize;
+    private final Long compressedSize;
+
+    public ReportSummaryDTO(Integer reportId, String reportType, LocalDateTime generatedOn,
+                            Long originalSize, Long compressedSize) {
+        this.reportId = reportId;
+        this.reportType = reportType;
+        this.generatedOn = generatedOn;
+        this.originalSize = originalSize;
+        this.compressedSize = compressedSize;
+    }
+
+    /** Human readable body size, e.g. "12.4 KB"; "-" for reports stored before sizes were tracked. */
+    public String getFormattedSize() {
+        if (originalSize == null) {
+            return "-";
+        }
+        if (originalSize < 1024) {
+            return originalSize + " B";
+        }
+        if (originalSize < 1024 * 1024) {
+            return String.format("%.1f KB", originalSize / 1024.0);
+        }
+        return String.format("%.1f MB", originalSize / (1024.0 * 1024.0));
+    }
+
+    public Integer getReportId() { return reportId; }
+    public String getReportType() { return reportType; }
+    public LocalDateTime getGeneratedOn() { return generatedOn; }
+    public Long getOriginalSize() { return originalSize; }
+    public Long getCompressedSize() { return compressedSize; }
+}
@@ -0,0 +1,46 @@
+package com.example.lwms1.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch shipment request, one entry per submitted line in submission order.
+ * A successful line carries the new shipment id, a failed one the reason.
+ */
+public class ShipmentBatchResultDTO {
+
+    public static class LineResult {
+        private final int line;
+        private final Integer shipmentId;
+        private final String error;
+
+        public LineResult(int line, Integer shipmentId, String error) {
+            this.line = line;
+            this.shipmentId = shipmentId;
+            this.error = error;
+        }
+
+        public int getLine() { return line; }
+        public Integer getShipmentId() { return shipmentId; }
+        public String getError() { return error; }
+        public boolean isSuccess() { return error == null; }
+    }
+
+    private final List<LineResult> lines = new ArrayList<>();
+    private int succeeded;
+    private int failed;
+
+    public void succeeded(int line, Integer shipmentId) {
+        lines.add(new LineResult(line, shipmentId, null));
+        succeeded++;
+    }
+
+    public void failed(int line, String error) {
+        lines.add(new LineResult(line, null, error));
+        failed++;
+    }
+
+    public List<LineResult> getLines() { return lines; }
+    public int getSucceeded() { return succeeded; }
+    public int getFailed() { return failed; }
+}
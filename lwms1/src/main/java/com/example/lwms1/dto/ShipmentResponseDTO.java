@@ -0,0 +1,49 @@
+package com.example.lwms1.dto;
+
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Shipment;
+
+import java.time.LocalDate;
+
+/** Read-only JSON view of a shipment; the item is flattened to its id and name. */
+public class ShipmentResponseDTO {
+
+    private final Integer shipmentId;
+    private final Integer itemId;
+    private final String itemName;
+    private final Integer quantity;
+    private final String origin;
+    private final String destination;
+    private final String status;
+    private final LocalDate expectedDeliveryDate;
+
+    public ShipmentResponseDTO(Integer shipmentId, Integer itemId, String itemName, Integer quantity, String origin,
+                               String destination, String status, LocalDate expectedDeliveryDate) {
+        this.shipmentId = shipmentId;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.origin = origin;
+        this.destination = destination;
+        this.status = status;
+        this.expectedDeliveryDate = expectedDeliveryDate;
+    }
+
+    public static ShipmentResponseDTO from(Shipment s) {
+        Inventory item = s.getInventory();
+        return new ShipmentResponseDTO(s.getShipmentId(),
+                item != null ? item.getItemId() : null,
+                item != null ? item.getItemName() : null,
+                s.getQuantity(), s.getOrigin(), s.getDestination(),
+                s.getStatus() != null ? s.getStatus().name() : null, s.getExpectedDeliveryDate());
+    }
+
+    public Integer getShipmentId() { return shipmentId; }
+    public Integer getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public Integer getQuantity() { return quantity; }
+    public String getOrigin() { return origin; }
+    public String getDestination() { return destination; }
+    public String getStatus() { return status; }
+    public LocalDate getExpectedDeliveryDate() { return expectedDeliveryDate; }
+}
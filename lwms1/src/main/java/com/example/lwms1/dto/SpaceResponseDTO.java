@@ -0,0 +1,33 @@
+package com.example.lwms1.dto;
+
+import com.example.lwms1.model.Space;
+
+/** Read-only JSON view of a storage zone and its capacity figures. */
+public class SpaceResponseDTO {
+
+    private final Integer spaceId;
+    private final String zone;
+    private final Integer totalCapacity;
+    private final Integer usedCapacity;
+    private final Integer availableCapacity;
+
+    public SpaceResponseDTO(Integer spaceId, String zone, Integer totalCapacity, Integer usedCapacity,
+                            Integer availableCapacity) {
+        this.spaceId = spaceId;
+        this.zone = zone;
+        this.totalCapacity = totalCapacity;
+        this.usedCapacity = usedCapacity;
+        this.availableCapacity = availableCapacity;
+    }
+
+    public static SpaceResponseDTO from(Space space) {
+        return new SpaceResponseDTO(space.getSpaceId(), space.getZone(), space.getTotalCapacity(),
+                space.getUsedCapacity(), space.getAvailableCapacity());
+    }
+
+    public Integer getSpaceId() { return spaceId; }
+    public String getZone() { return zone; }
+    public Integer getTotalCapacity() { return totalCapacity; }
+    public Integer getUsedCapacity() { return usedCapacity; }
+    public Integer getAvailableCapacity() { return availableCapacity; }
+}
@@ -0,0 +1,37 @@
+package com.example.lwms1.dto;
+
+import com.example.lwms1.model.StockMovement;
+
+import java.time.LocalDateTime;
+
+public class StockMovementDTO {
+
+    private final Long movementId;
+    private final Integer itemId;
+    private final Integer spaceId;
+    private final int delta;
+    private final String cause;
+    private final LocalDateTime movedAt;
+
+    public StockMovementDTO(Long movementId, Integer itemId, Integer spaceId, int delta, String cause,
+                            LocalDateTime movedAt) {
+        this.movementId = movementId;
+        this.itemId = itemId;
+        this.spaceId = spaceId;
+        this.delta = delta;
+        this.cause = cause;
+        this.movedAt = movedAt;
+    }
+
+    public static StockMovementDTO from(StockMovement m) {
+        return new StockMovementDTO(m.getMovementId(), m.getItemId(), m.getSpaceId(), m.getDelta(), m.getCause(),
+                m.getMovedAt());
+    }
+
+    public Long getMovementId() { return movementId; }
+    public Integer getItemId() { return itemId; }
+    public Integer getSpaceId() { return spaceId; }
+    public int getDelta() { return delta; }
+    public String getCause() { return cause; }
+    public LocalDateTime getMovedAt() { return movedAt; }
+}
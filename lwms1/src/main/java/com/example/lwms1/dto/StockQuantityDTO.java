@@ -0,0 +1,21 @@
+package com.example.lwms1.dto;
+
+import java.time.LocalDateTime;
+
+/** Quantity of one item as it stood at {@code asOf}, rebuilt from the stock ledger. */
+public class StockQuantityDTO {
+
+    private final Integer itemId;
+    private final int quantity;
+    private final LocalDateTime asOf;
+
+    public StockQuantityDTO(Integer itemId, int quantity, LocalDateTime asOf) {
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.asOf = asOf;
+    }
+
+    public Integer getItemId() { return itemId; }
+    public int getQuantity() { return quantity; }
+    public LocalDateTime getAsOf() { return asOf; }
+}
@@ -0,0 +1,31 @@
+package com.example.lwms1.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the inventory services after items are created, imported, edited or deleted.
+ * Carries ids only; listeners that need the current state load it after commit.
+ */
+public class InventoryChangedEvent {
+
+    private final List<Integer> itemIds;
+    private final boolean deleted;
+
+    public InventoryChangedEvent(Integer itemId, boolean deleted) {
+        this(List.of(itemId), deleted);
+    }
+
+    @JsonCreator
+    public InventoryChangedEvent(@JsonProperty("itemIds") Collection<Integer> itemIds,
+                                 @JsonProperty("deleted") boolean deleted) {
+        this.itemIds = List.copyOf(itemIds);
+        this.deleted = deleted;
+    }
+
+    public List<Integer> getItemIds() { return itemIds; }
+    public boolean isDeleted() { return deleted; }
+}
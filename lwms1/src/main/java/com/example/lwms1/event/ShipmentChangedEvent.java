@@ -0,0 +1,31 @@
+package com.example.lwms1.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the shipment services after shipments are created, edited, change status or are
+ * deleted. Carries ids only; listeners that need the current state load it after commit.
+ */
+public class ShipmentChangedEvent {
+
+    private final List<Integer> shipmentIds;
+    private final boolean deleted;
+
+    public ShipmentChangedEvent(Integer shipmentId, boolean deleted) {
+        this(List.of(shipmentId), deleted);
+    }
+
+    @JsonCreator
+    public ShipmentChangedEvent(@JsonProperty("shipmentIds") Collection<Integer> shipmentIds,
+                                @JsonProperty("deleted") boolean deleted) {
+        this.shipmentIds = List.copyOf(shipmentIds);
+        this.deleted = deleted;
+    }
+
+    public List<Integer> getShipmentIds() { return shipmentIds; }
+    public boolean isDeleted() { return deleted; }
+}
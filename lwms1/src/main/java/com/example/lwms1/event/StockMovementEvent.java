@@ -0,0 +1,46 @@
+package com.example.lwms1.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Published whenever units enter or leave a zone. {@code quantity} is signed: positive for
+ * stock coming in, negative for stock going out. {@code itemId} is null for movements that
+ * cover several items at once (bulk import).
+ */
+public class StockMovementEvent {
+
+    public static final String RECEIPT = "RECEIPT";
+    public static final String ADJUSTMENT = "ADJUSTMENT";
+    public static final String REMOVAL = "REMOVAL";
+    public static final String SHIPMENT = "SHIPMENT";
+    public static final String SHIPMENT_CANCELLED = "SHIPMENT_CANCELLED";
+    public static final String IMPORT = "IMPORT";
+
+    private final String type;
+    private final String zone;
+    private final Integer spaceId;
+    private final Integer itemId;
+    private final int quantity;
+
+    public StockMovementEvent(String type, String zone, Integer itemId, int quantity) {
+        this(type, zone, null, itemId, quantity);
+    }
+
+    @JsonCreator
+    public StockMovementEvent(@JsonProperty("type") String type, @JsonProperty("zone") String zone,
+                              @JsonProperty("spaceId") Integer spaceId, @JsonProperty("itemId") Integer itemId,
+                              @JsonProperty("quantity") int quantity) {
+        this.type = type;
+        this.zone = zone;
+        this.spaceId = spaceId;
+        this.itemId = itemId;
+        this.quantity = quantity;
+    }
+
+    public String getType() { return type; }
+    public String getZone() { return zone; }
+    public Integer getSpaceId() { return spaceId; }
+    public Integer getItemId() { return itemId; }
+    public int getQuantity() { return quantity; }
+}
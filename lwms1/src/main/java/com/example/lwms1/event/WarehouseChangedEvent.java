@@ -0,0 +1,24 @@
+package com.example.lwms1.event;
+
+/**
+ * Published by the services after a write that can change warehouse-wide figures
+ * (counts, capacity, open maintenance). Listeners that must only see committed
+ * data should subscribe with {@code @TransactionalEventListener}.
+ */
+public class WarehouseChangedEvent {
+
+    public static final String INVENTORY = "INVENTORY";
+    public static final String SHIPMENT = "SHIPMENT";
+    public static final String SPACE = "SPACE";
+    public static final String MAINTENANCE = "MAINTENANCE";
+    public static final String REPORT = "REPORT";
+    public static final String USER = "USER";
+
+    private final String entity;
+
+    public WarehouseChangedEvent(String entity) {
+        this.entity = entity;
+    }
+
+    public String getEntity() { return entity; }
+}
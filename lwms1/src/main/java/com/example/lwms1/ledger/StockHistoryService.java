@@ -0,0 +1,152 @@
+package com.example.lwms1.ledger;
+
+import com.example.lwms1.dto.StockMovementDTO;
+import com.example.lwms1.dto.StockQuantityDTO;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.model.StockMovement;
+import com.example.lwms1.model.StockSnapshot;
+import com.example.lwms1.repository.StockLedgerJdbcRepository;
+import com.example.lwms1.repository.StockMovementRepository;
+import com.example.lwms1.repository.StockSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Point-in-time stock quantities from the ledger. A nightly snapshot stores every item's quantity
+ * at a cutoff; the quantity at any instant is the newest snapshot at or before it plus the
+ * movements in between, so a lookup reads at most one snapshot interval of the ledger however
+ * long the ledger grows.
+ *
+ * Snapshots trail the clock by {@link #SETTLE_WINDOW}: a movement is stamped when it is written
+ * but only becomes visible at commit, and a snapshot must not be taken over movements that are
+ * still to appear before its cutoff.
+ */
+@Service
+public class StockHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockHistoryService.class);
+
+    static final Duration SETTLE_WINDOW = Duration.ofMinutes(5);
+    static final Duration MIN_SNAPSHOT_INTERVAL = Duration.ofHours(12);
+    // Older snapshots are thinned out to the first of each month
+    static final Duration SNAPSHOT_RETENTION = Duration.ofDays(30);
+    public static final int DEFAULT_HISTORY_SIZE = 50;
+    public static final int MAX_HISTORY_SIZE = 500;
+
+    private final StockSnapshotRepository snapshotRepo;
+    private final StockMovementRepository movementRepo;
+    private final StockLedgerJdbcRepository ledgerRepo;
+
+    @Autowired
+    public StockHistoryService(StockSnapshotRepository snapshotRepo, StockMovementRepository movementRepo,
+                               StockLedgerJdbcRepository ledgerRepo) {
+        this.snapshotRepo = snapshotRepo;
+        this.movementRepo = movementRepo;
+        this.ledgerRepo = ledgerRepo;
+    }
+
+    /** Starts the history from the current inventory the first time the application runs with a ledger. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void ensureOpeningSnapshot() {
+        if (snapshotRepo.findFirstByOrderByCutoffDesc().isPresent()) {
+            return;
+        }
+        StockSnapshot opening = snapshotRepo.save(new StockSnapshot(LocalDateTime.now(), true));
+        opening.setItemCount(ledgerRepo.insertOpeningSnapshot(opening.getSnapshotId()));
+        log.info("Opening stock snapshot taken with {} items", opening.getItemCount());
+    }
+
+    @Scheduled(cron = "0 30 2 * * *")
+    @Transactional
+    public void takeSnapshot() {
+        Optional<StockSnapshot> latestOptional = snapshotRepo.findFirstByOrderByCutoffDesc();
+        if (latestOptional.isEmpty()) {
+            return;
+        }
+        StockSnapshot previous = latestOptional.get();
+        LocalDateTime cutoff = LocalDateTime.now().minus(SETTLE_WINDOW);
+        if (cutoff.isBefore(previous.getCutoff().plus(MIN_SNAPSHOT_INTERVAL))) {
+            return;
+        }
+        long start = System.nanoTime();
+        StockSnapshot snapshot = snapshotRepo.save(new StockSnapshot(cutoff, false));
+        snapshot.setItemCount(ledgerRepo.insertRolledSnapshot(snapshot.getSnapshotId(), previous.getSnapshotId(),
+                previous.getCutoff(), cutoff));
+        log.info("Stock snapshot at {} taken with {} items in {} ms", cutoff, snapshot.getItemCount(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        pruneSnapshots(cutoff.minus(SNAPSHOT_RETENTION));
+    }
+
+    private void pruneSnapshots(LocalDateTime before) {
+        Set<YearMonth> kept = new HashSet<>();
+        for (StockSnapshot snapshot : snapshotRepo.findByCutoffBeforeOrderByCutoffAsc(before)) {
+            if (kept.add(YearMonth.from(snapshot.getCutoff()))) {
+                continue;
+            }
+            ledgerRepo.deleteSnapshotItems(snapshot.getSnapshotId());
+            snapshotRepo.delete(snapshot);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public StockQuantityDTO quantityAsOf(Integer itemId, LocalDateTime at) {
+        StockSnapshot snapshot = snapshotAtOrBefore(at);
+        int quantity = ledgerRepo.findSnapshotQuantity(snapshot.getSnapshotId(), itemId)
+                + ledgerRepo.sumDelta(itemId, snapshot.getCutoff(), at);
+        return new StockQuantityDTO(itemId, quantity, at);
+    }
+
+    /** Hands every item that had stock at {@code at} to the sink, in item id order. */
+    @Transactional(readOnly = true)
+    public long exportAsOf(LocalDateTime at, Consumer<StockQuantityDTO> sink) {
+        StockSnapshot snapshot = snapshotAtOrBefore(at);
+        long[] count = {0};
+        ledgerRepo.forEachQuantityAsOf(snapshot.getSnapshotId(), snapshot.getCutoff(), at, (itemId, quantity) -> {
+            sink.accept(new StockQuantityDTO(itemId, quantity, at));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /** Movements of one item, newest first, strictly before {@code before} (now if null). */
+    @Transactional(readOnly = true)
+    public List<StockMovementDTO> history(Integer itemId, LocalDateTime before, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_HISTORY_SIZE : Math.min(size, MAX_HISTORY_SIZE);
+        LocalDateTime upTo = before != null ? before : LocalDateTime.now().plusSeconds(1);
+        List<StockMovementDTO> movements = new ArrayList<>();
+        for (StockMovement movement : movementRepo.findHistory(itemId, upTo, PageRequest.of(0, pageSize))) {
+            movements.add(StockMovementDTO.from(movement));
+        }
+        return movements;
+    }
+
+    private StockSnapshot snapshotAtOrBefore(LocalDateTime at) {
+        Optional<StockSnapshot> snapshotOptional = snapshotRepo.findFirstByCutoffLessThanEqualOrderByCutoffDesc(at);
+        if (snapshotOptional.isPresent()) {
+            return snapshotOptional.get();
+        }
+        Optional<StockSnapshot> first = snapshotRepo.findFirstByOrderByCutoffAsc();
+        if (first.isPresent()) {
+            throw new BusinessException("Stock history starts at " + first.get().getCutoff() + ".");
+        }
+        throw new BusinessException("No stock history has been recorded yet.");
+    }
+}
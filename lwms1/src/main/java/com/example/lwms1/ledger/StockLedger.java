@@ -0,0 +1,54 @@
+package com.example.lwms1.ledger;
+
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.StockMovement;
+import com.example.lwms1.repository.StockLedgerJdbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the stock movement ledger. Every path that changes a quantity publishes a
+ * {@link StockMovementEvent}; the listener runs synchronously, inside the publisher's
+ * transaction, so a movement is committed or rolled back together with the quantity it explains.
+ */
+@Component
+public class StockLedger {
+
+    static final int JDBC_BATCH_SIZE = 1000;
+
+    private final StockLedgerJdbcRepository ledgerRepo;
+
+    @Autowired
+    public StockLedger(StockLedgerJdbcRepository ledgerRepo) {
+        this.ledgerRepo = ledgerRepo;
+    }
+
+    @EventListener
+    public void onStockMovement(StockMovementEvent event) {
+        // Imports are one event per zone; their items are recorded through recordAll
+        if (event.getItemId() == null || event.getQuantity() == 0) {
+            return;
+        }
+        ledgerRepo.insert(new StockMovement(event.getItemId(), event.getSpaceId(), event.getQuantity(),
+                event.getType(), LocalDateTime.now()));
+    }
+
+    /** Records newly stored items, each with its full quantity as the movement. */
+    public void recordAll(List<Inventory> items, String cause) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockMovement> movements = new ArrayList<>(items.size());
+        for (Inventory item : items) {
+            if (item.getQuantity() != null && item.getQuantity() != 0) {
+                movements.add(new StockMovement(item.getItemId(), item.getStorageSpaceId(), item.getQuantity(),
+                        cause, now));
+            }
+        }
+        ledgerRepo.insertAll(movements, JDBC_BATCH_SIZE);
+    }
+}
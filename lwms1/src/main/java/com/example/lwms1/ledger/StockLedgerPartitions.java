@@ -0,0 +1,108 @@
+package com.example.lwms1.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps stock_movement range-partitioned by month on MySQL. JPA has no way to declare
+ * partitioning, so the table Hibernate creates is converted here on first start (the primary key
+ * has to include the partitioning column) and new months are split off the empty catch-all
+ * partition ahead of time. Ledger reads always carry a moved_at range and so only touch the
+ * months they cover. Other databases keep the plain table.
+ */
+@Component
+public class StockLedgerPartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerPartitions.class);
+
+    static final int MONTHS_AHEAD = 3;
+    static final String TABLE = "stock_movement";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StockLedgerPartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 3 * * *")
+    public void maintain() {
+        try {
+            if (!isMySql()) {
+                return;
+            }
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT partition_name FROM information_schema.partitions WHERE table_schema = DATABASE() " +
+                    "AND table_name = ? AND partition_name IS NOT NULL ORDER BY partition_ordinal_position",
+                    String.class, TABLE);
+            YearMonth last = YearMonth.now().plusMonths(MONTHS_AHEAD);
+            if (partitions.isEmpty()) {
+                partitionTable(firstMonth(), last);
+            } else {
+                addMonths(partitions, last);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not maintain {} partitions: {}", TABLE, ex.toString());
+        }
+    }
+
+    private void partitionTable(YearMonth first, YearMonth last) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (movement_id, moved_at)");
+        StringBuilder ddl = new StringBuilder("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(moved_at) (");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            ddl.append(partition(month)).append(", ");
+        }
+        ddl.append("PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+        jdbcTemplate.execute(ddl.toString());
+        log.info("Partitioned {} by month from {} to {}", TABLE, first, last);
+    }
+
+    // Months are split off pmax in order, so each new one starts where the previous one ended
+    private void addMonths(List<String> partitions, YearMonth last) {
+        YearMonth next = YearMonth.now();
+        for (String name : partitions) {
+            if (!"pmax".equals(name)) {
+                YearMonth month = YearMonth.parse(name.substring(1), DateTimeFormatter.ofPattern("yyyyMM"));
+                if (!month.isBefore(next)) {
+                    next = month.plusMonths(1);
+                }
+            }
+        }
+        for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION pmax INTO (" + partition(month)
+                    + ", PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+            log.info("Added partition {} to {}", month.format(PARTITION_NAME), TABLE);
+        }
+    }
+
+    private YearMonth firstMonth() {
+        LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(moved_at) FROM " + TABLE, LocalDateTime.class);
+        return oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+    }
+
+    static String partition(YearMonth month) {
+        LocalDate end = month.plusMonths(1).atDay(1);
+        return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('" + end + " 00:00:00')";
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase().contains("mysql");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.lwms1.metrics;
+
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.outbox.OutboxConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts units moved in and out of each zone ("lwms.stock.units", tagged with zone, direction
+ * and movement type). Fed from the outbox, so only committed movements are counted and the
+ * meter registry is never touched on the request thread.
+ */
+@Component
+public class BusinessMetrics implements OutboxConsumer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "business-metrics";
+    }
+
+    @Override
+    public void handle(List<Object> events) {
+        for (Object event : events) {
+            if (event instanceof StockMovementEvent movement) {
+                onStockMovement(movement);
+            }
+        }
+    }
+
+    public void onStockMovement(StockMovementEvent event) {
+        if (event.getQuantity() == 0) {
+            return;
+        }
+        Counter.builder("lwms.stock.units")
+                .description("Units received into or shipped out of a zone")
+                .tag("zone", event.getZone() != null ? event.getZone() : "none")
+                .tag("direction", event.getQuantity() > 0 ? "in" : "out")
+                .tag("type", event.getType())
+                .register(meterRegistry)
+                .increment(Math.abs(event.getQuantity()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.lwms1.metrics;
+
+import com.example.lwms1.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the @Service beans ("lwms.service.calls", tagged with service,
+ * method and outcome) and counts the BusinessExceptions they throw ("lwms.business.rejections"),
+ * e.g. capacity or maintenance refusals.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.example.lwms1.service..*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint pjp) throws Throwable {
+        String service = pjp.getSignature().getDeclaringType().getSimpleName();
+        String method = pjp.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return pjp.proceed();
+        } catch (BusinessException ex) {
+            outcome = "rejected";
+            Counter.builder("lwms.business.rejections")
+                    .description("Operations refused by a business rule")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .increment();
+            throw ex;
+        } catch (Throwable ex) {
+            outcome = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("lwms.service.calls")
+                    .description("Service method execution time")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -6,12 +6,16 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory", indexes = {
+        @Index(name = "idx_inventory_last_updated", columnList = "last_updated, item_id"),
+        @Index(name = "idx_inventory_category", columnList = "category, item_id"),
+        @Index(name = "idx_inventory_category_space", columnList = "category, space_id")
+})
 public class Inventory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer itemId;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "space_id")
     private Space storageSpace;
 
@@ -51,6 +55,11 @@ public class Inventory {
         this.storageSpace = storageSpace;
     }
 
+    // Reading the id does not initialise a lazy Space proxy
+    public Integer getStorageSpaceId() {
+        return storageSpace != null ? storageSpace.getSpaceId() : null;
+    }
+
     public LocalDateTime getLastUpdated() { return lastUpdated; }
     public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.lwms1.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 public class MaintenanceSchedule {
@@ -16,6 +17,11 @@ public class MaintenanceSchedule {
 
     private LocalDate scheduledDate;
 
+    // Window during which a PENDING task locks the zone; no end means until it is completed
+    private LocalDateTime startsAt;
+
+    private LocalDateTime endsAt;
+
     @Column(length = 50)
     private String completionStatus;
 
@@ -29,6 +35,22 @@ public class MaintenanceSchedule {
     public void setDescription(String description) { this.description = description; }
     public LocalDate getScheduledDate() { return scheduledDate; }
     public void setScheduledDate(LocalDate scheduledDate) { this.scheduledDate = scheduledDate; }
+    public LocalDateTime getStartsAt() { return startsAt; }
+    public void setStartsAt(LocalDateTime startsAt) { this.startsAt = startsAt; }
+    public LocalDateTime getEndsAt() { return endsAt; }
+    public void setEndsAt(LocalDateTime endsAt) { this.endsAt = endsAt; }
     public String getCompletionStatus() { return completionStatus; }
     public void setCompletionStatus(String completionStatus) { this.completionStatus = completionStatus; }
-}
\ No newline at end of file
+
+    /** Start of the lock window; tasks saved before windows existed start with their scheduled date. */
+    public LocalDateTime windowStart() {
+        if (startsAt != null) {
+            return startsAt;
+        }
+        return scheduledDate != null ? scheduledDate.atStartOfDay() : LocalDateTime.MIN;
+    }
+
+    public boolean windowContains(LocalDateTime at) {
+        return !at.isBefore(windowStart()) && (endsAt == null || at.isBefore(endsAt));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event recorded in the same transaction as the change that raised it. The outbox
+ * dispatcher reads rows in id order and hands them to the in-process consumers; each consumer's
+ * progress is kept in {@link OutboxOffset}, and rows every consumer has seen are purged later.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_created", columnList = "created_at")
+})
+public class OutboxEvent {
+
+    public static final int MAX_PAYLOAD = 1024 * 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, length = MAX_PAYLOAD)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(String eventType, String payload, LocalDateTime createdAt) {
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getEventType() { return eventType; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,35 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/** Id of the last outbox event a consumer has handled. */
+@Entity
+@Table(name = "outbox_offset")
+public class OutboxOffset {
+
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public OutboxOffset() {}
+
+    public OutboxOffset(String consumer, long lastEventId) {
+        this.consumer = consumer;
+        this.lastEventId = lastEventId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getConsumer() { return consumer; }
+    public long getLastEventId() { return lastEventId; }
+    public void setLastEventId(long lastEventId) { this.lastEventId = lastEventId; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
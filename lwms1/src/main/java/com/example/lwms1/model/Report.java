@@ -14,9 +14,14 @@ public class Report {
     private String reportType;
     private LocalDateTime generatedOn;
 
+    // Body of reports created before content moved to report_chunks; null for newer reports
     @Column(columnDefinition = "TEXT")
     private String details;
 
+    private Long originalSize;
+    private Long compressedSize;
+    private Integer chunkCount;
+
     public Report() {}
 
     public String getFormattedDate() {
@@ -32,4 +37,10 @@ public class Report {
     public void setGeneratedOn(LocalDateTime generatedOn) { this.generatedOn = generatedOn; }
     public String getDetails() { return details; }
     public void setDetails(String details) { this.details = details; }
+    public Long getOriginalSize() { return originalSize; }
+    public void setOriginalSize(Long originalSize) { this.originalSize = originalSize; }
+    public Long getCompressedSize() { return compressedSize; }
+    public void setCompressedSize(Long compressedSize) { this.compressedSize = compressedSize; }
+    public Integer getChunkCount() { return chunkCount; }
+    public void setChunkCount(Integer chunkCount) { this.chunkCount = chunkCount; }
 }
\ No newline at end of file
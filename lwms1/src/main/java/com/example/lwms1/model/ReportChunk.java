@@ -0,0 +1,45 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One slice of a report's gzip-compressed body. Chunks are read one at a time when a
+ * report is opened, so neither writing nor reading a report holds the whole body in memory.
+ */
+@Entity
+@Table(name = "report_chunks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_report_chunk", columnNames = {"report_id", "chunk_index"}))
+public class ReportChunk {
+
+    public static final int MAX_SIZE = 256 * 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long chunkId;
+
+    @Column(name = "report_id", nullable = false)
+    private Integer reportId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(nullable = false, length = MAX_SIZE)
+    private byte[] data;
+
+    public ReportChunk() {}
+
+    public ReportChunk(Integer reportId, int chunkIndex, byte[] data) {
+        this.reportId = reportId;
+        this.chunkIndex = chunkIndex;
+        this.data = data;
+    }
+
+    public Long getChunkId() { return chunkId; }
+    public void setChunkId(Long chunkId) { this.chunkId = chunkId; }
+    public Integer getReportId() { return reportId; }
+    public void setReportId(Integer reportId) { this.reportId = reportId; }
+    public int getChunkIndex() { return chunkIndex; }
+    public void setChunkIndex(int chunkIndex) { this.chunkIndex = chunkIndex; }
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+}
@@ -6,19 +6,27 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDate;
 
 @Entity
+@Table(name = "shipment", indexes = {
+        // Serves the active and overdue lookups: status IN (...) AND expected_delivery_date < ?
+        @Index(name = "idx_shipment_status_delivery", columnList = "status, expected_delivery_date")
+})
 public class Shipment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer shipmentId;
 
-    @ManyToOne
+    // LAZY so write paths do not drag the item (and its space) along; list pages use
+    // ShipmentRepository.findAllWithInventory instead
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     @OnDelete(action = OnDeleteAction.SET_NULL)
     private Inventory inventory;
 
     private String origin;
     private String destination;
-    private String status;
+    @Convert(converter = ShipmentStatusConverter.class)
+    @Column(length = 20)
+    private ShipmentStatus status;
     private Integer quantity;
 
     @Column(name = "expected_delivery_date")
@@ -35,8 +43,8 @@ public class Shipment {
     public void setOrigin(String origin) { this.origin = origin; }
     public String getDestination() { return destination; }
     public void setDestination(String destination) { this.destination = destination; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public ShipmentStatus getStatus() { return status; }
+    public void setStatus(ShipmentStatus status) { this.status = status; }
     public LocalDate getExpectedDeliveryDate() { return expectedDeliveryDate; }
     public void setExpectedDeliveryDate(LocalDate expectedDeliveryDate) { this.expectedDeliveryDate = expectedDeliveryDate; }
     public Integer getQuantity() { return quantity; }
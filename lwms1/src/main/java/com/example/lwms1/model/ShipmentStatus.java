@@ -0,0 +1,60 @@
+package com.example.lwms1.model;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Shipment lifecycle. A shipment starts PENDING, may go IN_TRANSIT, and ends either DELIVERED
+ * or CANCELLED; the two end states are final.
+ */
+public enum ShipmentStatus {
+    PENDING,
+    IN_TRANSIT,
+    DELIVERED,
+    CANCELLED;
+
+    /** Statuses that still count as open work on the dashboard and the tracking pages. */
+    public static final List<ShipmentStatus> ACTIVE = List.of(PENDING, IN_TRANSIT);
+
+    public boolean isActive() {
+        return ACTIVE.contains(this);
+    }
+
+    public boolean isFinal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
+
+    /** Staying in the same status is allowed, so an edit that only changes other fields passes. */
+    public boolean canTransitionTo(ShipmentStatus next) {
+        return next == this || nextStatuses().contains(next);
+    }
+
+    public Set<ShipmentStatus> nextStatuses() {
+        switch (this) {
+            case PENDING:
+                return EnumSet.of(IN_TRANSIT, DELIVERED, CANCELLED);
+            case IN_TRANSIT:
+                return EnumSet.of(DELIVERED, CANCELLED);
+            default:
+                return EnumSet.noneOf(ShipmentStatus.class);
+        }
+    }
+
+    /**
+     * Parses a status as typed or posted: case-insensitive, with spaces or dashes for the
+     * underscore. Throws IllegalArgumentException for anything else.
+     */
+    public static ShipmentStatus parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Shipment status is required");
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        try {
+            return valueOf(normalized);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown shipment status: " + value);
+        }
+    }
+}
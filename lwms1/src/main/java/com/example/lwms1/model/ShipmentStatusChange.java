@@ -0,0 +1,58 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per status change of a shipment, including the initial status when it is created.
+ * The log is append-only: rows are never updated, and they outlive the shipment they describe.
+ */
+@Entity
+@Immutable
+@Table(name = "shipment_status_log", indexes = {
+        @Index(name = "idx_shipment_status_log_shipment", columnList = "shipment_id, changed_at")
+})
+public class ShipmentStatusChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long changeId;
+
+    @Column(name = "shipment_id", nullable = false, updatable = false)
+    private Integer shipmentId;
+
+    // Null for the entry written when the shipment is created
+    @Convert(converter = ShipmentStatusConverter.class)
+    @Column(name = "from_status", length = 20, updatable = false)
+    private ShipmentStatus fromStatus;
+
+    @Convert(converter = ShipmentStatusConverter.class)
+    @Column(name = "to_status", length = 20, nullable = false, updatable = false)
+    private ShipmentStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "changed_by", length = 100, updatable = false)
+    private String changedBy;
+
+    public ShipmentStatusChange() {}
+
+    public ShipmentStatusChange(Integer shipmentId, ShipmentStatus fromStatus, ShipmentStatus toStatus,
+                                LocalDateTime changedAt, String changedBy) {
+        this.shipmentId = shipmentId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+        this.changedBy = changedBy;
+    }
+
+    public Long getChangeId() { return changeId; }
+    public Integer getShipmentId() { return shipmentId; }
+    public ShipmentStatus getFromStatus() { return fromStatus; }
+    public ShipmentStatus getToStatus() { return toStatus; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public String getChangedBy() { return changedBy; }
+}
@@ -0,0 +1,33 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link ShipmentStatus} by name. The column used to be free text, so rows written
+ * before the lifecycle existed are read leniently: "Pending" or "in transit" map to their
+ * status, the old SHIPPED means IN_TRANSIT, and anything unrecognised is treated as PENDING.
+ */
+@Converter
+public class ShipmentStatusConverter implements AttributeConverter<ShipmentStatus, String> {
+
+    @Override
+    public String convertToDatabaseColumn(ShipmentStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    @Override
+    public ShipmentStatus convertToEntityAttribute(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.trim().equalsIgnoreCase("SHIPPED")) {
+            return ShipmentStatus.IN_TRANSIT;
+        }
+        try {
+            return ShipmentStatus.parse(value);
+        } catch (IllegalArgumentException ex) {
+            return ShipmentStatus.PENDING;
+        }
+    }
+}
@@ -2,8 +2,17 @@
 package com.example.lwms1.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+// Read constantly and changed rarely, so kept in the second-level cache (see ehcache.xml).
+// SpaceRepository.findByZone resolves the zone through the natural-id cache.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "space")
+@NaturalIdCache(region = "space-by-zone")
 public class Space {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer spaceId;
@@ -12,9 +21,14 @@ public class Space {
     private Integer usedCapacity;
     private Integer availableCapacity;
 
+    @NaturalId(mutable = true)
     @Column(length = 50, unique = true)
     private String zone;
 
+    // Bumped by every capacity change, which CapacityLedger applies to the locked entity
+    @Version
+    private long version;
+
     public Space() {}
     public Integer getSpaceId() { return spaceId; }
     public void setSpaceId(Integer spaceId) { this.spaceId = spaceId; }
@@ -26,4 +40,6 @@ public class Space {
     public void setAvailableCapacity(Integer availableCapacity) { this.availableCapacity = availableCapacity; }
     public String getZone() { return zone; }
     public void setZone(String zone) { this.zone = zone; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
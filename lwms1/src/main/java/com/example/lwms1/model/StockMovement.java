@@ -0,0 +1,59 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change of an item's quantity. The ledger is append-only: rows are never updated and
+ * outlive the item, so item and space are plain ids rather than associations. On MySQL the
+ * table is range-partitioned by month on {@code moved_at} (see StockLedgerPartitions).
+ */
+@Entity
+@Immutable
+@Table(name = "stock_movement", indexes = {
+        @Index(name = "idx_stock_movement_item", columnList = "item_id, moved_at"),
+        @Index(name = "idx_stock_movement_moved_at", columnList = "moved_at")
+})
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "movement_id")
+    private Long movementId;
+
+    @Column(name = "item_id", nullable = false, updatable = false)
+    private Integer itemId;
+
+    @Column(name = "space_id", updatable = false)
+    private Integer spaceId;
+
+    // Signed: positive for stock coming in, negative for stock going out
+    @Column(nullable = false, updatable = false)
+    private int delta;
+
+    // One of the StockMovementEvent types
+    @Column(length = 20, nullable = false, updatable = false)
+    private String cause;
+
+    @Column(name = "moved_at", nullable = false, updatable = false)
+    private LocalDateTime movedAt;
+
+    public StockMovement() {}
+
+    public StockMovement(Integer itemId, Integer spaceId, int delta, String cause, LocalDateTime movedAt) {
+        this.itemId = itemId;
+        this.spaceId = spaceId;
+        this.delta = delta;
+        this.cause = cause;
+        this.movedAt = movedAt;
+    }
+
+    public Long getMovementId() { return movementId; }
+    public Integer getItemId() { return itemId; }
+    public Integer getSpaceId() { return spaceId; }
+    public int getDelta() { return delta; }
+    public String getCause() { return cause; }
+    public LocalDateTime getMovedAt() { return movedAt; }
+}
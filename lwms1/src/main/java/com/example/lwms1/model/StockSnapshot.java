@@ -0,0 +1,50 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Header of a stock snapshot: the quantity of every item (in stock_snapshot_item) as of
+ * {@code cutoff}. The first snapshot is taken from the inventory table; each later one is the
+ * previous snapshot plus the ledger movements in between.
+ */
+@Entity
+@Table(name = "stock_snapshot", indexes = {
+        @Index(name = "idx_stock_snapshot_cutoff", columnList = "cutoff")
+})
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    // Covers every movement with moved_at before this instant
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "item_count")
+    private long itemCount;
+
+    @Column(nullable = false)
+    private boolean opening;
+
+    public StockSnapshot() {}
+
+    public StockSnapshot(LocalDateTime cutoff, boolean opening) {
+        this.cutoff = cutoff;
+        this.opening = opening;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getSnapshotId() { return snapshotId; }
+    public LocalDateTime getCutoff() { return cutoff; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public long getItemCount() { return itemCount; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+    public boolean isOpening() { return opening; }
+}
@@ -0,0 +1,60 @@
+package com.example.lwms1.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Quantity of one item in a {@link StockSnapshot}. Items at zero are left out. Rows are
+ * written and read in bulk with plain SQL (StockSnapshotJdbcRepository); the mapping is here
+ * so the table is created with the rest of the schema.
+ */
+@Entity
+@Immutable
+@IdClass(StockSnapshotItem.Key.class)
+@Table(name = "stock_snapshot_item")
+public class StockSnapshotItem {
+
+    @Id
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Id
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    public StockSnapshotItem() {}
+
+    public Long getSnapshotId() { return snapshotId; }
+    public Integer getItemId() { return itemId; }
+    public int getQuantity() { return quantity; }
+
+    public static class Key implements Serializable {
+        private Long snapshotId;
+        private Integer itemId;
+
+        public Key() {}
+
+        public Key(Long snapshotId, Integer itemId) {
+            this.snapshotId = snapshotId;
+            this.itemId = itemId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(snapshotId, key.snapshotId) && Objects.equals(itemId, key.itemId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(snapshotId, itemId);
+        }
+    }
+}
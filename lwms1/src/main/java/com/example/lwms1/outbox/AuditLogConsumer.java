@@ -0,0 +1,39 @@
+package com.example.lwms1.outbox;
+
+import com.example.lwms1.event.ShipmentChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes one line per committed stock movement and shipment change to the "lwms.audit" logger,
+ * which can be routed to its own file or log shipper.
+ */
+@Component
+public class AuditLogConsumer implements OutboxConsumer {
+
+    private static final Logger audit = LoggerFactory.getLogger("lwms.audit");
+
+    @Override
+    public String getConsumerName() {
+        return "audit-log";
+    }
+
+    @Override
+    public void handle(List<Object> events) {
+        if (!audit.isInfoEnabled()) {
+            return;
+        }
+        for (Object event : events) {
+            if (event instanceof StockMovementEvent movement) {
+                audit.info("stock type={} zone={} item={} quantity={}", movement.getType(), movement.getZone(),
+                        movement.getItemId(), movement.getQuantity());
+            } else if (event instanceof ShipmentChangedEvent change) {
+                audit.info("shipment {} ids={}", change.isDeleted() ? "deleted" : "changed", change.getShipmentIds());
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.lwms1.outbox;
+
+import java.util.List;
+
+/**
+ * An in-process listener fed from the transactional outbox. Events arrive in commit order, in
+ * batches, on the dispatcher thread instead of the request thread, so a slow consumer only
+ * delays itself.
+ *
+ * The batch is handled inside the transaction that advances the consumer's offset: database
+ * work done by the consumer commits together with the offset, while anything else is delivered
+ * at least once and should tolerate seeing an event again after a failure.
+ */
+public interface OutboxConsumer {
+
+    /** Stable name the consumer's progress is stored under. */
+    String getConsumerName();
+
+    /** The events are instances of the classes listed in {@link OutboxWriter#EVENT_TYPES}. */
+    void handle(List<Object> events);
+}
@@ -0,0 +1,157 @@
+package com.example.lwms1.outbox;
+
+import com.example.lwms1.model.OutboxEvent;
+import com.example.lwms1.model.OutboxOffset;
+import com.example.lwms1.repository.OutboxEventRepository;
+import com.example.lwms1.repository.OutboxOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers outbox events to every {@link OutboxConsumer} in batches of {@link #BATCH_SIZE}.
+ * Each consumer has its own offset: a consumer that fails keeps its offset and gets the same
+ * batch on the next poll, without holding back the others. A consumer seen for the first time
+ * starts at the newest event rather than replaying history.
+ *
+ * Ids are handed out at insert time but become visible at commit, so a gap in the ids may be a
+ * transaction that has not committed yet. Delivery stops in front of a gap until it has been
+ * open for {@link #GAP_TIMEOUT}, after which it is taken to be a rollback and skipped.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    static final int BATCH_SIZE = 200;
+    static final int MAX_BATCHES_PER_POLL = 10;
+    static final long POLL_INTERVAL_MILLIS = 250;
+    static final long PURGE_INTERVAL_MILLIS = 10 * 60 * 1000;
+    static final Duration RETENTION = Duration.ofDays(1);
+    static final Duration GAP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final OutboxEventRepository eventRepo;
+    private final OutboxOffsetRepository offsetRepo;
+    private final OutboxWriter outboxWriter;
+    private final List<OutboxConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    // First missing id of a gap -> System.nanoTime() when the gap was first seen
+    private final Map<Long, Long> gapsFirstSeen = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository eventRepo, OutboxOffsetRepository offsetRepo,
+                            OutboxWriter outboxWriter, List<OutboxConsumer> consumers,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.eventRepo = eventRepo;
+        this.offsetRepo = offsetRepo;
+        this.outboxWriter = outboxWriter;
+        this.consumers = consumers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelay = POLL_INTERVAL_MILLIS)
+    public void dispatch() {
+        for (OutboxConsumer consumer : consumers) {
+            try {
+                for (int i = 0; i < MAX_BATCHES_PER_POLL; i++) {
+                    if (deliverBatch(consumer) < BATCH_SIZE) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException ex) {
+                Counter.builder("lwms.outbox.failures")
+                        .description("Outbox batches a consumer failed to handle")
+                        .tag("consumer", consumer.getConsumerName())
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("Outbox consumer {} failed, will retry: {}", consumer.getConsumerName(), ex.toString());
+            }
+        }
+    }
+
+    /** Hands the consumer its next batch and moves its offset past it; returns the batch size. */
+    int deliverBatch(OutboxConsumer consumer) {
+        Integer delivered = transactionTemplate.execute(status -> {
+            OutboxOffset offset = lockOffset(consumer.getConsumerName());
+            List<OutboxEvent> rows = upToOpenGap(offset.getLastEventId(),
+                    eventRepo.findAfter(offset.getLastEventId(), PageRequest.of(0, BATCH_SIZE)));
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            List<Object> events = new ArrayList<>(rows.size());
+            for (OutboxEvent row : rows) {
+                events.add(outboxWriter.read(row));
+            }
+            consumer.handle(events);
+
+            offset.setLastEventId(rows.get(rows.size() - 1).getId());
+            offset.setUpdatedAt(LocalDateTime.now());
+            return rows.size();
+        });
+        int count = delivered != null ? delivered : 0;
+        if (count > 0) {
+            Counter.builder("lwms.outbox.delivered")
+                    .description("Outbox events handed to a consumer")
+                    .tag("consumer", consumer.getConsumerName())
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+        return count;
+    }
+
+    private List<OutboxEvent> upToOpenGap(long lastEventId, List<OutboxEvent> rows) {
+        long expected = lastEventId + 1;
+        for (int i = 0; i < rows.size(); i++) {
+            long id = rows.get(i).getId();
+            if (id != expected && !gapExpired(expected)) {
+                return rows.subList(0, i);
+            }
+            expected = id + 1;
+        }
+        return rows;
+    }
+
+    private boolean gapExpired(long missingId) {
+        long now = System.nanoTime();
+        long firstSeen = gapsFirstSeen.computeIfAbsent(missingId, id -> now);
+        return now - firstSeen >= GAP_TIMEOUT.toNanos();
+    }
+
+    /** Drops events that every consumer has handled once they are older than {@link #RETENTION}. */
+    @Scheduled(fixedDelay = PURGE_INTERVAL_MILLIS, initialDelay = PURGE_INTERVAL_MILLIS)
+    public void purgeDelivered() {
+        long now = System.nanoTime();
+        gapsFirstSeen.values().removeIf(firstSeen -> now - firstSeen > PURGE_INTERVAL_MILLIS * 1_000_000);
+        transactionTemplate.executeWithoutResult(status -> {
+            Long upToId = offsetRepo.findMinLastEventId();
+            if (upToId != null && upToId > 0) {
+                eventRepo.deleteDelivered(upToId, LocalDateTime.now().minus(RETENTION));
+            }
+        });
+    }
+
+    private OutboxOffset lockOffset(String consumer) {
+        Optional<OutboxOffset> offsetOptional = offsetRepo.lockByConsumer(consumer);
+        if (offsetOptional.isPresent()) {
+            return offsetOptional.get();
+        }
+        return offsetRepo.save(new OutboxOffset(consumer, eventRepo.findMaxId()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.lwms1.outbox;
+
+import com.example.lwms1.event.InventoryChangedEvent;
+import com.example.lwms1.event.ShipmentChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.model.OutboxEvent;
+import com.example.lwms1.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Copies inventory and shipment domain events into the outbox table. It listens synchronously,
+ * so the row is inserted in the transaction of the service that published the event and is
+ * rolled back with it.
+ */
+@Component
+public class OutboxWriter {
+
+    public static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            "StockMovement", StockMovementEvent.class,
+            "ShipmentChanged", ShipmentChangedEvent.class,
+            "InventoryChanged", InventoryChangedEvent.class);
+
+    private final OutboxEventRepository outboxRepo;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxWriter(OutboxEventRepository outboxRepo, ObjectMapper objectMapper) {
+        this.outboxRepo = outboxRepo;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onStockMovement(StockMovementEvent event) {
+        append("StockMovement", event);
+    }
+
+    @EventListener
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        append("ShipmentChanged", event);
+    }
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        append("InventoryChanged", event);
+    }
+
+    public Object read(OutboxEvent row) {
+        Class<?> type = EVENT_TYPES.get(row.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type " + row.getEventType() + " (#" + row.getId() + ")");
+        }
+        try {
+            return objectMapper.readValue(row.getPayload(), type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable outbox event #" + row.getId(), ex);
+        }
+    }
+
+    private void append(String type, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialise " + type + " event", ex);
+        }
+        outboxRepo.save(new OutboxEvent(type, payload, LocalDateTime.now()));
+    }
+}
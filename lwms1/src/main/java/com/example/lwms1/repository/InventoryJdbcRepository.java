@@ -0,0 +1,75 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.Inventory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC writes for bulk inventory loads. Inventory ids come from an IDENTITY column,
+ * which makes Hibernate insert rows one statement at a time, so bulk inserts go through
+ * JdbcTemplate.batchUpdate instead (rewritten into multi-row INSERTs by the MySQL driver).
+ */
+@Repository
+public class InventoryJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory (item_name, category, quantity, location, space_id, last_updated) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public InventoryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Inserts the items in JDBC batches and sets the generated ids on them. */
+    public void insertAll(List<Inventory> items, int batchSize) {
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<Inventory> batch = items.subList(from, Math.min(items.size(), from + batchSize));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Inventory item = batch.get(i);
+                            ps.setString(1, item.getItemName());
+                            ps.setString(2, item.getCategory());
+                            ps.setInt(3, item.getQuantity());
+                            ps.setString(4, item.getLocation());
+                            if (item.getStorageSpace() != null) {
+                                ps.setInt(5, item.getStorageSpace().getSpaceId());
+                            } else {
+                                ps.setNull(5, Types.INTEGER);
+                            }
+                            ps.setTimestamp(6, Timestamp.valueOf(item.getLastUpdated()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keys);
+            List<Map<String, Object>> generated = new ArrayList<>(keys.getKeyList());
+            for (int i = 0; i < batch.size() && i < generated.size(); i++) {
+                Object id = generated.get(i).values().iterator().next();
+                batch.get(i).setItemId(((Number) id).intValue());
+            }
+        }
+    }
+}
@@ -1,12 +1,99 @@
 package com.example.lwms1.repository;
 
+import com.example.lwms1.dto.InventorySearchHitDTO;
+import com.example.lwms1.dto.InventoryVersionDTO;
 import com.example.lwms1.model.Inventory;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
     Optional<Inventory> findById(Integer itemId);
-}
\ No newline at end of file
+
+    // Keyset (seek) pagination: the Pageable only carries the limit, the cursor is the last row of the previous page.
+    @Query("SELECT i FROM Inventory i ORDER BY i.itemId ASC")
+    List<Inventory> findFirstPageById(Pageable limit);
+
+    @Query("SELECT i FROM Inventory i WHERE i.itemId > :afterId ORDER BY i.itemId ASC")
+    List<Inventory> findPageAfterId(@Param("afterId") Integer afterId, Pageable limit);
+
+    // Rows never stamped come last, then seek on itemId among themselves
+    @Query("SELECT i FROM Inventory i ORDER BY i.lastUpdated DESC NULLS LAST, i.itemId DESC")
+    List<Inventory> findFirstPageByLastUpdated(Pageable limit);
+
+    @Query("SELECT i FROM Inventory i WHERE i.lastUpdated < :lastUpdated " +
+            "OR (i.lastUpdated = :lastUpdated AND i.itemId < :afterId) OR i.lastUpdated IS NULL " +
+            "ORDER BY i.lastUpdated DESC NULLS LAST, i.itemId DESC")
+    List<Inventory> findPageAfterLastUpdated(@Param("lastUpdated") LocalDateTime lastUpdated,
+                                             @Param("afterId") Integer afterId,
+                                             Pageable limit);
+
+    @Query("SELECT i FROM Inventory i WHERE i.lastUpdated IS NULL AND i.itemId < :afterId ORDER BY i.itemId DESC")
+    List<Inventory> findPageAfterNullLastUpdated(@Param("afterId") Integer afterId, Pageable limit);
+
+    // Uncategorised rows come first, then the categories in order
+    @Query("SELECT i FROM Inventory i ORDER BY i.category ASC NULLS FIRST, i.itemId ASC")
+    List<Inventory> findFirstPageByCategory(Pageable limit);
+
+    @Query("SELECT i FROM Inventory i WHERE i.category > :category " +
+            "OR (i.category = :category AND i.itemId > :afterId) " +
+            "ORDER BY i.category ASC, i.itemId ASC")
+    List<Inventory> findPageAfterCategory(@Param("category") String category,
+                                          @Param("afterId") Integer afterId,
+                                          Pageable limit);
+
+    @Query("SELECT i FROM Inventory i WHERE (i.category IS NULL AND i.itemId > :afterId) OR i.category IS NOT NULL " +
+            "ORDER BY i.category ASC NULLS FIRST, i.itemId ASC")
+    List<Inventory> findPageAfterNullCategory(@Param("afterId") Integer afterId, Pageable limit);
+
+    @Query("SELECT DISTINCT i.storageSpace.spaceId FROM Inventory i WHERE i.itemId IN :ids AND i.storageSpace IS NOT NULL")
+    List<Integer> findSpaceIdsByItemIds(@Param("ids") Collection<Integer> ids);
+
+    // Zones already holding a category, for putaway affinity; answered from idx_inventory_category_space
+    @Query("SELECT DISTINCT i.storageSpace.spaceId FROM Inventory i WHERE i.category = :category AND i.storageSpace IS NOT NULL")
+    List<Integer> findSpaceIdsByCategory(@Param("category") String category);
+
+    // SELECT ... FOR UPDATE in primary key order, so concurrent batches lock rows in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.itemId IN :ids ORDER BY i.itemId")
+    List<Inventory> lockAllByIdInOrder(@Param("ids") Collection<Integer> ids);
+
+    // Single-item variant of lockAllByIdInOrder for the one-shipment paths
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.itemId = :id")
+    Optional<Inventory> lockById(@Param("id") Integer id);
+
+    @Query("SELECT new com.example.lwms1.dto.InventoryVersionDTO(COUNT(i), MAX(i.lastUpdated)) FROM Inventory i")
+    InventoryVersionDTO findVersion();
+
+    // Streamed in fetch-size chunks for report generation; must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT i FROM Inventory i LEFT JOIN FETCH i.storageSpace ORDER BY i.itemId")
+    Stream<Inventory> streamAll();
+
+    // Search index feed: only the indexed columns, streamed so a rebuild never holds every entity at once
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.example.lwms1.dto.InventorySearchHitDTO(i.itemId, i.itemName, i.category, i.location) " +
+            "FROM Inventory i ORDER BY i.itemId")
+    Stream<InventorySearchHitDTO> streamSearchDocs();
+
+    @Query("SELECT new com.example.lwms1.dto.InventorySearchHitDTO(i.itemId, i.itemName, i.category, i.location) " +
+            "FROM Inventory i WHERE i.itemId IN :ids")
+    List<InventorySearchHitDTO> findSearchDocsByIdIn(@Param("ids") Collection<Integer> ids);
+}
@@ -1,13 +1,27 @@
 package com.example.lwms1.repository;
 
 import com.example.lwms1.model.MaintenanceSchedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface MaintenanceScheduleRepository extends JpaRepository<MaintenanceSchedule, Integer> {
 
     boolean existsByEquipmentIdAndCompletionStatusIgnoreCase(Integer equipmentId, String status);
 
     long countByCompletionStatusIgnoreCase(String status);
-}
\ No newline at end of file
+
+    List<MaintenanceSchedule> findByCompletionStatusIgnoreCase(String status);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT m FROM MaintenanceSchedule m ORDER BY m.scheduleId")
+    Stream<MaintenanceSchedule> streamAll();
+}
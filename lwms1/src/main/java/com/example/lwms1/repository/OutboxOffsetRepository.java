@@ -0,0 +1,21 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.OutboxOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+
+    // Held while the batch is handled, so two dispatchers never deliver the same batch
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OutboxOffset o WHERE o.consumer = :consumer")
+    Optional<OutboxOffset> lockByConsumer(@Param("consumer") String consumer);
+
+    @Query("SELECT MIN(o.lastEventId) FROM OutboxOffset o")
+    Long findMinLastEventId();
+}
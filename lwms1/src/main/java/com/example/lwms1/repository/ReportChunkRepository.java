@@ -0,0 +1,22 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.ReportChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ReportChunkRepository extends JpaRepository<ReportChunk, Long> {
+
+    Optional<ReportChunk> findByReportIdAndChunkIndex(Integer reportId, int chunkIndex);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ReportChunk c WHERE c.reportId = :reportId")
+    int deleteByReportId(@Param("reportId") Integer reportId);
+}
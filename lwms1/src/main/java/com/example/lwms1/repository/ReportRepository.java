@@ -1,9 +1,17 @@
 package com.example.lwms1.repository;
 
+import com.example.lwms1.dto.ReportSummaryDTO;
 import com.example.lwms1.model.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Integer> {
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.lwms1.dto.ReportSummaryDTO(r.reportId, r.reportType, r.generatedOn, " +
+            "r.originalSize, r.compressedSize) FROM Report r ORDER BY r.reportId")
+    List<ReportSummaryDTO> findAllSummaries();
+}
@@ -0,0 +1,86 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.Shipment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC inserts for batch shipment creation, for the same reason as
+ * {@link InventoryJdbcRepository}: IDENTITY ids stop Hibernate from batching inserts.
+ */
+@Repository
+public class ShipmentJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO shipment (item_id, quantity, origin, destination, status, expected_delivery_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LOG_SQL =
+            "INSERT INTO shipment_status_log (shipment_id, from_status, to_status, changed_at, changed_by) " +
+            "VALUES (?, NULL, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ShipmentJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Inserts the shipments in JDBC batches and sets the generated ids on them. */
+    public void insertAll(List<Shipment> shipments, int batchSize) {
+        for (int from = 0; from < shipments.size(); from += batchSize) {
+            List<Shipment> batch = shipments.subList(from, Math.min(shipments.size(), from + batchSize));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Shipment s = batch.get(i);
+                            ps.setInt(1, s.getInventory().getItemId());
+                            ps.setInt(2, s.getQuantity());
+                            ps.setString(3, s.getOrigin());
+                            ps.setString(4, s.getDestination());
+                            ps.setString(5, s.getStatus().name());
+                            ps.setDate(6, Date.valueOf(s.getExpectedDeliveryDate()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keys);
+            List<Map<String, Object>> generated = new ArrayList<>(keys.getKeyList());
+            for (int i = 0; i < batch.size() && i < generated.size(); i++) {
+                Object id = generated.get(i).values().iterator().next();
+                batch.get(i).setShipmentId(((Number) id).intValue());
+            }
+        }
+    }
+
+    /** Writes the initial status-log entry of shipments inserted by {@link #insertAll}. */
+    public void insertInitialStatusLog(List<Shipment> shipments, LocalDateTime changedAt, String changedBy,
+                                       int batchSize) {
+        Timestamp timestamp = Timestamp.valueOf(changedAt);
+        jdbcTemplate.batchUpdate(INSERT_LOG_SQL, shipments, batchSize, (ps, s) -> {
+            ps.setInt(1, s.getShipmentId());
+            ps.setString(2, s.getStatus().name());
+            ps.setTimestamp(3, timestamp);
+            ps.setString(4, changedBy);
+        });
+    }
+}
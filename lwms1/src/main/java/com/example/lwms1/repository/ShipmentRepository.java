@@ -1,6 +1,59 @@
-
 package com.example.lwms1.repository;
 
 import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.ShipmentStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-public interface ShipmentRepository extends JpaRepository<Shipment, Integer> {}
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ShipmentRepository extends JpaRepository<Shipment, Integer> {
+
+    // Read model for the shipment lists, which show the item name of every row
+    @Query("SELECT s FROM Shipment s LEFT JOIN FETCH s.inventory ORDER BY s.shipmentId")
+    List<Shipment> findAllWithInventory();
+
+    @Query("SELECT s FROM Shipment s LEFT JOIN FETCH s.inventory WHERE s.shipmentId > :afterId ORDER BY s.shipmentId")
+    List<Shipment> findPageAfterId(@Param("afterId") Integer afterId, Pageable limit);
+
+    @Query("SELECT s FROM Shipment s LEFT JOIN FETCH s.inventory WHERE s.shipmentId IN :ids")
+    List<Shipment> findAllWithInventoryByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Just the item id, so the item can be locked before the shipment row without loading the shipment first
+    @Query("SELECT s.inventory.itemId FROM Shipment s WHERE s.shipmentId = :id")
+    Optional<Integer> findItemIdById(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Shipment s WHERE s.shipmentId = :id")
+    Optional<Shipment> lockById(@Param("id") Integer id);
+
+    // The active/overdue lookups below are served by idx_shipment_status_delivery
+    long countByStatusIn(Collection<ShipmentStatus> statuses);
+
+    long countByStatusInAndExpectedDeliveryDateBefore(Collection<ShipmentStatus> statuses, LocalDate date);
+
+    @Query("SELECT s FROM Shipment s LEFT JOIN FETCH s.inventory WHERE s.status IN :statuses " +
+            "ORDER BY s.expectedDeliveryDate, s.shipmentId")
+    List<Shipment> findByStatusInWithInventory(@Param("statuses") Collection<ShipmentStatus> statuses);
+
+    @Query("SELECT s FROM Shipment s LEFT JOIN FETCH s.inventory WHERE s.status IN :statuses " +
+            "AND s.expectedDeliveryDate < :today ORDER BY s.expectedDeliveryDate, s.shipmentId")
+    List<Shipment> findOverdueWithInventory(@Param("statuses") Collection<ShipmentStatus> statuses,
+                                            @Param("today") LocalDate today);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Shipment s LEFT JOIN FETCH s.inventory i LEFT JOIN FETCH i.storageSpace ORDER BY s.shipmentId")
+    Stream<Shipment> streamAll();
+}
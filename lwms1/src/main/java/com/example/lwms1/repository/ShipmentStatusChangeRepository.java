@@ -0,0 +1,11 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.ShipmentStatusChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ShipmentStatusChangeRepository extends JpaRepository<ShipmentStatusChange, Long> {
+
+    List<ShipmentStatusChange> findByShipmentIdOrderByChangedAtAscChangeIdAsc(Integer shipmentId);
+}
@@ -1,9 +1,35 @@
 package com.example.lwms1.repository;
 
+import com.example.lwms1.dto.CapacityTotalsDTO;
 import com.example.lwms1.model.Space;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.Optional;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface SpaceRepository extends JpaRepository<Space, Integer> {
-    Optional<Space> findByZone(String zone);
-}
\ No newline at end of file
+public interface SpaceRepository extends JpaRepository<Space, Integer>, SpaceRepositoryCustom {
+
+    // Served from the query cache until a Space row changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Space> findAll();
+
+    @Query("SELECT new com.example.lwms1.dto.CapacityTotalsDTO(SUM(s.usedCapacity), SUM(s.totalCapacity)) FROM Space s")
+    CapacityTotalsDTO sumCapacity();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Space s WHERE s.spaceId IN :ids ORDER BY s.spaceId")
+    List<Space> lockAllByIdInOrder(@Param("ids") Collection<Integer> ids);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM Space s ORDER BY s.spaceId")
+    Stream<Space> streamAll();
+}
@@ -0,0 +1,19 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.Space;
+import java.util.Optional;
+
+public interface SpaceRepositoryCustom {
+
+    /** Looks the zone up through the natural-id cache, so repeated lookups do not hit the database. */
+    Optional<Space> findByZone(String zone);
+
+    /**
+     * Reads the space with SELECT ... FOR UPDATE and returns the managed entity, refreshed if the
+     * persistence context already held an unlocked copy. Must run inside a transaction.
+     */
+    Optional<Space> lockById(Integer spaceId);
+
+    /** Drops the space and all cached Space query results from the second-level cache. */
+    void evictFromCache(Integer spaceId);
+}
@@ -0,0 +1,52 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.Space;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class SpaceRepositoryImpl implements SpaceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The Session is only open inside a transaction; callers outside one (schedulers, seeding) get their own
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Space> findByZone(String zone) {
+        if (zone == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Space.class)
+                .loadOptional(zone);
+    }
+
+    @Override
+    public Optional<Space> lockById(Integer spaceId) {
+        Space space = entityManager.find(Space.class, spaceId);
+        if (space == null) {
+            return Optional.empty();
+        }
+        // A plain find may be served from the cache or an older read in this session, so re-read the
+        // row under the lock. Once this transaction holds it the entity is current, and a second
+        // refresh would throw away changes not flushed yet.
+        if (entityManager.getLockMode(space) != LockModeType.PESSIMISTIC_WRITE) {
+            entityManager.refresh(space, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return Optional.of(space);
+    }
+
+    @Override
+    public void evictFromCache(Integer spaceId) {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Space.class, spaceId);
+        sessionFactory.getCache().evictNaturalIdData(Space.class);
+        sessionFactory.getCache().evictDefaultQueryRegion();
+    }
+}
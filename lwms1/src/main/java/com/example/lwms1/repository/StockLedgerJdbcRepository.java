@@ -0,0 +1,135 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.StockMovement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Plain SQL over the stock ledger. Movements are only ever inserted, and snapshots are built
+ * and read as set operations in the database: a snapshot is the previous one plus the movements
+ * since, so no statement here ever has to read more of the ledger than one snapshot interval.
+ * Every ledger read is bounded by a {@code moved_at} range, which lets MySQL prune partitions.
+ */
+@Repository
+public class StockLedgerJdbcRepository {
+
+    private static final String INSERT_MOVEMENT_SQL =
+            "INSERT INTO stock_movement (item_id, space_id, delta, cause, moved_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OPENING_SQL =
+            "INSERT INTO stock_snapshot_item (snapshot_id, item_id, quantity) " +
+            "SELECT ?, item_id, quantity FROM inventory WHERE quantity <> 0";
+
+    // The previous snapshot rolled forward by the movements in [previous cutoff, cutoff)
+    private static final String INSERT_ROLLED_SQL =
+            "INSERT INTO stock_snapshot_item (snapshot_id, item_id, quantity) " +
+            "SELECT ?, t.item_id, SUM(t.quantity) FROM (" +
+            " SELECT item_id, quantity FROM stock_snapshot_item WHERE snapshot_id = ?" +
+            " UNION ALL" +
+            " SELECT item_id, delta AS quantity FROM stock_movement WHERE moved_at >= ? AND moved_at < ?" +
+            ") t GROUP BY t.item_id HAVING SUM(t.quantity) <> 0";
+
+    // Same shape, but inclusive of {@code at} and read rather than stored
+    private static final String SELECT_AS_OF_SQL =
+            "SELECT t.item_id, SUM(t.quantity) FROM (" +
+            " SELECT item_id, quantity FROM stock_snapshot_item WHERE snapshot_id = ?" +
+            " UNION ALL" +
+            " SELECT item_id, delta AS quantity FROM stock_movement WHERE moved_at >= ? AND moved_at <= ?" +
+            ") t GROUP BY t.item_id HAVING SUM(t.quantity) <> 0 ORDER BY t.item_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StockLedgerJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(StockMovement movement) {
+        jdbcTemplate.update(INSERT_MOVEMENT_SQL, ps -> setMovement(ps, movement));
+    }
+
+    public void insertAll(List<StockMovement> movements, int batchSize) {
+        for (int from = 0; from < movements.size(); from += batchSize) {
+            List<StockMovement> batch = movements.subList(from, Math.min(movements.size(), from + batchSize));
+            jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setMovement(ps, batch.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        }
+    }
+
+    /** Fills an opening snapshot from the current inventory quantities; returns the row count. */
+    public int insertOpeningSnapshot(long snapshotId) {
+        return jdbcTemplate.update(INSERT_OPENING_SQL, snapshotId);
+    }
+
+    /** Fills {@code snapshotId} from {@code previousId} and the movements between the two cutoffs. */
+    public int insertRolledSnapshot(long snapshotId, long previousId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update(INSERT_ROLLED_SQL, snapshotId, previousId, Timestamp.valueOf(from),
+                Timestamp.valueOf(to));
+    }
+
+    public int deleteSnapshotItems(long snapshotId) {
+        return jdbcTemplate.update("DELETE FROM stock_snapshot_item WHERE snapshot_id = ?", snapshotId);
+    }
+
+    public int findSnapshotQuantity(long snapshotId, int itemId) {
+        List<Integer> quantity = jdbcTemplate.queryForList(
+                "SELECT quantity FROM stock_snapshot_item WHERE snapshot_id = ? AND item_id = ?",
+                Integer.class, snapshotId, itemId);
+        return quantity.isEmpty() ? 0 : quantity.get(0);
+    }
+
+    /** Net movement of one item with {@code from <= moved_at <= to}. */
+    public int sumDelta(int itemId, LocalDateTime from, LocalDateTime to) {
+        Integer sum = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(delta), 0) FROM stock_movement WHERE item_id = ? AND moved_at >= ? AND moved_at <= ?",
+                Integer.class, itemId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return sum != null ? sum : 0;
+    }
+
+    /**
+     * Streams (item id, quantity) for every item with stock at {@code at}, in item id order, from
+     * the snapshot taken at {@code cutoff} plus the movements after it.
+     */
+    public void forEachQuantityAsOf(long snapshotId, LocalDateTime cutoff, LocalDateTime at, ObjIntConsumer<Integer> sink) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_AS_OF_SQL);
+            ps.setFetchSize(1000);
+            ps.setLong(1, snapshotId);
+            ps.setTimestamp(2, Timestamp.valueOf(cutoff));
+            ps.setTimestamp(3, Timestamp.valueOf(at));
+            return ps;
+        }, (RowCallbackHandler) rs -> sink.accept(rs.getInt(1), rs.getInt(2)));
+    }
+
+    private static void setMovement(PreparedStatement ps, StockMovement movement) throws SQLException {
+        ps.setInt(1, movement.getItemId());
+        if (movement.getSpaceId() != null) {
+            ps.setInt(2, movement.getSpaceId());
+        } else {
+            ps.setNull(2, Types.INTEGER);
+        }
+        ps.setInt(3, movement.getDelta());
+        ps.setString(4, movement.getCause());
+        ps.setTimestamp(5, Timestamp.valueOf(movement.getMovedAt()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    // Newest first, one item at a time: served by idx_stock_movement_item
+    @Query("SELECT m FROM StockMovement m WHERE m.itemId = :itemId AND m.movedAt < :before " +
+           "ORDER BY m.movedAt DESC, m.movementId DESC")
+    List<StockMovement> findHistory(@Param("itemId") Integer itemId, @Param("before") LocalDateTime before,
+                                    Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.example.lwms1.repository;
+
+import com.example.lwms1.model.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    // The snapshot an as-of query starts from
+    Optional<StockSnapshot> findFirstByCutoffLessThanEqualOrderByCutoffDesc(LocalDateTime at);
+
+    Optional<StockSnapshot> findFirstByOrderByCutoffDesc();
+
+    Optional<StockSnapshot> findFirstByOrderByCutoffAsc();
+
+    List<StockSnapshot> findByCutoffBeforeOrderByCutoffAsc(LocalDateTime before);
+}
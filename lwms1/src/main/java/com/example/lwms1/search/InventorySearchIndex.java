@@ -0,0 +1,367 @@
+package com.example.lwms1.search;
+
+import com.example.lwms1.dto.InventorySearchHitDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory prefix index over the name, category and location of inventory items. Every word
+ * of a query is matched as the start of a word in one of those fields, case-insensitively, so
+ * "lap ele" finds "Laptop 14in" in "Electronics".
+ *
+ * Most items sit in an immutable {@link Segment}: a sorted term dictionary whose postings point
+ * into an id-ordered document array, so all terms sharing a prefix form one contiguous range.
+ * Later changes go to a small overlay and mask the segment copy of the item; once the overlay
+ * passes {@link #COMPACT_THRESHOLD} entries it is merged into a new segment. Readers work on
+ * whatever {@link State} is current without locking; writers are serialised and publish a new
+ * state when they are done.
+ */
+public class InventorySearchIndex {
+
+    static final int COMPACT_THRESHOLD = 5000;
+    // Upper bound on postings looked at per query, so a one-letter query on a huge index stays cheap
+    static final int MAX_CANDIDATES = 100_000;
+
+    private static final Comparator<InventorySearchHitDTO> BY_ID =
+            Comparator.comparing(InventorySearchHitDTO::getItemId);
+
+    private volatile State state = new State(Segment.build(new ArrayList<>()), Map.of(), Set.of());
+
+    /** Replaces the whole index with the given items. */
+    public synchronized void replaceAll(Iterator<InventorySearchHitDTO> docs) {
+        List<InventorySearchHitDTO> all = new ArrayList<>();
+        docs.forEachRemaining(all::add);
+        state = new State(Segment.build(all), Map.of(), Set.of());
+    }
+
+    /** Adds or replaces the given items and drops the removed ids. */
+    public synchronized void apply(Collection<InventorySearchHitDTO> upserts, Collection<Integer> removedIds) {
+        State current = state;
+        Segment segment = current.segment();
+        Map<Integer, InventorySearchHitDTO> overlay = new HashMap<>(current.overlay());
+        Set<Integer> masked = new HashSet<>(current.masked());
+
+        for (Integer id : removedIds) {
+            overlay.remove(id);
+            if (segment.contains(id)) {
+                masked.add(id);
+            }
+        }
+        for (InventorySearchHitDTO doc : upserts) {
+            overlay.put(doc.getItemId(), doc);
+            if (segment.contains(doc.getItemId())) {
+                masked.add(doc.getItemId());
+            }
+        }
+
+        if (overlay.size() + masked.size() > COMPACT_THRESHOLD) {
+            List<InventorySearchHitDTO> docs = new ArrayList<>(segment.size() + overlay.size());
+            for (InventorySearchHitDTO doc : segment.docs) {
+                if (!masked.contains(doc.getItemId())) {
+                    docs.add(doc);
+                }
+            }
+            docs.addAll(overlay.values());
+            state = new State(Segment.build(docs), Map.of(), Set.of());
+        } else {
+            state = new State(segment, overlay, masked);
+        }
+    }
+
+    /**
+     * Items matching every word of the query, ordered by the matched word of the most selective
+     * query word and then by item id.
+     */
+    public List<InventorySearchHitDTO> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+        Segment segment = current.segment();
+
+        // Walk the postings of the rarest prefix and check the other words on each candidate
+        int[][] ranges = new int[tokens.size()][];
+        int driver = 0;
+        for (int t = 0; t < tokens.size(); t++) {
+            ranges[t] = segment.termRange(tokens.get(t));
+            if (segment.postingCount(ranges[t]) < segment.postingCount(ranges[driver])) {
+                driver = t;
+            }
+        }
+        int[] driverRange = ranges[driver];
+        // Words that are not too common are checked against a bitmap of their documents,
+        // which saves reading the text of candidates that cannot match
+        BitSet[] filters = new BitSet[tokens.size()];
+        for (int t = 0; t < tokens.size(); t++) {
+            if (t != driver && driverRange[0] < driverRange[1]
+                    && segment.postingCount(ranges[t]) <= MAX_CANDIDATES) {
+                filters[t] = segment.documentsIn(ranges[t]);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        Set<Integer> taken = new HashSet<>();
+        int scanned = 0;
+        walk:
+        for (int term = driverRange[0]; term < driverRange[1]; term++) {
+            for (int ordinal : segment.postings[term]) {
+                if (++scanned > MAX_CANDIDATES) {
+                    break walk;
+                }
+                InventorySearchHitDTO doc = segment.docs[ordinal];
+                if (!inAll(filters, ordinal)
+                        || current.masked().contains(doc.getItemId())
+                        || !matchesAll(doc, tokens, driver, filters)
+                        || !taken.add(doc.getItemId())) {
+                    continue;
+                }
+                hits.add(new Hit(segment.terms[term], doc));
+                if (hits.size() == limit) {
+                    break walk;
+                }
+            }
+        }
+
+        String driverToken = tokens.get(driver);
+        BitSet[] noFilters = new BitSet[tokens.size()];
+        for (InventorySearchHitDTO doc : current.overlay().values()) {
+            if (matchesAll(doc, tokens, -1, noFilters)) {
+                hits.add(new Hit(firstWordWithPrefix(doc, driverToken), doc));
+            }
+        }
+
+        hits.sort(Comparator.comparing(Hit::term).thenComparing(hit -> hit.doc().getItemId()));
+        List<InventorySearchHitDTO> result = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            result.add(hits.get(i).doc());
+        }
+        return result;
+    }
+
+    public int size() {
+        State current = state;
+        return current.segment().size() - current.masked().size() + current.overlay().size();
+    }
+
+    /** Lower-cased runs of letters and digits, without repeats, in order of first appearance. */
+    static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addTokens(text, tokens);
+        return new ArrayList<>(tokens);
+    }
+
+    private static void addTokens(String text, Collection<String> out) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                char[] word = new char[i - start];
+                for (int j = 0; j < word.length; j++) {
+                    word[j] = Character.toLowerCase(text.charAt(start + j));
+                }
+                out.add(new String(word));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean inAll(BitSet[] filters, int ordinal) {
+        for (BitSet filter : filters) {
+            if (filter != null && !filter.get(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Checks the words that are neither the skipped one nor covered by a filter against the text. */
+    private static boolean matchesAll(InventorySearchHitDTO doc, List<String> tokens, int skip, BitSet[] filters) {
+        for (int t = 0; t < tokens.size(); t++) {
+            if (t == skip || filters[t] != null) {
+                continue;
+            }
+            String token = tokens.get(t);
+            if (!hasWordStartingWith(doc.getItemName(), token)
+                    && !hasWordStartingWith(doc.getCategory(), token)
+                    && !hasWordStartingWith(doc.getLocation(), token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasWordStartingWith(String text, String prefix) {
+        if (text == null) {
+            return false;
+        }
+        int last = text.length() - prefix.length();
+        for (int i = 0; i <= last; i++) {
+            if ((i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))
+                    && text.regionMatches(true, i, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String firstWordWithPrefix(InventorySearchHitDTO doc, String prefix) {
+        List<String> words = new ArrayList<>();
+        addTokens(doc.getItemName(), words);
+        addTokens(doc.getCategory(), words);
+        addTokens(doc.getLocation(), words);
+        String first = null;
+        for (String word : words) {
+            if (word.startsWith(prefix) && (first == null || word.compareTo(first) < 0)) {
+                first = word;
+            }
+        }
+        return first != null ? first : prefix;
+    }
+
+    private record State(Segment segment, Map<Integer, InventorySearchHitDTO> overlay, Set<Integer> masked) {
+    }
+
+    private record Hit(String term, InventorySearchHitDTO doc) {
+    }
+
+    /** Immutable term dictionary over a fixed set of items. */
+    static final class Segment {
+
+        final InventorySearchHitDTO[] docs;   // ordered by item id
+        final int[] itemIds;                  // docs[i].getItemId(), for binary search
+        final String[] terms;                 // sorted
+        final int[][] postings;               // doc ordinals per term, ascending
+        final int[] postingsBefore;           // total postings of all terms before terms[i]
+
+        private Segment(InventorySearchHitDTO[] docs, int[] itemIds, String[] terms, int[][] postings,
+                        int[] postingsBefore) {
+            this.docs = docs;
+            this.itemIds = itemIds;
+            this.terms = terms;
+            this.postings = postings;
+            this.postingsBefore = postingsBefore;
+        }
+
+        static Segment build(List<InventorySearchHitDTO> source) {
+            source.sort(BY_ID);
+            InventorySearchHitDTO[] docs = new InventorySearchHitDTO[source.size()];
+            int[] itemIds = new int[source.size()];
+            // Categories and locations repeat across many items; keep one copy of each string
+            Map<String, String> shared = new HashMap<>();
+            Map<String, Postings> postingsByTerm = new HashMap<>();
+            Set<String> docTerms = new HashSet<>();
+
+            for (int ordinal = 0; ordinal < docs.length; ordinal++) {
+                InventorySearchHitDTO doc = source.get(ordinal);
+                String category = share(shared, doc.getCategory());
+                String location = share(shared, doc.getLocation());
+                if (category != doc.getCategory() || location != doc.getLocation()) {
+                    doc = new InventorySearchHitDTO(doc.getItemId(), doc.getItemName(), category, location);
+                }
+                docs[ordinal] = doc;
+                itemIds[ordinal] = doc.getItemId();
+
+                docTerms.clear();
+                addTokens(doc.getItemName(), docTerms);
+                addTokens(category, docTerms);
+                addTokens(location, docTerms);
+                for (String term : docTerms) {
+                    postingsByTerm.computeIfAbsent(term, key -> new Postings()).add(ordinal);
+                }
+            }
+
+            String[] terms = postingsByTerm.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            int[][] postings = new int[terms.length][];
+            int[] postingsBefore = new int[terms.length + 1];
+            for (int i = 0; i < terms.length; i++) {
+                postings[i] = postingsByTerm.get(terms[i]).toArray();
+                postingsBefore[i + 1] = postingsBefore[i] + postings[i].length;
+            }
+            return new Segment(docs, itemIds, terms, postings, postingsBefore);
+        }
+
+        int size() {
+            return docs.length;
+        }
+
+        boolean contains(int itemId) {
+            return Arrays.binarySearch(itemIds, itemId) >= 0;
+        }
+
+        /** [first, end) indexes of the terms starting with the prefix. */
+        int[] termRange(String prefix) {
+            // Terms only hold letters and digits, so none of them continues the prefix with U+FFFF
+            return new int[]{lowerBound(prefix), lowerBound(prefix + Character.MAX_VALUE)};
+        }
+
+        int postingCount(int[] range) {
+            return postingsBefore[range[1]] - postingsBefore[range[0]];
+        }
+
+        BitSet documentsIn(int[] range) {
+            BitSet documents = new BitSet(docs.length);
+            for (int term = range[0]; term < range[1]; term++) {
+                for (int ordinal : postings[term]) {
+                    documents.set(ordinal);
+                }
+            }
+            return documents;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (terms[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static String share(Map<String, String> shared, String value) {
+            if (value == null) {
+                return null;
+            }
+            String existing = shared.putIfAbsent(value, value);
+            return existing != null ? existing : value;
+        }
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ordinals, size);
+        }
+    }
+}
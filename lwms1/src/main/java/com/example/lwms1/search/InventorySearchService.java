@@ -0,0 +1,123 @@
+package com.example.lwms1.search;
+
+import com.example.lwms1.dto.InventorySearchHitDTO;
+import com.example.lwms1.event.InventoryChangedEvent;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.outbox.OutboxConsumer;
+import com.example.lwms1.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link InventorySearchIndex} in step with the inventory table. The index is built
+ * from the database once the application is up and then follows inventory changes through the
+ * outbox, reloading the changed items so that it always ends up at their committed state.
+ */
+@Service
+public class InventorySearchService implements OutboxConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(InventorySearchService.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    static final int RELOAD_CHUNK = 1000;
+
+    private final InventoryRepository inventoryRepo;
+    private final TransactionTemplate readOnlyTransaction;
+    private final InventorySearchIndex index = new InventorySearchIndex();
+
+    @Autowired
+    public InventorySearchService(InventoryRepository inventoryRepo, PlatformTransactionManager transactionManager) {
+        this.inventoryRepo = inventoryRepo;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<InventorySearchHitDTO> docs = inventoryRepo.streamSearchDocs()) {
+                index.replaceAll(docs.iterator());
+            }
+        });
+        log.info("Search index built with {} inventory items in {} ms", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public List<InventorySearchHitDTO> search(String query, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return index.search(query, size);
+    }
+
+    /** Search results as full items, with their current quantities, in the order of the hits. */
+    public List<Inventory> searchItems(String query, Integer limit) {
+        List<Integer> ids = new ArrayList<>();
+        for (InventorySearchHitDTO hit : search(query, limit)) {
+            ids.add(hit.getItemId());
+        }
+        Map<Integer, Inventory> itemsById = new HashMap<>();
+        for (Inventory item : inventoryRepo.findAllById(ids)) {
+            itemsById.put(item.getItemId(), item);
+        }
+        List<Inventory> items = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Inventory item = itemsById.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "search-index";
+    }
+
+    @Override
+    public synchronized void handle(List<Object> events) {
+        Set<Integer> changedIds = new LinkedHashSet<>();
+        Set<Integer> deletedIds = new LinkedHashSet<>();
+        for (Object event : events) {
+            if (event instanceof InventoryChangedEvent change) {
+                if (change.isDeleted()) {
+                    deletedIds.addAll(change.getItemIds());
+                } else {
+                    changedIds.addAll(change.getItemIds());
+                }
+            }
+        }
+        changedIds.removeAll(deletedIds);
+        if (!deletedIds.isEmpty()) {
+            index.apply(List.of(), deletedIds);
+        }
+
+        List<Integer> ids = new ArrayList<>(changedIds);
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + RELOAD_CHUNK));
+            List<InventorySearchHitDTO> docs = inventoryRepo.findSearchDocsByIdIn(chunk);
+            // Items deleted again before this batch was handled are simply no longer there
+            Set<Integer> missing = new LinkedHashSet<>(chunk);
+            for (InventorySearchHitDTO doc : docs) {
+                missing.remove(doc.getItemId());
+            }
+            index.apply(docs, missing);
+        }
+    }
+}
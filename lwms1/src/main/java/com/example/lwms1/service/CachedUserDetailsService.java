@@ -0,0 +1,165 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.model.Role;
+import com.example.lwms1.model.UserAccount;
+import com.example.lwms1.repository.UserAccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Loads users for Spring Security through a bounded, TTL-based LRU cache so that logins do
+ * not query the users/roles tables every time. UserService evicts an entry whenever that
+ * user is created, deleted or has their roles changed; the TTL bounds how long a change
+ * made by another instance can go unnoticed.
+ *
+ * Only an immutable snapshot is cached and a new UserDetails is built for every call,
+ * because Spring Security erases the password of the object it was given after login.
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService {
+
+    static final int MAX_ENTRIES = 1000;
+    static final Duration TTL = Duration.ofMinutes(5);
+
+    private final UserAccountRepository userRepo;
+    private final Map<String, Entry> cache;
+    // Bumped by every eviction, under the cache lock; a load that saw an older value is not cached
+    private long generation;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public CachedUserDetailsService(UserAccountRepository userRepo, MeterRegistry meterRegistry) {
+        this.userRepo = userRepo;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+        this.hits = Counter.builder("lwms.user_details.cache")
+                .tag("result", "hit")
+                .description("User details lookups answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("lwms.user_details.cache")
+                .tag("result", "miss")
+                .description("User details lookups that went to the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("lwms.user_details.cache.evictions")
+                .description("Entries dropped because the user was changed")
+                .register(meterRegistry);
+        Gauge.builder("lwms.user_details.cache.size", this, CachedUserDetailsService::size)
+                .description("Users currently cached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(username);
+        }
+        if (entry != null && !entry.isExpired()) {
+            hits.increment();
+            return entry.toUserDetails();
+        }
+        misses.increment();
+
+        long loadedAt;
+        synchronized (cache) {
+            loadedAt = generation;
+        }
+        Optional<UserAccount> userOpt = userRepo.findByUsername(username);
+        if (!userOpt.isPresent()) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        entry = new Entry(userOpt.get());
+        synchronized (cache) {
+            // A user changed while this was loading; the row read may predate that commit
+            if (generation == loadedAt) {
+                cache.put(username, entry);
+            }
+        }
+        return entry.toUserDetails();
+    }
+
+    /**
+     * Drops the cached entry now and again once the surrounding transaction has committed.
+     * Each removal also moves the generation on, so a login that read the row before the commit
+     * and tries to cache it afterwards is turned away instead of putting the old data back.
+     */
+    public void evict(String username) {
+        remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private void remove(String username) {
+        Entry removed;
+        synchronized (cache) {
+            generation++;
+            removed = cache.remove(username);
+        }
+        if (removed != null) {
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry {
+        private final String username;
+        private final String password;
+        private final String[] roles;
+        private final long loadedAtNanos = System.nanoTime();
+
+        private Entry(UserAccount u) {
+            this.username = u.getUsername();
+            this.password = u.getPassword();
+            Set<Role> roleSet = u.getRoles();
+            this.roles = new String[roleSet.size()];
+            int i = 0;
+            for (Role role : roleSet) {
+                String name = role.getName();
+                roles[i++] = name.startsWith("ROLE_") ? name.substring(5) : name;
+            }
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - loadedAtNanos > TTL.toNanos();
+        }
+
+        private UserDetails toUserDetails() {
+            return User.withUsername(username)
+                    .password(password)
+                    .roles(roles)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.exception.ResourceNotFoundException;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.SpaceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Single entry point for changing Space.usedCapacity / availableCapacity.
+ *
+ * Each change locks the Space row (SELECT ... FOR UPDATE), re-reads it and updates the managed
+ * entity, so concurrent receipts can no longer lose updates, the caller's copy of the Space in
+ * this transaction is current afterwards, and the second-level cache only drops that one zone
+ * on commit. Writers to the same zone inside this JVM are additionally queued on a striped lock
+ * that is held until their transaction completes, which keeps hot zones from piling up
+ * on the database row lock. Code that must rewrite a Space entity (e.g. a total capacity
+ * change) goes through {@link #retryOnConflict}, which relies on Space's @Version.
+ */
+@Component
+public class CapacityLedger {
+
+    static final int STRIPES = 64;
+    static final long LOCK_WAIT_MILLIS = 2000;
+    static final int MAX_ATTEMPTS = 3;
+
+    private final SpaceRepository spaceRepo;
+    private final TransactionTemplate retryTemplate;
+    private final TransactionTemplate changeTemplate;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    @Autowired
+    public CapacityLedger(SpaceRepository spaceRepo, PlatformTransactionManager transactionManager) {
+        this.spaceRepo = spaceRepo;
+        this.retryTemplate = new TransactionTemplate(transactionManager);
+        this.retryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.changeTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    /**
+     * Takes up {@code quantity} units in the space. Returns false when the space does not have
+     * enough available capacity; nothing is changed in that case.
+     */
+    public boolean reserve(Space space, int quantity) {
+        if (quantity <= 0) {
+            return true;
+        }
+        return withZoneLock(space, locked -> {
+            if (locked.getAvailableCapacity() == null || locked.getAvailableCapacity() < quantity) {
+                return false;
+            }
+            setUsed(locked, used(locked) + quantity);
+            return true;
+        });
+    }
+
+    /** Frees {@code quantity} units; used capacity never drops below zero. */
+    public void release(Space space, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        withZoneLock(space, locked -> {
+            setUsed(locked, Math.max(used(locked) - quantity, 0));
+            return true;
+        });
+    }
+
+    /**
+     * Puts back stock that had already been counted in this space (e.g. a cancelled shipment).
+     * Unlike {@link #reserve} this is never refused.
+     */
+    public void restore(Space space, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        withZoneLock(space, locked -> {
+            setUsed(locked, used(locked) + quantity);
+            return true;
+        });
+    }
+
+    /** Applies a signed change: positive deltas reserve, negative deltas release. */
+    public boolean adjust(Space space, int delta) {
+        if (delta > 0) {
+            return reserve(space, delta);
+        }
+        release(space, -delta);
+        return true;
+    }
+
+    /**
+     * Locks several zones up front for a write that spans them (e.g. a shipment batch): the
+     * stripes in stripe order, then the Space rows in id order. Taking zones before inventory
+     * rows keeps the same lock order as the single-item paths. Must run inside a transaction;
+     * everything is released when it completes.
+     */
+    public void lockZones(Collection<Integer> spaceIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("lockZones requires an active transaction");
+        }
+        Map<Integer, Integer> byStripe = new TreeMap<>();
+        for (Integer spaceId : spaceIds) {
+            byStripe.putIfAbsent(Math.floorMod(spaceId.hashCode(), STRIPES), spaceId);
+        }
+        for (Integer spaceId : byStripe.values()) {
+            lockZone(spaceId);
+        }
+        spaceRepo.lockAllByIdInOrder(spaceIds);
+    }
+
+    /**
+     * Runs {@code work} in its own transaction while holding the zone's stripe, retrying a bounded
+     * number of times when the Space row was changed underneath it (optimistic version conflict).
+     */
+    public <T> T retryOnConflict(Integer spaceId, Supplier<T> work) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                return retryTemplate.execute(status -> {
+                    lockZone(spaceId);
+                    return work.get();
+                });
+            } catch (OptimisticLockingFailureException ex) {
+                // another writer changed the row first; start over with a fresh read
+            }
+        }
+        throw new BusinessException("Zone was updated by another user, please try again.");
+    }
+
+    /** Runs {@code change} on the locked, freshly read space, joining the caller's transaction if there is one. */
+    private boolean withZoneLock(Space space, Predicate<Space> change) {
+        if (space.getSpaceId() == null) {
+            throw new BusinessException("Space " + space.getZone() + " has not been saved yet.");
+        }
+        return Boolean.TRUE.equals(changeTemplate.execute(status -> {
+            lockZone(space.getSpaceId());
+            Space locked = spaceRepo.lockById(space.getSpaceId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Space not found with id: " + space.getSpaceId()));
+            return change.test(locked);
+        }));
+    }
+
+    private static int used(Space space) {
+        return space.getUsedCapacity() != null ? space.getUsedCapacity() : 0;
+    }
+
+    private static void setUsed(Space space, int used) {
+        space.setUsedCapacity(used);
+        space.setAvailableCapacity(space.getTotalCapacity() - used);
+    }
+
+    /**
+     * Acquires the stripe for this space for the rest of the current transaction: it is
+     * released after commit/rollback, mirroring the database row lock.
+     */
+    private void lockZone(Integer spaceId) {
+        ReentrantLock lock = stripes[Math.floorMod(spaceId.hashCode(), STRIPES)];
+        if (lock.isHeldByCurrentThread()) {
+            return; // this transaction already owns the zone
+        }
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(LOCK_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Interrupted while waiting for zone " + spaceId + ".");
+        }
+        if (!acquired) {
+            throw new BusinessException("Zone " + spaceId + " is busy, please try again.");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
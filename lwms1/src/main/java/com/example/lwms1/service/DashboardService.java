@@ -1,66 +1,195 @@
 package com.example.lwms1.service;
 
-import com.example.lwms1.model.Space;
+import com.example.lwms1.datasource.ReadYourWrites;
+import com.example.lwms1.dto.CapacityTotalsDTO;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
+/**
+ * Serves the dashboard cards from an in-memory snapshot. The snapshot is built with
+ * aggregate COUNT/SUM queries and rebuilt lazily after any committed write
+ * (see {@link WarehouseChangedEvent}), or when it is older than {@link #SNAPSHOT_MAX_AGE}
+ * so that writes made by other instances show up eventually.
+ *
+ * The aggregate queries are independent of each other, so a rebuild runs them concurrently on
+ * the "dashboardExecutor" and takes as long as the slowest one instead of their sum. Each runs
+ * in its own read-only transaction whose timeout becomes the JDBC query timeout. A rebuild
+ * after a local write reads the primary, since the executor threads do not carry the request's
+ * {@link ReadYourWrites} pin and a lagging replica would cache the old figures; one that is only
+ * due to age may be served by a replica.
+ */
 @Service
 public class DashboardService {
 
-    private final InventoryService inventoryService;
-    private final ShipmentService shipmentService;
-    private final MaintenanceService maintenanceService;
-    private final ReportService reportService;
-    private final SpaceService spaceService;
-    private final UserService userService;
+    static final Duration SNAPSHOT_MAX_AGE = Duration.ofSeconds(30);
+    static final int QUERY_TIMEOUT_SECONDS = 10;
+
+    private final InventoryRepository inventoryRepo;
+    private final ShipmentRepository shipmentRepo;
+    private final MaintenanceScheduleRepository maintenanceRepo;
+    private final ReportRepository reportRepo;
+    private final SpaceRepository spaceRepo;
+    private final UserAccountRepository userRepo;
+    private final TaskExecutor dashboardExecutor;
+    private final TransactionTemplate queryTemplate;
+    // Not synchronized: a rebuild waits on its queries, which would pin a virtual thread's carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
 
     @Autowired
-    public DashboardService(InventoryService inventoryService,
-                            ShipmentService shipmentService,
-                            MaintenanceService maintenanceService,
-                            ReportService reportService,
-                            SpaceService spaceService,
-                            UserService userService) {
-        this.inventoryService = inventoryService;
-        this.shipmentService = shipmentService;
-        this.maintenanceService = maintenanceService;
-        this.reportService = reportService;
-        this.spaceService = spaceService;
-        this.userService = userService;
+    public DashboardService(InventoryRepository inventoryRepo,
+                            ShipmentRepository shipmentRepo,
+                            MaintenanceScheduleRepository maintenanceRepo,
+                            ReportRepository reportRepo,
+                            SpaceRepository spaceRepo,
+                            UserAccountRepository userRepo,
+                            @Qualifier("dashboardExecutor") TaskExecutor dashboardExecutor,
+                            PlatformTransactionManager transactionManager) {
+        this.inventoryRepo = inventoryRepo;
+        this.shipmentRepo = shipmentRepo;
+        this.maintenanceRepo = maintenanceRepo;
+        this.reportRepo = reportRepo;
+        this.spaceRepo = spaceRepo;
+        this.userRepo = userRepo;
+        this.dashboardExecutor = dashboardExecutor;
+        this.queryTemplate = new TransactionTemplate(transactionManager);
+        this.queryTemplate.setReadOnly(true);
+        this.queryTemplate.setTimeout(QUERY_TIMEOUT_SECONDS);
     }
 
     public Map<String, Object> getAllStats() {
+        Snapshot current = snapshot;
+        if (current == null || stale || current.isExpired()) {
+            current = refresh();
+        }
+        return current.stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWarehouseChanged(WarehouseChangedEvent event) {
+        stale = true;
+    }
+
+    private Snapshot refresh() {
+        refreshLock.lock();
+        try {
+            return rebuild();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot rebuild() {
+        Snapshot current = snapshot;
+        if (current != null && !stale && !current.isExpired()) {
+            return current; // another thread rebuilt it while we waited
+        }
+        boolean afterWrite = stale;
+        // Clear the flag first so a write committing during the rebuild marks it stale again
+        stale = false;
+
+        CompletableFuture<Long> inventoryCount = query(afterWrite, inventoryRepo::count);
+        CompletableFuture<Long> shipmentCount = query(afterWrite, () ->
+                shipmentRepo.countByStatusIn(ShipmentStatus.ACTIVE));
+        CompletableFuture<Long> overdueCount = query(afterWrite, () ->
+                shipmentRepo.countByStatusInAndExpectedDeliveryDateBefore(ShipmentStatus.ACTIVE, LocalDate.now()));
+        CompletableFuture<Long> openMaintenance = query(afterWrite, () ->
+                maintenanceRepo.countByCompletionStatusIgnoreCase("PENDING"));
+        CompletableFuture<Long> reportCount = query(afterWrite, reportRepo::count);
+        CompletableFuture<Long> userCount = query(afterWrite, userRepo::count);
+        CompletableFuture<CapacityTotalsDTO> capacityTotals = query(afterWrite, spaceRepo::sumCapacity);
+        awaitAll(List.of(inventoryCount, shipmentCount, overdueCount, openMaintenance, reportCount, userCount,
+                capacityTotals));
+
         Map<String, Object> stats = new HashMap<>();
+        stats.put("inventoryCount", inventoryCount.join());
+        stats.put("activeShipmentsCount", shipmentCount.join());
+        stats.put("overdueShipmentsCount", overdueCount.join());
+        stats.put("openMaintenanceTasks", openMaintenance.join());
+        stats.put("reportCount", reportCount.join());
+        stats.put("userCount", userCount.join());
+
+        CapacityTotalsDTO capacity = capacityTotals.join();
+        double utilization = capacity != null ? capacity.getUtilizationPercent() : 0;
+        stats.put("warehouseUtilization", String.format("%.1f%%", utilization));
 
-        stats.put("inventoryCount", inventoryService.listAll().size());
-        stats.put("activeShipmentsCount", shipmentService.listAll().size());
-        stats.put("openMaintenanceTasks", maintenanceService.getPendingMaintenanceCount());
-        stats.put("reportCount", reportService.listAll().size());
-        stats.put("userCount", userService.listAll().size());
+        current = new Snapshot(Collections.unmodifiableMap(stats));
+        snapshot = current;
+        return current;
+    }
 
-        List<Space> spaces = spaceService.listAll();
-        double totalUsed = 0;
-        double totalMax = 0;
+    private <T> CompletableFuture<T> query(boolean onPrimary, Supplier<T> query) {
+        Supplier<T> inTransaction = () -> queryTemplate.execute(status -> query.get());
+        return CompletableFuture.supplyAsync(onPrimary ? () -> ReadYourWrites.onPrimary(inTransaction) : inTransaction,
+                dashboardExecutor);
+    }
 
-        for (Space s : spaces) {
-            if (s.getUsedCapacity() != null) {
-                totalUsed += s.getUsedCapacity();
+    /**
+     * Waits for every query, but gives up as soon as one of them fails: the failure is rethrown,
+     * leaving the snapshot stale for the next caller. Cancelling the others only keeps those
+     * still queued on the executor from starting; CompletableFuture cannot interrupt one that is
+     * already running, which holds its connection until it finishes or hits
+     * {@link #QUERY_TIMEOUT_SECONDS}.
+     */
+    private void awaitAll(List<CompletableFuture<?>> queries) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> query : queries) {
+            query.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    firstFailure.completeExceptionally(ex);
+                }
+            });
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(queries.toArray(new CompletableFuture<?>[0]));
+        try {
+            CompletableFuture.anyOf(all, firstFailure).join();
+        } catch (CompletionException ex) {
+            stale = true;
+            for (CompletableFuture<?> query : queries) {
+                query.cancel(true);
             }
-            if (s.getTotalCapacity() != null) {
-                totalMax += s.getTotalCapacity();
+            Throwable cause = ex;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
             }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
         }
+    }
 
-        double utilization = 0;
-        if (totalMax > 0) {
-            utilization = (totalUsed / totalMax) * 100;
-        }
+    private static final class Snapshot {
+        private final Map<String, Object> stats;
+        private final long builtAtNanos = System.nanoTime();
 
-        stats.put("warehouseUtilization", String.format("%.1f%%", utilization));
+        private Snapshot(Map<String, Object> stats) {
+            this.stats = stats;
+        }
 
-        return stats;
+        private boolean isExpired() {
+            return System.nanoTime() - builtAtNanos > SNAPSHOT_MAX_AGE.toNanos();
+        }
     }
-}
\ No newline at end of file
+}
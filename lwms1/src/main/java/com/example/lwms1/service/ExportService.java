@@ -0,0 +1,60 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.ShipmentRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full-table exports for the API. Rows are read from a database cursor in fetch-size chunks and
+ * handed to the caller one at a time, so an export never holds more than a chunk in memory.
+ */
+@Service
+public class ExportService {
+
+    static final int CLEAR_INTERVAL = 500;
+
+    private final InventoryRepository inventoryRepo;
+    private final ShipmentRepository shipmentRepo;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public ExportService(InventoryRepository inventoryRepo, ShipmentRepository shipmentRepo, EntityManager entityManager) {
+        this.inventoryRepo = inventoryRepo;
+        this.shipmentRepo = shipmentRepo;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportInventory(Consumer<Inventory> sink) {
+        return forEach(inventoryRepo.streamAll(), sink);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportShipments(Consumer<Shipment> sink) {
+        return forEach(shipmentRepo.streamAll(), sink);
+    }
+
+    private <T> long forEach(Stream<T> rows, Consumer<T> sink) {
+        long count = 0;
+        try (rows) {
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                sink.accept(it.next());
+                // Detach what has been written so the persistence context does not grow with the table
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
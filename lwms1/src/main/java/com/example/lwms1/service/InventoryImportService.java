@@ -0,0 +1,272 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.InventoryDTO;
+import com.example.lwms1.dto.InventoryImportResultDTO;
+import com.example.lwms1.event.InventoryChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.ledger.StockLedger;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryJdbcRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk inventory import from CSV. The file is read line by line and valid rows are collected into
+ * batches of {@link #BATCH_SIZE}. Each batch is grouped by zone, so every zone is checked and has
+ * its capacity reserved once, and each zone's rows are inserted with JDBC batching in their own
+ * transaction. A bad row or a full zone only rejects the rows concerned.
+ */
+@Service
+public class InventoryImportService {
+
+    static final int BATCH_SIZE = 1000;
+    static final int JDBC_BATCH_SIZE = 500;
+    static final List<String> COLUMNS = List.of("itemName", "category", "quantity", "location");
+
+    private final SpaceRepository spaceRepo;
+    private final InventoryJdbcRepository inventoryJdbcRepo;
+    private final MaintenanceLockRegistry lockRegistry;
+    private final CapacityLedger capacityLedger;
+    private final StockLedger stockLedger;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public InventoryImportService(SpaceRepository spaceRepo, InventoryJdbcRepository inventoryJdbcRepo,
+                                  MaintenanceLockRegistry lockRegistry, CapacityLedger capacityLedger,
+                                  StockLedger stockLedger, Validator validator,
+                                  PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.spaceRepo = spaceRepo;
+        this.inventoryJdbcRepo = inventoryJdbcRepo;
+        this.lockRegistry = lockRegistry;
+        this.capacityLedger = capacityLedger;
+        this.stockLedger = stockLedger;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public InventoryImportResultDTO importCsv(InputStream csv) throws IOException {
+        InventoryImportResultDTO result = new InventoryImportResultDTO();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BusinessException("The uploaded file is empty.");
+        }
+        int[] columnIndex = resolveColumns(parseLine(stripBom(header)));
+
+        Map<String, Space> spacesByZone = new HashMap<>();
+        for (Space space : spaceRepo.findAll()) {
+            spacesByZone.put(space.getZone(), space);
+        }
+
+        List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.rowRead();
+            ImportRow row = toRow(lineNumber, line, columnIndex, result);
+            if (row == null) {
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                writeBatch(batch, spacesByZone, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, spacesByZone, result);
+        }
+
+        if (result.getImportedRows() > 0) {
+            eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY));
+        }
+        return result;
+    }
+
+    private ImportRow toRow(long lineNumber, String line, int[] columnIndex, InventoryImportResultDTO result) {
+        List<String> fields;
+        try {
+            fields = parseLine(line);
+        } catch (IllegalArgumentException ex) {
+            result.rejectRow(lineNumber, ex.getMessage());
+            return null;
+        }
+
+        InventoryDTO dto = new InventoryDTO();
+        dto.setItemName(field(fields, columnIndex[0]));
+        dto.setCategory(field(fields, columnIndex[1]));
+        dto.setLocation(field(fields, columnIndex[3]));
+        String quantity = field(fields, columnIndex[2]);
+        if (quantity != null) {
+            try {
+                dto.setQuantity(Integer.valueOf(quantity));
+            } catch (NumberFormatException ex) {
+                result.rejectRow(lineNumber, "Quantity is not a whole number: " + quantity);
+                return null;
+            }
+        }
+
+        Set<ConstraintViolation<InventoryDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            result.rejectRow(lineNumber, message);
+            return null;
+        }
+        return new ImportRow(lineNumber, dto);
+    }
+
+    private void writeBatch(List<ImportRow> batch, Map<String, Space> spacesByZone, InventoryImportResultDTO result) {
+        Map<String, List<ImportRow>> rowsByZone = new LinkedHashMap<>();
+        for (ImportRow row : batch) {
+            rowsByZone.computeIfAbsent(row.dto().getLocation(), zone -> new ArrayList<>()).add(row);
+        }
+
+        for (Map.Entry<String, List<ImportRow>> entry : rowsByZone.entrySet()) {
+            List<ImportRow> rows = entry.getValue();
+            Space space = spacesByZone.get(entry.getKey());
+            if (space == null) {
+                rejectAll(rows, "Space not found: " + entry.getKey(), result);
+                continue;
+            }
+            if (lockRegistry.isLocked(space.getSpaceId())) {
+                rejectAll(rows, "Action Denied: Zone " + space.getZone() + " is under maintenance.", result);
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertZone(space, rows));
+                result.imported(rows.size());
+            } catch (BusinessException ex) {
+                rejectAll(rows, ex.getMessage(), result);
+            }
+        }
+    }
+
+    private void insertZone(Space space, List<ImportRow> rows) {
+        long total = 0;
+        for (ImportRow row : rows) {
+            total += row.dto().getQuantity();
+        }
+        if (total > Integer.MAX_VALUE || !capacityLedger.reserve(space, (int) total)) {
+            throw new BusinessException("Insufficient space in " + space.getZone());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Inventory> items = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Inventory inv = new Inventory();
+            inv.setItemName(row.dto().getItemName());
+            inv.setCategory(row.dto().getCategory());
+            inv.setQuantity(row.dto().getQuantity());
+            inv.setLocation(space.getZone());
+            inv.setStorageSpace(space);
+            inv.setLastUpdated(now);
+            items.add(inv);
+        }
+        inventoryJdbcRepo.insertAll(items, JDBC_BATCH_SIZE);
+        stockLedger.recordAll(items, StockMovementEvent.IMPORT);
+        eventPublisher.publishEvent(new StockMovementEvent(StockMovementEvent.IMPORT, space.getZone(), space.getSpaceId(), null,
+                (int) total));
+        List<Integer> itemIds = new ArrayList<>(items.size());
+        for (Inventory item : items) {
+            itemIds.add(item.getItemId());
+        }
+        eventPublisher.publishEvent(new InventoryChangedEvent(itemIds, false));
+    }
+
+    private void rejectAll(List<ImportRow> rows, String message, InventoryImportResultDTO result) {
+        for (ImportRow row : rows) {
+            result.rejectRow(row.lineNumber(), message);
+        }
+    }
+
+    private int[] resolveColumns(List<String> header) {
+        int[] index = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            index[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (COLUMNS.get(i).equalsIgnoreCase(header.get(j).trim())) {
+                    index[i] = j;
+                }
+            }
+            if (index[i] < 0) {
+                throw new BusinessException("CSV header must contain the columns " + String.join(", ", COLUMNS));
+            }
+        }
+        return index;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String stripBom(String header) {
+        return header.startsWith("\uFEFF") ? header.substring(1) : header;
+    }
+
+    /** Splits one CSV line; fields may be quoted, with "" as an escaped quote. */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record ImportRow(long lineNumber, InventoryDTO dto) {}
+}
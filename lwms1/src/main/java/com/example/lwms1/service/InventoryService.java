@@ -1,30 +1,52 @@
 package com.example.lwms1.service;
+import com.example.lwms1.dto.InventoryCursor;
 import com.example.lwms1.dto.InventoryDTO;
+import com.example.lwms1.dto.InventoryPageDTO;
+import com.example.lwms1.dto.InventoryVersionDTO;
+import com.example.lwms1.dto.PutawaySlotDTO;
+import com.example.lwms1.event.InventoryChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.event.WarehouseChangedEvent;
 import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.Inventory;
 import com.example.lwms1.model.Space;
 import com.example.lwms1.repository.InventoryRepository;
 import com.example.lwms1.repository.SpaceRepository;
-import com.example.lwms1.repository.MaintenanceScheduleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class InventoryService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    static final int PUTAWAY_ATTEMPTS = 3;
+
     private final InventoryRepository repo;
     private final SpaceRepository spaceRepo;
-    private final MaintenanceScheduleRepository maintenanceRepo;
+    private final MaintenanceLockRegistry lockRegistry;
+    private final CapacityLedger capacityLedger;
+    private final PutawayAllocator putawayAllocator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public InventoryService(InventoryRepository repo, SpaceRepository spaceRepo, MaintenanceScheduleRepository maintenanceRepo) {
+    public InventoryService(InventoryRepository repo, SpaceRepository spaceRepo, MaintenanceLockRegistry lockRegistry,
+                            CapacityLedger capacityLedger, PutawayAllocator putawayAllocator,
+                            ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
         this.spaceRepo = spaceRepo;
-        this.maintenanceRepo = maintenanceRepo;
+        this.lockRegistry = lockRegistry;
+        this.capacityLedger = capacityLedger;
+        this.putawayAllocator = putawayAllocator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -32,6 +54,50 @@ public class InventoryService {
         return repo.findAll();
     }
 
+    /** Keyset page in {@code sort} order; {@code after} is the nextCursor of the previous page. */
+    @Transactional(readOnly = true)
+    public InventoryPageDTO listPage(String after, String sort, Integer size) {
+        InventoryPageDTO.SortKey sortKey = InventoryPageDTO.SortKey.fromParam(sort);
+        int pageSize = DEFAULT_PAGE_SIZE;
+        if (size != null && size > 0) {
+            pageSize = Math.min(size, MAX_PAGE_SIZE);
+        }
+        // Fetch one extra row to know whether a next page exists without a COUNT query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        InventoryCursor cursor = InventoryCursor.parse(after, sortKey);
+
+        List<Inventory> rows;
+        if (cursor == null) {
+            rows = switch (sortKey) {
+                case LAST_UPDATED -> repo.findFirstPageByLastUpdated(limit);
+                case CATEGORY -> repo.findFirstPageByCategory(limit);
+                case ID -> repo.findFirstPageById(limit);
+            };
+        } else if (sortKey == InventoryPageDTO.SortKey.LAST_UPDATED) {
+            rows = cursor.isNullValue()
+                    ? repo.findPageAfterNullLastUpdated(cursor.getItemId(), limit)
+                    : repo.findPageAfterLastUpdated(cursor.getLastUpdated(), cursor.getItemId(), limit);
+        } else if (sortKey == InventoryPageDTO.SortKey.CATEGORY) {
+            rows = cursor.isNullValue()
+                    ? repo.findPageAfterNullCategory(cursor.getItemId(), limit)
+                    : repo.findPageAfterCategory(cursor.getCategory(), cursor.getItemId(), limit);
+        } else {
+            rows = repo.findPageAfterId(cursor.getItemId(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? InventoryCursor.of(sortKey, rows.get(rows.size() - 1)) : null;
+        return new InventoryPageDTO(rows, sortKey, pageSize, cursor != null ? after : null, nextCursor, hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryVersionDTO getVersion() {
+        return repo.findVersion();
+    }
+
     @Transactional(readOnly = true)
     public Inventory findById(Integer id) {
         Optional<Inventory> result = repo.findById(id);
@@ -56,6 +122,9 @@ public class InventoryService {
 
     @Transactional
     public Inventory create(InventoryDTO dto) {
+        if (InventoryDTO.AUTO_LOCATION.equals(dto.getLocation())) {
+            return createAutoLocated(dto, false).get(0);
+        }
         Optional<Space> spaceOptional = spaceRepo.findByZone(dto.getLocation());
         Space space;
         if (spaceOptional.isPresent()) {
@@ -64,25 +133,79 @@ public class InventoryService {
             throw new ResourceNotFoundException("Space not found: " + dto.getLocation());
         }
         verifySpaceIsNotUnderMaintenance(space.getSpaceId(), space.getZone());
-        if (space.getAvailableCapacity() < dto.getQuantity()) {
+        if (!capacityLedger.reserve(space, dto.getQuantity())) {
             throw new BusinessException("Insufficient space in " + space.getZone());
         }
+        return store(dto, space, dto.getQuantity());
+    }
+
+    /**
+     * Receives stock into zones picked by the {@link PutawayAllocator}. Without {@code split} the
+     * whole quantity goes to one zone; with it the receipt may be spread over several zones, as
+     * one item per zone. A zone that filled up since it was planned is re-planned, a few times.
+     */
+    @Transactional
+    public List<Inventory> createAutoLocated(InventoryDTO dto, boolean split) {
+        List<Inventory> created = new ArrayList<>();
+        int remaining = dto.getQuantity();
+        for (int attempt = 0; attempt < PUTAWAY_ATTEMPTS && (remaining > 0 || created.isEmpty()); attempt++) {
+            List<PutawaySlotDTO> plan = putawayAllocator.plan(remaining, dto.getCategory(), split);
+            if (plan.size() > 1) {
+                List<Integer> spaceIds = new ArrayList<>();
+                for (PutawaySlotDTO slot : plan) {
+                    spaceIds.add(slot.getSpaceId());
+                }
+                capacityLedger.lockZones(spaceIds);
+            }
+            for (PutawaySlotDTO slot : plan) {
+                // Whatever happens next, the planned figures for this zone are out of date
+                putawayAllocator.markStale(slot.getZone());
+                Optional<Space> spaceOptional = spaceRepo.findById(slot.getSpaceId());
+                if (spaceOptional.isEmpty() || lockRegistry.isLocked(slot.getSpaceId())) {
+                    continue;
+                }
+                Space space = spaceOptional.get();
+                if (!capacityLedger.reserve(space, slot.getQuantity())) {
+                    continue;
+                }
+                created.add(store(dto, space, slot.getQuantity()));
+                remaining -= slot.getQuantity();
+            }
+        }
+        if (remaining > 0 || created.isEmpty()) {
+            throw new BusinessException("Zones filled up while placing " + dto.getQuantity() + " units, please try again.");
+        }
+        return created;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PutawaySlotDTO> planPutaway(int quantity, String category, boolean split) {
+        if (quantity < 0) {
+            throw new BusinessException("Quantity cannot be negative");
+        }
+        return putawayAllocator.plan(quantity, category, split);
+    }
 
+    private Inventory store(InventoryDTO dto, Space space, int quantity) {
         Inventory inv = new Inventory();
         inv.setItemName(dto.getItemName());
         inv.setCategory(dto.getCategory());
-        inv.setQuantity(dto.getQuantity());
+        inv.setQuantity(quantity);
         inv.setLocation(space.getZone());
         inv.setStorageSpace(space);
         inv.setLastUpdated(LocalDateTime.now());
 
-        updateSpaceCapacity(space, dto.getQuantity());
-        return repo.save(inv);
+        Inventory saved = repo.save(inv);
+        eventPublisher.publishEvent(new StockMovementEvent(StockMovementEvent.RECEIPT, space.getZone(),
+                space.getSpaceId(), saved.getItemId(), quantity));
+        eventPublisher.publishEvent(new InventoryChangedEvent(saved.getItemId(), false));
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY));
+        return saved;
     }
 
     @Transactional
     public Inventory update(Integer id, InventoryDTO dto) {
-        Inventory inv = findById(id);
+        Inventory inv = lockItem(id);
         Optional<Space> spaceOptional = spaceRepo.findByZone(inv.getLocation());
         Space space;
         if (spaceOptional.isPresent()) {
@@ -94,7 +217,7 @@ public class InventoryService {
         verifySpaceIsNotUnderMaintenance(space.getSpaceId(), space.getZone());
         int capacityAdjustment = dto.getQuantity() - inv.getQuantity();
 
-        if (space.getAvailableCapacity() < capacityAdjustment) {
+        if (!capacityLedger.adjust(space, capacityAdjustment)) {
             throw new BusinessException("Not enough room in " + space.getZone());
         }
 
@@ -102,35 +225,47 @@ public class InventoryService {
         inv.setCategory(dto.getCategory());
         inv.setQuantity(dto.getQuantity());
         inv.setLastUpdated(LocalDateTime.now());
-        updateSpaceCapacity(space, capacityAdjustment);
-        return repo.save(inv);
+        Inventory saved = repo.save(inv);
+        if (capacityAdjustment != 0) {
+            eventPublisher.publishEvent(new StockMovementEvent(StockMovementEvent.ADJUSTMENT, space.getZone(),
+                    space.getSpaceId(), inv.getItemId(), capacityAdjustment));
+        }
+        eventPublisher.publishEvent(new InventoryChangedEvent(inv.getItemId(), false));
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY));
+        return saved;
     }
     @Transactional
     public void delete(Integer id) {
-        Inventory inv = findById(id);
+        Inventory inv = lockItem(id);
         if (inv.getLocation() != null) {
             Space space = spaceRepo.findByZone(inv.getLocation()).orElse(null);
             if (space != null) {
                 verifySpaceIsNotUnderMaintenance(space.getSpaceId(), space.getZone());
-                updateSpaceCapacity(space, -inv.getQuantity()); // Refund space
+                capacityLedger.release(space, inv.getQuantity()); // Refund space
             }
         }
         repo.delete(inv);
+        eventPublisher.publishEvent(new StockMovementEvent(StockMovementEvent.REMOVAL, inv.getLocation(),
+                inv.getStorageSpaceId(), inv.getItemId(), -inv.getQuantity()));
+        eventPublisher.publishEvent(new InventoryChangedEvent(inv.getItemId(), true));
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY));
     }
 
-    private void verifySpaceIsNotUnderMaintenance(Integer spaceId, String zoneName) {
-        boolean isLocked = maintenanceRepo.existsByEquipmentIdAndCompletionStatusIgnoreCase(spaceId, "PENDING");
-        if (isLocked) {
-            throw new BusinessException("Action Denied: Zone " + zoneName + " is under maintenance.");
+    /**
+     * Locks the item's zone and then the item row, in the same order as the shipment paths, so
+     * the quantity an edit or removal works from cannot change before it is applied.
+     */
+    private Inventory lockItem(Integer id) {
+        List<Integer> spaceIds = repo.findSpaceIdsByItemIds(List.of(id));
+        if (!spaceIds.isEmpty()) {
+            capacityLedger.lockZones(spaceIds);
         }
+        return repo.lockById(id).orElseThrow(() -> new ResourceNotFoundException("Item not found ID: " + id));
     }
 
-    private void updateSpaceCapacity(Space space, int quantityChange) {
-        int newUsed = (space.getUsedCapacity() != null ? space.getUsedCapacity() : 0) + quantityChange;
-        if (newUsed < 0) newUsed = 0;
-
-        space.setUsedCapacity(newUsed);
-        space.setAvailableCapacity(space.getTotalCapacity() - newUsed);
-        spaceRepo.save(space);
+    private void verifySpaceIsNotUnderMaintenance(Integer spaceId, String zoneName) {
+        if (lockRegistry.isLocked(spaceId)) {
+            throw new BusinessException("Action Denied: Zone " + zoneName + " is under maintenance.");
+        }
     }
 }
\ No newline at end of file
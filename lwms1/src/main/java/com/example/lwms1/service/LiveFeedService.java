@@ -0,0 +1,353 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.datasource.ReadYourWrites;
+import com.example.lwms1.dto.ShipmentResponseDTO;
+import com.example.lwms1.dto.SpaceResponseDTO;
+import com.example.lwms1.event.ShipmentChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes zone capacity and shipment changes to browsers over Server-Sent Events, so the space,
+ * shipment and tracking pages can update without polling.
+ *
+ * Committed domain events only mark zones and shipments as dirty. Every
+ * {@link #FLUSH_INTERVAL_MILLIS} the dirty ones are loaded once, whatever the number of
+ * subscribers, and handed to each interested subscriber. A subscriber keeps only the latest
+ * message per zone or shipment, so rapid updates collapse into one, and has at most one send in
+ * flight on the live-feed executor. A subscriber that falls more than
+ * {@link #MAX_PENDING_PER_SUBSCRIBER} messages behind gets a single "resync" event instead of
+ * the backlog and is expected to reload.
+ */
+@Service
+public class LiveFeedService {
+
+    public static final String SPACES = "spaces";
+    public static final String SHIPMENTS = "shipments";
+
+    public static final int MAX_SUBSCRIBERS = 10_000;
+    static final int MAX_PENDING_PER_SUBSCRIBER = 500;
+    static final long FLUSH_INTERVAL_MILLIS = 500;
+    static final int HEARTBEAT_EVERY_FLUSHES = 30;
+    static final long EMITTER_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+    static final int IN_CLAUSE_SIZE = 1000;
+
+    private static final Message HEARTBEAT = new Message(null, null);
+    private static final Message RESYNC = new Message("resync", Map.of());
+
+    private final SpaceRepository spaceRepo;
+    private final ShipmentRepository shipmentRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final TaskExecutor liveFeedExecutor;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<String> dirtyZones = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> dirtyShipments = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> deletedShipments = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean allZonesDirty = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    private int flushes;
+
+    private final Counter sent;
+    private final Counter resyncs;
+    private final Counter disconnects;
+
+    @Autowired
+    public LiveFeedService(SpaceRepository spaceRepo, ShipmentRepository shipmentRepo,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("liveFeedExecutor") TaskExecutor liveFeedExecutor,
+                           MeterRegistry meterRegistry) {
+        this.spaceRepo = spaceRepo;
+        this.shipmentRepo = shipmentRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.liveFeedExecutor = liveFeedExecutor;
+        this.sent = Counter.builder("lwms.live.messages")
+                .description("Live feed messages written to subscribers")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("lwms.live.resyncs")
+                .description("Subscribers that fell behind and were told to reload")
+                .register(meterRegistry);
+        this.disconnects = Counter.builder("lwms.live.disconnects")
+                .description("Subscribers dropped because a write to them failed")
+                .register(meterRegistry);
+        Gauge.builder("lwms.live.subscribers", subscribers, Set::size)
+                .description("Open live feed connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a feed on {@link #SPACES} or {@link #SHIPMENTS}; {@code shipmentId} narrows a
+     * shipment feed down to one shipment, as on the tracking pages.
+     */
+    public SseEmitter subscribe(String topic, Integer shipmentId) {
+        if (!SPACES.equals(topic) && !SHIPMENTS.equals(topic)) {
+            throw new BusinessException("Unknown live feed: " + topic);
+        }
+        if (subscribers.size() >= MAX_SUBSCRIBERS) {
+            throw new BusinessException("Too many live connections, please refresh later.");
+        }
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Subscriber subscriber = new Subscriber(topic, shipmentId, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovement(StockMovementEvent event) {
+        if (event.getZone() != null) {
+            dirtyZones.add(event.getZone());
+        }
+    }
+
+    // Space edits do not say which zone changed, and are rare enough to resend every zone
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWarehouseChanged(WarehouseChangedEvent event) {
+        if (WarehouseChangedEvent.SPACE.equals(event.getEntity())) {
+            allZonesDirty.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        if (event.isDeleted()) {
+            deletedShipments.addAll(event.getShipmentIds());
+        } else {
+            dirtyShipments.addAll(event.getShipmentIds());
+        }
+    }
+
+    @Scheduled(fixedDelay = FLUSH_INTERVAL_MILLIS)
+    public void flush() {
+        boolean heartbeat = ++flushes % HEARTBEAT_EVERY_FLUSHES == 0;
+        boolean allZones = allZonesDirty.getAndSet(false);
+        List<String> zones = drain(dirtyZones);
+        List<Integer> deleted = drain(deletedShipments);
+        List<Integer> shipmentIds = drain(dirtyShipments);
+        shipmentIds.removeAll(deleted);
+
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        boolean wantSpaces = allZones || !zones.isEmpty();
+        boolean wantShipments = !shipmentIds.isEmpty() || !deleted.isEmpty();
+        if (!wantSpaces && !wantShipments && !heartbeat) {
+            return;
+        }
+
+        List<SpaceResponseDTO> spaces = wantSpaces && hasSubscribers(SPACES)
+                ? loadSpaces(allZones, new HashSet<>(zones)) : List.of();
+        List<ShipmentResponseDTO> shipments = !shipmentIds.isEmpty() && hasSubscribers(SHIPMENTS)
+                ? loadShipments(shipmentIds) : List.of();
+
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wantsSpaces()) {
+                for (SpaceResponseDTO space : spaces) {
+                    subscriber.offer("space:" + space.getSpaceId(), new Message("space", space));
+                }
+            }
+            for (ShipmentResponseDTO shipment : shipments) {
+                if (subscriber.wantsShipment(shipment.getShipmentId())) {
+                    subscriber.offer("shipment:" + shipment.getShipmentId(), new Message("shipment", shipment));
+                }
+            }
+            for (Integer id : deleted) {
+                if (subscriber.wantsShipment(id)) {
+                    subscriber.offer("shipment:" + id, new Message("shipment-removed", Map.of("shipmentId", id)));
+                }
+            }
+            if (heartbeat) {
+                subscriber.offer("heartbeat", HEARTBEAT);
+            }
+            if (subscriber.hasPending()) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private boolean hasSubscribers(String topic) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.topic.equals(topic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Space reads go through the second-level query cache, so a full list is as cheap as a lookup.
+    // Both loads follow a commit and happen once per change, so they read the primary: a lagging
+    // replica would push the old values and nothing would correct them until the next change.
+    private List<SpaceResponseDTO> loadSpaces(boolean allZones, Set<String> zones) {
+        return ReadYourWrites.onPrimary(() -> readOnlyTx.execute(status -> {
+            List<SpaceResponseDTO> result = new ArrayList<>();
+            for (Space space : spaceRepo.findAll()) {
+                if (allZones || zones.contains(space.getZone())) {
+                    result.add(SpaceResponseDTO.from(space));
+                }
+            }
+            return result;
+        }));
+    }
+
+    private List<ShipmentResponseDTO> loadShipments(List<Integer> ids) {
+        return ReadYourWrites.onPrimary(() -> readOnlyTx.execute(status -> {
+            List<ShipmentResponseDTO> result = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_SIZE));
+                for (Shipment shipment : shipmentRepo.findAllWithInventoryByIdIn(chunk)) {
+                    result.add(ShipmentResponseDTO.from(shipment));
+                }
+            }
+            return result;
+        }));
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return; // the running send task will pick the new messages up
+        }
+        try {
+            liveFeedExecutor.execute(() -> send(subscriber));
+        } catch (TaskRejectedException ex) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            while (true) {
+                List<Message> batch = subscriber.takePending();
+                if (batch.isEmpty()) {
+                    subscriber.draining.set(false);
+                    // A message offered after takePending but before the flag was cleared
+                    // would otherwise wait for the next flush
+                    if (!subscriber.hasPending() || !subscriber.draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                for (Message message : batch) {
+                    message.writeTo(subscriber.emitter, sequence.incrementAndGet());
+                    if (message == RESYNC) {
+                        resyncs.increment();
+                    } else if (message != HEARTBEAT) {
+                        sent.increment();
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away or the emitter already completed
+            subscriber.draining.set(false);
+            if (subscribers.remove(subscriber)) {
+                disconnects.increment();
+                subscriber.emitter.completeWithError(ex);
+            }
+        }
+    }
+
+    private static <T> List<T> drain(Set<T> dirty) {
+        List<T> drained = new ArrayList<>();
+        for (Iterator<T> it = dirty.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private static final class Subscriber {
+        private final String topic;
+        private final Integer shipmentId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Latest message per zone/shipment; a newer one replaces the older in place
+        private final Map<String, Message> pending = new LinkedHashMap<>();
+
+        private Subscriber(String topic, Integer shipmentId, SseEmitter emitter) {
+            this.topic = topic;
+            this.shipmentId = shipmentId;
+            this.emitter = emitter;
+        }
+
+        private boolean wantsSpaces() {
+            return SPACES.equals(topic);
+        }
+
+        private boolean wantsShipment(Integer id) {
+            return SHIPMENTS.equals(topic) && (shipmentId == null || shipmentId.equals(id));
+        }
+
+        private void offer(String key, Message message) {
+            synchronized (pending) {
+                if (pending.get("resync") == RESYNC) {
+                    return; // the client reloads everything anyway
+                }
+                pending.put(key, message);
+                if (pending.size() > MAX_PENDING_PER_SUBSCRIBER) {
+                    pending.clear();
+                    pending.put("resync", RESYNC);
+                }
+            }
+        }
+
+        private boolean hasPending() {
+            synchronized (pending) {
+                return !pending.isEmpty();
+            }
+        }
+
+        private List<Message> takePending() {
+            synchronized (pending) {
+                List<Message> batch = new ArrayList<>(pending.values());
+                pending.clear();
+                return batch;
+            }
+        }
+    }
+
+    private record Message(String name, Object data) {
+
+        private void writeTo(SseEmitter emitter, long id) throws IOException {
+            if (name == null) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(id))
+                        .name(name)
+                        .data(data, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.model.MaintenanceSchedule;
+import com.example.lwms1.repository.MaintenanceScheduleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of the spaces that are under maintenance. A PENDING task locks its space only
+ * during its window, from its start until its end (or until it is completed when it has none);
+ * tasks saved before windows existed run from the start of their scheduled date.
+ *
+ * The windows are loaded once at startup and then kept in step by MaintenanceService, so lock
+ * checks on the inventory write path are a hash lookup against the set of spaces locked right
+ * now. A single timer thread wakes at the next window boundary and recomputes that set, so a
+ * zone is locked when its window opens and released when it closes, without polling.
+ * Changes are applied only after the surrounding transaction commits.
+ */
+@Component
+public class MaintenanceLockRegistry {
+
+    // Re-check at least this often, in case the wall clock was moved
+    private static final Duration MAX_SLEEP = Duration.ofHours(1);
+
+    private final MaintenanceScheduleRepository repo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    // Guarded by this
+    private final MaintenanceWindowIndex index = new MaintenanceWindowIndex();
+    private ScheduledFuture<?> nextFlip;
+
+    private volatile Set<Integer> lockedNow = Set.of();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "maintenance-windows");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public MaintenanceLockRegistry(MaintenanceScheduleRepository repo, ApplicationEventPublisher eventPublisher) {
+        this(repo, eventPublisher, Clock.systemDefaultZone());
+    }
+
+    MaintenanceLockRegistry(MaintenanceScheduleRepository repo, ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.repo = repo;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<MaintenanceSchedule> pending = repo.findByCompletionStatusIgnoreCase("PENDING");
+        synchronized (this) {
+            index.clear();
+            for (MaintenanceSchedule m : pending) {
+                index(m);
+            }
+        }
+        refresh();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    public boolean isLocked(Integer spaceId) {
+        return spaceId != null && lockedNow.contains(spaceId);
+    }
+
+    public synchronized boolean isLocked(Integer spaceId, LocalDateTime at) {
+        return spaceId != null && index.isLocked(spaceId, at);
+    }
+
+    public List<Integer> getLockedSpaceIds() {
+        return new ArrayList<>(lockedNow);
+    }
+
+    /** Picks up a saved task: a PENDING one locks its space during its window, others never do. */
+    public void track(MaintenanceSchedule m) {
+        Integer scheduleId = m.getScheduleId();
+        if (scheduleId == null) {
+            return;
+        }
+        // Read now: the entity may change again before the transaction commits
+        Integer spaceId = m.getEquipmentId();
+        boolean pending = "PENDING".equalsIgnoreCase(m.getCompletionStatus());
+        LocalDateTime start = m.windowStart();
+        LocalDateTime end = m.getEndsAt();
+        afterCommit(() -> {
+            synchronized (this) {
+                if (pending && spaceId != null) {
+                    index.put(scheduleId, spaceId, start, end);
+                } else {
+                    index.remove(scheduleId);
+                }
+            }
+            refresh();
+        });
+    }
+
+    public void release(Integer scheduleId) {
+        if (scheduleId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                index.remove(scheduleId);
+            }
+            refresh();
+        });
+    }
+
+    /** Recomputes the spaces locked now and sets the timer for the next window boundary. */
+    public void refresh() {
+        boolean changed;
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            Set<Integer> locked = Set.copyOf(index.lockedAt(now));
+            changed = !locked.equals(lockedNow);
+            lockedNow = locked;
+            scheduleNextFlip(now);
+        }
+        if (changed) {
+            eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.MAINTENANCE));
+        }
+    }
+
+    private void index(MaintenanceSchedule m) {
+        if (m.getScheduleId() != null && m.getEquipmentId() != null) {
+            index.put(m.getScheduleId(), m.getEquipmentId(), m.windowStart(), m.getEndsAt());
+        }
+    }
+
+    private void scheduleNextFlip(LocalDateTime now) {
+        if (nextFlip != null) {
+            nextFlip.cancel(false);
+            nextFlip = null;
+        }
+        if (timer.isShutdown()) {
+            return;
+        }
+        LocalDateTime next = index.nextBoundaryAfter(now);
+        if (next == null) {
+            return;
+        }
+        Duration sleep = Duration.between(now, next);
+        if (sleep.compareTo(MAX_SLEEP) > 0) {
+            sleep = MAX_SLEEP;
+        }
+        // One millisecond late rather than early, so the boundary has passed when it runs
+        nextFlip = timer.schedule(this::refresh, sleep.toMillis() + 1, TimeUnit.MILLISECONDS);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.lwms1.service;
 
 import com.example.lwms1.dto.MaintenanceDTO;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.MaintenanceSchedule;
 import com.example.lwms1.repository.MaintenanceScheduleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,11 +22,18 @@ import java.util.Optional;
 @Transactional
 public class MaintenanceService {
 
+    private static final DateTimeFormatter WINDOW_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final MaintenanceScheduleRepository repo;
+    private final MaintenanceLockRegistry lockRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public MaintenanceService(MaintenanceScheduleRepository repo) {
+    public MaintenanceService(MaintenanceScheduleRepository repo, MaintenanceLockRegistry lockRegistry,
+                              ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
+        this.lockRegistry = lockRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -33,12 +46,22 @@ public class MaintenanceService {
         m.setEquipmentId(dto.getEquipmentId());
         m.setDescription(dto.getDescription());
         m.setScheduledDate(dto.getScheduledDate());
+        LocalDateTime start = dto.getScheduledDate()
+                .atTime(dto.getStartTime() != null ? dto.getStartTime() : LocalTime.MIDNIGHT);
+        if (dto.getEndsAt() != null && !dto.getEndsAt().isAfter(start)) {
+            throw new BusinessException("Maintenance must end after it starts.");
+        }
+        m.setStartsAt(start);
+        m.setEndsAt(dto.getEndsAt());
         if (dto.getCompletionStatus() != null) {
             m.setCompletionStatus(dto.getCompletionStatus());
         } else {
             m.setCompletionStatus("PENDING");
         }
-        return repo.save(m);
+        MaintenanceSchedule saved = repo.save(m);
+        lockRegistry.track(saved);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.MAINTENANCE));
+        return saved;
     }
 
     public String toggleStatusAndGetMessage(Integer id) {
@@ -51,16 +74,40 @@ public class MaintenanceService {
         String nextStatus = "PENDING".equalsIgnoreCase(currentStatus) ? "COMPLETED" : "PENDING";
         m.setCompletionStatus(nextStatus);
         repo.save(m);
+        lockRegistry.track(m);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.MAINTENANCE));
         if ("COMPLETED".equals(nextStatus)) {
             return "Maintenance finished. Zone is UNLOCKED.";
         } else {
-            return "Maintenance reopened. Zone is LOCKED.";
+            return "Maintenance reopened. " + describeLock(m);
         }
     }
 
+    /** Tells whether the task locks its zone now, later or no more, for the flash messages. */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String describeLock(MaintenanceSchedule m) {
+        if (!"PENDING".equalsIgnoreCase(m.getCompletionStatus())) {
+            return "Zone is not locked.";
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (m.windowContains(now)) {
+            return m.getEndsAt() != null
+                    ? "Zone is LOCKED until " + m.getEndsAt().format(WINDOW_FORMAT) + "."
+                    : "Zone is LOCKED.";
+        }
+        if (now.isBefore(m.windowStart())) {
+            return "Zone will be locked from " + m.windowStart().format(WINDOW_FORMAT) + ".";
+        }
+        return "Its window has passed, so the zone stays unlocked.";
+    }
+
     public void delete(Integer id) {
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
+        Optional<MaintenanceSchedule> opt = repo.findById(id);
+        if (opt.isPresent()) {
+            MaintenanceSchedule m = opt.get();
+            repo.delete(m);
+            lockRegistry.release(m.getScheduleId());
+            eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.MAINTENANCE));
         } else {
             throw new ResourceNotFoundException("Maintenance not found ID: " + id);
         }
@@ -70,14 +117,8 @@ public class MaintenanceService {
     public long getPendingMaintenanceCount() {
         return repo.countByCompletionStatusIgnoreCase("PENDING");
     }
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<Integer> getCurrentlyLockedSpaceIds() {
-        List<MaintenanceSchedule> allSchedules = repo.findAll();
-        List<Integer> lockedIds = new ArrayList<Integer>();
-        for (MaintenanceSchedule schedule : allSchedules) {
-            if ("PENDING".equalsIgnoreCase(schedule.getCompletionStatus())) {
-                lockedIds.add(schedule.getEquipmentId());
-            }
-        }
-        return lockedIds;
+        return lockRegistry.getLockedSpaceIds();
     }
 }
\ No newline at end of file
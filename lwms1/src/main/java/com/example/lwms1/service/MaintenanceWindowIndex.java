@@ -0,0 +1,137 @@
+package com.example.lwms1.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maintenance windows per space, answering "is space X locked at time T". A window is the
+ * half-open interval [start, end); a null end means open until the task is completed.
+ *
+ * The windows of a space are kept merged into disjoint intervals sorted by start, so a lookup
+ * is one binary search: O(log n) in the number of windows on that space. Writes re-merge only
+ * the space they touch. Not thread-safe; MaintenanceLockRegistry guards it.
+ */
+final class MaintenanceWindowIndex {
+
+    private record Window(int spaceId, LocalDateTime start, LocalDateTime end) {}
+
+    // Disjoint, sorted by start; an open end is stored as LocalDateTime.MAX
+    private record Merged(LocalDateTime[] starts, LocalDateTime[] ends) {}
+
+    private final Map<Integer, Window> bySchedule = new HashMap<>();
+    private final Map<Integer, List<Window>> windowsBySpace = new HashMap<>();
+    private final Map<Integer, Merged> mergedBySpace = new HashMap<>();
+
+    // Every window start and end, with the number of windows sharing it
+    private final TreeMap<LocalDateTime, Integer> boundaries = new TreeMap<>();
+
+    /** Adds the window of a schedule, replacing the one it had before. */
+    void put(int scheduleId, int spaceId, LocalDateTime start, LocalDateTime end) {
+        remove(scheduleId);
+        if (end != null && !end.isAfter(start)) {
+            return;
+        }
+        Window window = new Window(spaceId, start, end);
+        bySchedule.put(scheduleId, window);
+        windowsBySpace.computeIfAbsent(spaceId, id -> new ArrayList<>()).add(window);
+        addBoundary(start);
+        if (end != null) {
+            addBoundary(end);
+        }
+        remerge(spaceId);
+    }
+
+    void remove(int scheduleId) {
+        Window window = bySchedule.remove(scheduleId);
+        if (window == null) {
+            return;
+        }
+        List<Window> windows = windowsBySpace.get(window.spaceId());
+        windows.remove(window);
+        if (windows.isEmpty()) {
+            windowsBySpace.remove(window.spaceId());
+        }
+        removeBoundary(window.start());
+        if (window.end() != null) {
+            removeBoundary(window.end());
+        }
+        remerge(window.spaceId());
+    }
+
+    void clear() {
+        bySchedule.clear();
+        windowsBySpace.clear();
+        mergedBySpace.clear();
+        boundaries.clear();
+    }
+
+    boolean isLocked(int spaceId, LocalDateTime at) {
+        Merged merged = mergedBySpace.get(spaceId);
+        if (merged == null) {
+            return false;
+        }
+        // Last interval starting at or before 'at'
+        int i = Arrays.binarySearch(merged.starts(), at);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return i >= 0 && at.isBefore(merged.ends()[i]);
+    }
+
+    Set<Integer> lockedAt(LocalDateTime at) {
+        Set<Integer> locked = new HashSet<>();
+        for (Integer spaceId : mergedBySpace.keySet()) {
+            if (isLocked(spaceId, at)) {
+                locked.add(spaceId);
+            }
+        }
+        return locked;
+    }
+
+    /** The first time after 'at' when some space may become locked or free, or null if none. */
+    LocalDateTime nextBoundaryAfter(LocalDateTime at) {
+        return boundaries.higherKey(at);
+    }
+
+    private void remerge(int spaceId) {
+        List<Window> windows = windowsBySpace.get(spaceId);
+        if (windows == null) {
+            mergedBySpace.remove(spaceId);
+            return;
+        }
+        List<Window> sorted = new ArrayList<>(windows);
+        sorted.sort(Comparator.comparing(Window::start));
+        List<LocalDateTime> starts = new ArrayList<>();
+        List<LocalDateTime> ends = new ArrayList<>();
+        for (Window window : sorted) {
+            LocalDateTime end = window.end() != null ? window.end() : LocalDateTime.MAX;
+            int last = ends.size() - 1;
+            // Overlapping or touching windows lock the space without a gap
+            if (last >= 0 && !window.start().isAfter(ends.get(last))) {
+                if (end.isAfter(ends.get(last))) {
+                    ends.set(last, end);
+                }
+            } else {
+                starts.add(window.start());
+                ends.add(end);
+            }
+        }
+        mergedBySpace.put(spaceId, new Merged(starts.toArray(new LocalDateTime[0]), ends.toArray(new LocalDateTime[0])));
+    }
+
+    private void addBoundary(LocalDateTime at) {
+        boundaries.merge(at, 1, Integer::sum);
+    }
+
+    private void removeBoundary(LocalDateTime at) {
+        boundaries.computeIfPresent(at, (key, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.PutawaySlotDTO;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses zones for incoming stock. Zones are kept ordered by available capacity, so the best
+ * fit for a receipt (the fullest zone that still has room for it) is a ceiling lookup instead of
+ * a scan over every Space; zones under maintenance are stepped over.
+ *
+ * The ordering is a snapshot. Committed stock movements mark their zone stale and stale zones
+ * are re-read before the next plan, so a plan can still be slightly behind: the capacity itself
+ * is taken through {@link CapacityLedger}, which refuses a zone that filled up in the meantime.
+ */
+@Component
+public class PutawayAllocator {
+
+    private final SpaceRepository spaceRepo;
+    private final InventoryRepository inventoryRepo;
+    private final MaintenanceLockRegistry lockRegistry;
+
+    // Guarded by this; ordered by available capacity, then space id
+    private final TreeSet<Slot> slots = new TreeSet<>();
+    private final Map<Integer, Slot> slotsBySpace = new HashMap<>();
+
+    private final Set<String> staleZones = ConcurrentHashMap.newKeySet();
+    private volatile boolean reloadAll = true;
+
+    @Autowired
+    public PutawayAllocator(SpaceRepository spaceRepo, InventoryRepository inventoryRepo,
+                            MaintenanceLockRegistry lockRegistry) {
+        this.spaceRepo = spaceRepo;
+        this.inventoryRepo = inventoryRepo;
+        this.lockRegistry = lockRegistry;
+    }
+
+    /**
+     * Plans where {@code quantity} units go. A zone that already holds the category and has room
+     * wins; otherwise the best fit over all zones. If no single zone has room and {@code split}
+     * is set, the receipt is spread over as few zones as possible, the last part again best fit.
+     */
+    public synchronized List<PutawaySlotDTO> plan(int quantity, String category, boolean split) {
+        refresh();
+
+        if (category != null) {
+            Slot best = null;
+            for (Integer spaceId : inventoryRepo.findSpaceIdsByCategory(category)) {
+                Slot slot = slotsBySpace.get(spaceId);
+                if (slot != null && slot.available() >= quantity && !lockRegistry.isLocked(spaceId)
+                        && (best == null || slot.compareTo(best) < 0)) {
+                    best = slot;
+                }
+            }
+            if (best != null) {
+                return List.of(best.take(quantity));
+            }
+        }
+
+        Set<Integer> used = new HashSet<>();
+        Slot fit = bestFit(quantity, used);
+        if (fit != null) {
+            return List.of(fit.take(quantity));
+        }
+        if (!split) {
+            throw new BusinessException("No single zone has room for " + quantity + " units.");
+        }
+
+        List<PutawaySlotDTO> plan = new ArrayList<>();
+        int remaining = quantity;
+        while (remaining > 0) {
+            fit = bestFit(remaining, used);
+            if (fit != null) {
+                plan.add(fit.take(remaining));
+                break;
+            }
+            Slot largest = largestFree(used);
+            if (largest == null) {
+                throw new BusinessException("Not enough free capacity for " + quantity + " units across all zones.");
+            }
+            used.add(largest.spaceId());
+            plan.add(largest.take(largest.available()));
+            remaining -= largest.available();
+        }
+        return plan;
+    }
+
+    /** Has the zone re-read before the next plan, e.g. after the ledger refused it. */
+    public void markStale(String zone) {
+        if (zone != null) {
+            staleZones.add(zone);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMovement(StockMovementEvent event) {
+        markStale(event.getZone());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWarehouseChanged(WarehouseChangedEvent event) {
+        // Zones were added, removed, renamed or resized
+        if (WarehouseChangedEvent.SPACE.equals(event.getEntity())) {
+            reloadAll = true;
+        }
+    }
+
+    private Slot bestFit(int quantity, Set<Integer> used) {
+        for (Slot slot : slots.tailSet(new Slot(quantity, Integer.MIN_VALUE, null), true)) {
+            if (!used.contains(slot.spaceId()) && !lockRegistry.isLocked(slot.spaceId())) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private Slot largestFree(Set<Integer> used) {
+        for (Slot slot : slots.descendingSet()) {
+            if (slot.available() <= 0) {
+                return null;
+            }
+            if (!used.contains(slot.spaceId()) && !lockRegistry.isLocked(slot.spaceId())) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private void refresh() {
+        if (reloadAll) {
+            reloadAll = false;
+            staleZones.clear();
+            slots.clear();
+            slotsBySpace.clear();
+            for (Space space : spaceRepo.findAll()) {
+                put(space);
+            }
+            return;
+        }
+        for (Iterator<String> it = staleZones.iterator(); it.hasNext(); ) {
+            String zone = it.next();
+            it.remove();
+            Optional<Space> spaceOptional = spaceRepo.findByZone(zone);
+            if (spaceOptional.isPresent()) {
+                put(spaceOptional.get());
+            }
+        }
+    }
+
+    private void put(Space space) {
+        Slot old = slotsBySpace.remove(space.getSpaceId());
+        if (old != null) {
+            slots.remove(old);
+        }
+        int available = space.getAvailableCapacity() != null ? space.getAvailableCapacity() : 0;
+        Slot slot = new Slot(available, space.getSpaceId(), space.getZone());
+        slots.add(slot);
+        slotsBySpace.put(slot.spaceId(), slot);
+    }
+
+    private record Slot(int available, int spaceId, String zone) implements Comparable<Slot> {
+
+        PutawaySlotDTO take(int quantity) {
+            return new PutawaySlotDTO(spaceId, zone, quantity);
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byAvailable = Integer.compare(available, other.available);
+            return byAvailable != 0 ? byAvailable : Integer.compare(spaceId, other.spaceId);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.model.Report;
+import com.example.lwms1.model.ReportChunk;
+import com.example.lwms1.repository.ReportChunkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores report bodies gzip-compressed in fixed-size {@link ReportChunk} rows. Writing flushes
+ * a chunk to the database each time {@link ReportChunk#MAX_SIZE} compressed bytes have been
+ * produced, and reading pulls the chunks back one query at a time.
+ */
+@Component
+public class ReportContentStore {
+
+    private final ReportChunkRepository chunkRepo;
+
+    @Autowired
+    public ReportContentStore(ReportChunkRepository chunkRepo) {
+        this.chunkRepo = chunkRepo;
+    }
+
+    /** Opens a writer for the body of an already saved report. Closing it stores the last chunk. */
+    public BodyWriter openWriter(Integer reportId) {
+        return new BodyWriter(new ChunkOutputStream(reportId));
+    }
+
+    /** Writes the uncompressed body as UTF-8 to {@code out}. */
+    public void copyTo(Report report, OutputStream out) throws IOException {
+        Integer chunks = report.getChunkCount();
+        if (chunks == null || chunks == 0) {
+            if (report.getDetails() != null) {
+                out.write(report.getDetails().getBytes(StandardCharsets.UTF_8));
+            }
+            return;
+        }
+        try (InputStream in = new GZIPInputStream(new ChunkInputStream(report.getReportId(), chunks), 8192)) {
+            in.transferTo(out);
+        }
+    }
+
+    public void delete(Integer reportId) {
+        chunkRepo.deleteByReportId(reportId);
+    }
+
+    /**
+     * Character writer that compresses into a target stream and keeps track of the uncompressed
+     * and compressed byte counts for the report's metadata.
+     */
+    public static class BodyWriter extends Writer {
+
+        private final CountingOutputStream compressed;
+        private final CountingOutputStream original;
+        private final Writer writer;
+
+        public BodyWriter(OutputStream target) {
+            this.compressed = new CountingOutputStream(target);
+            try {
+                this.original = new CountingOutputStream(new GZIPOutputStream(compressed, 8192));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            this.writer = new BufferedWriter(new OutputStreamWriter(original, StandardCharsets.UTF_8), 8192);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            writer.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            writer.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+        public long getOriginalSize() { return original.count; }
+        public long getCompressedSize() { return compressed.count; }
+
+        public int getChunkCount() {
+            return (int) ((compressed.count + ReportChunk.MAX_SIZE - 1) / ReportChunk.MAX_SIZE);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private final class ChunkOutputStream extends OutputStream {
+        private final Integer reportId;
+        private final byte[] buffer = new byte[ReportChunk.MAX_SIZE];
+        private int position;
+        private int chunkIndex;
+
+        private ChunkOutputStream(Integer reportId) {
+            this.reportId = reportId;
+        }
+
+        @Override
+        public void write(int b) {
+            if (position == buffer.length) {
+                flushChunk();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                if (position == buffer.length) {
+                    flushChunk();
+                }
+                int n = Math.min(len, buffer.length - position);
+                System.arraycopy(b, off, buffer, position, n);
+                position += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (position > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() {
+            chunkRepo.save(new ReportChunk(reportId, chunkIndex++, Arrays.copyOf(buffer, position)));
+            position = 0;
+        }
+    }
+
+    private final class ChunkInputStream extends InputStream {
+        private final Integer reportId;
+        private final int chunkCount;
+        private int nextIndex;
+        private byte[] current = new byte[0];
+        private int position;
+
+        private ChunkInputStream(Integer reportId, int chunkCount) {
+            this.reportId = reportId;
+            this.chunkCount = chunkCount;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureData()) {
+                return -1;
+            }
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureData()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean ensureData() throws IOException {
+            while (position == current.length) {
+                if (nextIndex == chunkCount) {
+                    return false;
+                }
+                int index = nextIndex++;
+                current = chunkRepo.findByReportIdAndChunkIndex(reportId, index)
+                        .orElseThrow(() -> new IOException("Report " + reportId + " is missing chunk " + index))
+                        .getData();
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
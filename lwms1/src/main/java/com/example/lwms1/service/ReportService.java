@@ -1,94 +1,236 @@
 package com.example.lwms1.service;
 
 import com.example.lwms1.dto.ReportDTO;
+import com.example.lwms1.dto.ReportJobDTO;
+import com.example.lwms1.dto.ReportSummaryDTO;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.*;
 import com.example.lwms1.repository.*;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
+/**
+ * Generates reports as background jobs. {@link #generate} only queues the job and returns its id;
+ * a worker from the bounded "reportExecutor" pool streams the rows out of the database in
+ * fetch-size chunks and formats them straight into the output, so neither the request thread
+ * nor the whole table is held while a report is built. The output goes to
+ * {@link ReportContentStore}, which compresses it into chunks as it is written.
+ */
 @Service
 public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    static final int CLEAR_INTERVAL = 500;
+    static final int MAX_FINISHED_JOBS = 50;
+    private static final String RULE = "----------------------------------------------------------\n";
+
     private final ReportRepository reportRepo;
     private final InventoryRepository inventoryRepo;
     private final ShipmentRepository shipmentRepo;
     private final SpaceRepository spaceRepo;
     private final MaintenanceScheduleRepository maintenanceRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskExecutor reportExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ReportContentStore contentStore;
+
+    private final Map<String, ReportJobDTO> jobs = new ConcurrentHashMap<>();
 
     @Autowired
     public ReportService(ReportRepository reportRepo, InventoryRepository inventoryRepo,
                          ShipmentRepository shipmentRepo, SpaceRepository spaceRepo,
-                         MaintenanceScheduleRepository maintenanceRepo) {
+                         MaintenanceScheduleRepository maintenanceRepo,
+                         ApplicationEventPublisher eventPublisher,
+                         @Qualifier("reportExecutor") TaskExecutor reportExecutor,
+                         PlatformTransactionManager transactionManager,
+                         EntityManager entityManager,
+                         ReportContentStore contentStore) {
         this.reportRepo = reportRepo;
         this.inventoryRepo = inventoryRepo;
         this.shipmentRepo = shipmentRepo;
         this.spaceRepo = spaceRepo;
         this.maintenanceRepo = maintenanceRepo;
+        this.eventPublisher = eventPublisher;
+        this.reportExecutor = reportExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.contentStore = contentStore;
     }
 
-    public List<Report> listAll() {
+    public List<ReportSummaryDTO> listAll() {
 
-        return reportRepo.findAll();
+        return reportRepo.findAllSummaries();
     }
 
-    public void generate(ReportDTO dto) {
+    public Report get(Integer id) {
+        return reportRepo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report not found: " + id));
+    }
+
+    /** Streams the report body to {@code out} without materialising it in memory. */
+    public void writeContent(Report report, OutputStream out) throws IOException {
+        contentStore.copyTo(report, out);
+    }
+
+    /** Queues a report and returns the job id to poll with {@link #findJob}. */
+    public String generate(ReportDTO dto) {
+        pruneFinishedJobs();
+        ReportJobDTO job = new ReportJobDTO(UUID.randomUUID().toString(), dto.getReportType());
+        jobs.put(job.getJobId(), job);
+        try {
+            reportExecutor.execute(() -> runJob(job, dto));
+        } catch (TaskRejectedException ex) {
+            jobs.remove(job.getJobId());
+            throw new BusinessException("Report queue is full, please try again in a few minutes.");
+        }
+        return job.getJobId();
+    }
+
+    public Optional<ReportJobDTO> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /** Most recent jobs first. */
+    public List<ReportJobDTO> listJobs() {
+        List<ReportJobDTO> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparing(ReportJobDTO::getSubmittedAt).reversed());
+        return result;
+    }
+
+    // The chunks and the report row go together, or neither does
+    @Transactional
+    public void delete(Integer id) {
+        contentStore.delete(id);
+        reportRepo.deleteById(id);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.REPORT));
+    }
+
+    private void runJob(ReportJobDTO job, ReportDTO dto) {
+        try {
+            Integer reportId = transactionTemplate.execute(status -> buildReport(job, dto));
+            job.markCompleted(reportId);
+        } catch (RuntimeException ex) {
+            log.error("Report job {} ({}) failed", job.getJobId(), job.getReportType(), ex);
+            job.markFailed(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+        }
+    }
+
+    private Integer buildReport(ReportJobDTO job, ReportDTO dto) {
         Report report = new Report();
         report.setReportType(dto.getReportType());
         report.setGeneratedOn(LocalDateTime.now());
+        // Saved first so the chunks can reference its id; the sizes are filled in below
+        report = reportRepo.save(report);
 
-        StringBuilder content = new StringBuilder();
-        content.append("===== ").append(dto.getReportType()).append(" REPORT =====\n");
-        content.append("Date: ").append(LocalDateTime.now()).append("\n\n");
+        ReportContentStore.BodyWriter body = contentStore.openWriter(report.getReportId());
+        try (body) {
+            writeReport(job, dto, body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store report content", ex);
+        }
+
+        report.setOriginalSize(body.getOriginalSize());
+        report.setCompressedSize(body.getCompressedSize());
+        report.setChunkCount(body.getChunkCount());
+        Report saved = reportRepo.save(report);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.REPORT));
+        return saved.getReportId();
+    }
 
+    private void writeReport(ReportJobDTO job, ReportDTO dto, Writer out) {
+        Formatter fmt = new Formatter(out);
         String type = dto.getReportType();
+        fmt.format("===== %s REPORT =====\n", type);
+        fmt.format("Date: %s\n\n", LocalDateTime.now());
 
         if ("INVENTORY".equals(type)) {
-            content.append(String.format("%-20s | %-10s | %-15s\n", "Item", "Qty", "Location"));
-            content.append("----------------------------------------------------------\n");
-            List<Inventory> items = inventoryRepo.findAll();
-            for (Inventory item : items) {
-                content.append(String.format("%-20s | %-10d | %-15s\n",
-                        item.getItemName(), item.getQuantity(), item.getLocation()));
-            }
+            fmt.format("%-20s | %-10s | %-15s\n", "Item", "Qty", "Location").format(RULE);
+            job.markRunning(inventoryRepo.count());
+            writeRows(job, inventoryRepo.streamAll(), fmt, (f, item) ->
+                    f.format("%-20s | %-10d | %-15s\n", item.getItemName(), item.getQuantity(), item.getLocation()));
         }
         else if ("SHIPMENT".equals(type)) {
-            content.append(String.format("%-10s | %-20s | %-12s\n", "ID", "Dest", "Status"));
-            content.append("----------------------------------------------------------\n");
-            List<Shipment> shipments = shipmentRepo.findAll();
-            for (Shipment s : shipments) {
-                content.append(String.format("#SH-%-6d | %-20s | %-12s\n",
-                        s.getShipmentId(), s.getDestination(), s.getStatus()));
-            }
+            fmt.format("%-10s | %-20s | %-12s\n", "ID", "Dest", "Status").format(RULE);
+            job.markRunning(shipmentRepo.count());
+            writeRows(job, shipmentRepo.streamAll(), fmt, (f, s) ->
+                    f.format("#SH-%-6d | %-20s | %-12s\n", s.getShipmentId(), s.getDestination(), s.getStatus()));
         }
         else if ("SPACE".equals(type)) {
-            content.append(String.format("%-15s | %-10s | %-10s\n", "Zone", "Total", "Used"));
-            content.append("----------------------------------------------------------\n");
-            List<Space> spaces = spaceRepo.findAll();
-            for (Space space : spaces) {
-                content.append(String.format("%-15s | %-10d | %-10d\n",
-                        space.getZone(), space.getTotalCapacity(), space.getUsedCapacity()));
-            }
+            fmt.format("%-15s | %-10s | %-10s\n", "Zone", "Total", "Used").format(RULE);
+            job.markRunning(spaceRepo.count());
+            writeRows(job, spaceRepo.streamAll(), fmt, (f, space) ->
+                    f.format("%-15s | %-10d | %-10d\n", space.getZone(), space.getTotalCapacity(), space.getUsedCapacity()));
         }
         else if ("MAINTENANCE".equals(type)) {
-            content.append(String.format("%-12s | %-20s | %-10s\n", "ID", "Desc", "Status"));
-            content.append("----------------------------------------------------------\n");
-            List<MaintenanceSchedule> tasks = maintenanceRepo.findAll();
-            for (MaintenanceSchedule m : tasks) {
-                content.append(String.format("%-12d | %-20s | %-10s\n",
-                        m.getEquipmentId(), m.getDescription(), m.getCompletionStatus()));
-            }
+            fmt.format("%-12s | %-20s | %-10s\n", "ID", "Desc", "Status").format(RULE);
+            job.markRunning(maintenanceRepo.count());
+            writeRows(job, maintenanceRepo.streamAll(), fmt, (f, m) ->
+                    f.format("%-12d | %-20s | %-10s\n", m.getEquipmentId(), m.getDescription(), m.getCompletionStatus()));
+        }
+        else {
+            job.markRunning(0);
         }
 
         if (dto.getCustomNotes() != null && !dto.getCustomNotes().isEmpty()) {
-            content.append("\nNOTES: ").append(dto.getCustomNotes());
+            fmt.format("\nNOTES: %s", dto.getCustomNotes());
         }
+        fmt.flush();
+        if (fmt.ioException() != null) {
+            throw new UncheckedIOException("Could not write report output", fmt.ioException());
+        }
+    }
 
-        report.setDetails(content.toString());
-        reportRepo.save(report);
+    private <T> void writeRows(ReportJobDTO job, Stream<T> rows, Formatter fmt, BiConsumer<Formatter, T> line) {
+        try (rows) {
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                line.accept(fmt, it.next());
+                job.rowWritten();
+                // Detach what has been written so the persistence context does not grow with the table
+                if (job.getProcessedRows() % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
-    public void delete(Integer id) {
-        reportRepo.deleteById(id);
+    private void pruneFinishedJobs() {
+        List<ReportJobDTO> finished = new ArrayList<>();
+        for (ReportJobDTO job : jobs.values()) {
+            if (job.isFinished()) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() < MAX_FINISHED_JOBS) {
+            return;
+        }
+        finished.sort(Comparator.comparing(ReportJobDTO::getFinishedAt));
+        for (int i = 0; i <= finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i).getJobId());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,208 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.ShipmentBatchResultDTO;
+import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.event.ShipmentChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.ShipmentJdbcRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Creates a wave of shipments in one transaction. Zones and then inventory rows are locked in
+ * ascending id order (the same zone-before-item order as {@link ShipmentService#create} and
+ * cancellations), so concurrent batches and single shipments cannot deadlock on each other.
+ * Stock is checked line by line against the locked rows; each item and each zone is then
+ * updated once with the summed quantities and the shipments are inserted with JDBC batching.
+ * Lines that fail validation or stock checks are reported and skipped without affecting the
+ * others.
+ */
+@Service
+public class ShipmentBatchService {
+
+    public static final int MAX_LINES = 5000;
+    static final int IN_CLAUSE_SIZE = 1000;
+    static final int JDBC_BATCH_SIZE = 500;
+
+    private final InventoryRepository inventoryRepo;
+    private final ShipmentJdbcRepository shipmentJdbcRepo;
+    private final CapacityLedger capacityLedger;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ShipmentBatchService(InventoryRepository inventoryRepo, ShipmentJdbcRepository shipmentJdbcRepo,
+                                CapacityLedger capacityLedger, Validator validator,
+                                ApplicationEventPublisher eventPublisher) {
+        this.inventoryRepo = inventoryRepo;
+        this.shipmentJdbcRepo = shipmentJdbcRepo;
+        this.capacityLedger = capacityLedger;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public ShipmentBatchResultDTO createAll(List<ShipmentDTO> lines) {
+        if (lines.size() > MAX_LINES) {
+            throw new BusinessException("A batch may contain at most " + MAX_LINES + " shipments.");
+        }
+        int n = lines.size();
+        String[] errors = new String[n];
+        Shipment[] created = new Shipment[n];
+
+        SortedSet<Integer> itemIds = new TreeSet<>();
+        for (int i = 0; i < n; i++) {
+            errors[i] = validate(lines.get(i));
+            if (errors[i] == null) {
+                itemIds.add(lines.get(i).getItemId());
+            }
+        }
+
+        Map<Integer, Inventory> items = lockItems(itemIds);
+
+        // Check every line against the stock left by the lines before it
+        Map<Integer, Integer> remaining = new HashMap<>();
+        for (Inventory item : items.values()) {
+            remaining.put(item.getItemId(), item.getQuantity());
+        }
+        List<Shipment> shipments = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            ShipmentDTO dto = lines.get(i);
+            Inventory item = items.get(dto.getItemId());
+            if (item == null) {
+                errors[i] = "Item not found: " + dto.getItemId();
+            } else if (remaining.get(item.getItemId()) < dto.getQuantity()) {
+                errors[i] = "Insufficient stock available.";
+            } else {
+                remaining.merge(item.getItemId(), -dto.getQuantity(), Integer::sum);
+                created[i] = toShipment(dto, item);
+                shipments.add(created[i]);
+            }
+        }
+
+        if (!shipments.isEmpty()) {
+            applyDeltas(shipments);
+            shipmentJdbcRepo.insertAll(shipments, JDBC_BATCH_SIZE);
+            shipmentJdbcRepo.insertInitialStatusLog(shipments, LocalDateTime.now(), ShipmentService.currentUsername(),
+                    JDBC_BATCH_SIZE);
+            eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SHIPMENT));
+            List<Integer> ids = new ArrayList<>(shipments.size());
+            for (Shipment s : shipments) {
+                ids.add(s.getShipmentId());
+            }
+            eventPublisher.publishEvent(new ShipmentChangedEvent(ids, false));
+        }
+
+        ShipmentBatchResultDTO result = new ShipmentBatchResultDTO();
+        for (int i = 0; i < n; i++) {
+            if (errors[i] != null) {
+                result.failed(i, errors[i]);
+            } else {
+                result.succeeded(i, created[i].getShipmentId());
+            }
+        }
+        return result;
+    }
+
+    private String validate(ShipmentDTO dto) {
+        if (dto == null) {
+            return "Empty shipment line";
+        }
+        Set<ConstraintViolation<ShipmentDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            try {
+                ShipmentService.initialStatus(dto.getStatus());
+                return null;
+            } catch (BusinessException ex) {
+                return ex.getMessage();
+            }
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /** Locks the zones of the requested items first, then the items themselves, both in id order. */
+    private Map<Integer, Inventory> lockItems(SortedSet<Integer> itemIds) {
+        List<List<Integer>> chunks = chunk(new ArrayList<>(itemIds));
+
+        SortedSet<Integer> spaceIds = new TreeSet<>();
+        for (List<Integer> ids : chunks) {
+            spaceIds.addAll(inventoryRepo.findSpaceIdsByItemIds(ids));
+        }
+        if (!spaceIds.isEmpty()) {
+            capacityLedger.lockZones(spaceIds);
+        }
+
+        Map<Integer, Inventory> items = new HashMap<>();
+        for (List<Integer> ids : chunks) {
+            for (Inventory item : inventoryRepo.lockAllByIdInOrder(ids)) {
+                items.put(item.getItemId(), item);
+            }
+        }
+        return items;
+    }
+
+    /** One UPDATE per item and one capacity release per zone, whatever the number of lines. */
+    private void applyDeltas(List<Shipment> shipments) {
+        Map<Inventory, Integer> perItem = new LinkedHashMap<>();
+        for (Shipment s : shipments) {
+            perItem.merge(s.getInventory(), s.getQuantity(), Integer::sum);
+        }
+        SortedMap<Integer, Integer> perSpace = new TreeMap<>();
+        Map<Integer, Space> spaces = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Inventory, Integer> entry : perItem.entrySet()) {
+            Inventory item = entry.getKey();
+            item.setQuantity(item.getQuantity() - entry.getValue());
+            item.setLastUpdated(now);
+            Space space = item.getStorageSpace();
+            if (space != null) {
+                perSpace.merge(space.getSpaceId(), entry.getValue(), Integer::sum);
+                spaces.putIfAbsent(space.getSpaceId(), space);
+            }
+            eventPublisher.publishEvent(new StockMovementEvent(StockMovementEvent.SHIPMENT, item.getLocation(),
+                    item.getStorageSpaceId(), item.getItemId(), -entry.getValue()));
+        }
+        for (Map.Entry<Integer, Integer> entry : perSpace.entrySet()) {
+            capacityLedger.release(spaces.get(entry.getKey()), entry.getValue());
+        }
+    }
+
+    private Shipment toShipment(ShipmentDTO dto, Inventory item) {
+        Shipment s = new Shipment();
+        s.setInventory(item);
+        s.setQuantity(dto.getQuantity());
+        s.setOrigin(dto.getOrigin());
+        s.setDestination(dto.getDestination());
+        s.setExpectedDeliveryDate(dto.getExpectedDeliveryDate());
+        s.setStatus(ShipmentService.initialStatus(dto.getStatus()));
+        return s;
+    }
+
+    private static List<List<Integer>> chunk(List<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_SIZE)));
+        }
+        return chunks;
+    }
+}
@@ -1,34 +1,91 @@
 package com.example.lwms1.service;
 
+import com.example.lwms1.dto.KeysetPageDTO;
 import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.event.ShipmentChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.event.WarehouseChangedEvent;
 import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.Inventory;
 import com.example.lwms1.model.Shipment;
-import com.example.lwms1.model.Space;
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.model.ShipmentStatusChange;
 import com.example.lwms1.repository.InventoryRepository;
 import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.ShipmentStatusChangeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ShipmentService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final ShipmentRepository shipmentRepo;
     private final InventoryRepository inventoryRepo;
+    private final ShipmentStatusChangeRepository statusLogRepo;
+    private final CapacityLedger capacityLedger;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ShipmentService(ShipmentRepository shipmentRepo, InventoryRepository inventoryRepo) {
+    public ShipmentService(ShipmentRepository shipmentRepo, InventoryRepository inventoryRepo,
+                           ShipmentStatusChangeRepository statusLogRepo, CapacityLedger capacityLedger,
+                           ApplicationEventPublisher eventPublisher) {
         this.shipmentRepo = shipmentRepo;
         this.inventoryRepo = inventoryRepo;
+        this.statusLogRepo = statusLogRepo;
+        this.capacityLedger = capacityLedger;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
     public List<Shipment> listAll() {
-        return shipmentRepo.findAll();
+        return shipmentRepo.findAllWithInventory();
+    }
+
+    /** Pending and in-transit shipments, soonest expected delivery first. */
+    @Transactional(readOnly = true)
+    public List<Shipment> listActive() {
+        return shipmentRepo.findByStatusInWithInventory(ShipmentStatus.ACTIVE);
+    }
+
+    /** Active shipments whose expected delivery date has passed. */
+    @Transactional(readOnly = true)
+    public List<Shipment> listOverdue() {
+        return shipmentRepo.findOverdueWithInventory(ShipmentStatus.ACTIVE, LocalDate.now());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ShipmentStatusChange> getHistory(Integer id) {
+        return statusLogRepo.findByShipmentIdOrderByChangedAtAscChangeIdAsc(id);
+    }
+
+    /** Keyset page ordered by shipment id; {@code after} is the last id of the previous page. */
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<Shipment> listPage(Integer after, Integer size) {
+        int pageSize = DEFAULT_PAGE_SIZE;
+        if (size != null && size > 0) {
+            pageSize = Math.min(size, MAX_PAGE_SIZE);
+        }
+        // One extra row tells whether a next page exists
+        List<Shipment> rows = shipmentRepo.findPageAfterId(after != null ? after : 0, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = hasNext ? String.valueOf(rows.get(rows.size() - 1).getShipmentId()) : null;
+        return new KeysetPageDTO<>(rows, pageSize, nextCursor, hasNext);
     }
 
     @Transactional(readOnly = true)
@@ -48,7 +105,7 @@ public class ShipmentService {
         dto.setShipmentId(s.getShipmentId());
         dto.setOrigin(s.getOrigin());
         dto.setDestination(s.getDestination());
-        dto.setStatus(s.getStatus());
+        dto.setStatus(s.getStatus() != null ? s.getStatus().name() : null);
         dto.setExpectedDeliveryDate(s.getExpectedDeliveryDate());
         dto.setQuantity(s.getQuantity());
 
@@ -59,20 +116,17 @@ public class ShipmentService {
     }
 
     @Transactional
-    public void create(ShipmentDTO dto) {
-        Optional<Inventory> inventoryOptional = inventoryRepo.findById(dto.getItemId());
-        Inventory inv;
-        if (inventoryOptional.isPresent()) {
-            inv = inventoryOptional.get();
-        } else {
-            throw new ResourceNotFoundException("Item not found");
-        }
+    public Shipment create(ShipmentDTO dto) {
+        ShipmentStatus status = initialStatus(dto.getStatus());
+        Inventory inv = lockItem(dto.getItemId());
         if (inv.getQuantity() < dto.getQuantity()) {
             throw new BusinessException("Insufficient stock available.");
         }
         inv.setQuantity(inv.getQuantity() - dto.getQuantity());
+        // Moves the inventory ETag/Last-Modified along with the quantity
+        inv.setLastUpdated(LocalDateTime.now());
         if (inv.getStorageSpace() != null) {
-            updateSpaceCapacity(inv.getStorageSpace(), -dto.getQuantity());
+            capacityLedger.release(inv.getStorageSpace(), dto.getQuantity());
         }
         Shipment s = new Shipment();
         s.setInventory(inv);
@@ -80,14 +134,20 @@ public class ShipmentService {
         s.setOrigin(dto.getOrigin());
         s.setDestination(dto.getDestination());
         s.setExpectedDeliveryDate(dto.getExpectedDeliveryDate());
-        s.setStatus(dto.getStatus() != null ? dto.getStatus().toUpperCase() : "PENDING");
+        s.setStatus(status);
         inventoryRepo.save(inv);
-        shipmentRepo.save(s);
+        Shipment saved = shipmentRepo.save(s);
+        logStatusChange(saved, null, status);
+        eventPublisher.publishEvent(new StockMovementEvent(StockMovementEvent.SHIPMENT, inv.getLocation(),
+                inv.getStorageSpaceId(), inv.getItemId(), -dto.getQuantity()));
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SHIPMENT));
+        eventPublisher.publishEvent(new ShipmentChangedEvent(saved.getShipmentId(), false));
+        return saved;
     }
 
     @Transactional
     public void updateFullShipment(ShipmentDTO dto) {
-        Shipment s = get(dto.getShipmentId());
+        Shipment s = lockShipment(dto.getShipmentId());
         Optional<Inventory> inventoryOptional = inventoryRepo.findById(dto.getItemId());
         Inventory inv;
         if (inventoryOptional.isPresent()) {
@@ -95,34 +155,120 @@ public class ShipmentService {
         } else {
             throw new ResourceNotFoundException("Item not found");
         }
+        // Before the item is swapped, so a cancellation returns the stock to the item it came from
+        transition(s, parseStatus(dto.getStatus()));
         s.setInventory(inv);
         s.setOrigin(dto.getOrigin());
         s.setDestination(dto.getDestination());
-        s.setStatus(dto.getStatus());
         s.setExpectedDeliveryDate(dto.getExpectedDeliveryDate());
         shipmentRepo.save(s);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SHIPMENT));
+        eventPublisher.publishEvent(new ShipmentChangedEvent(s.getShipmentId(), false));
+    }
+
+    @Transactional
+    public Shipment changeStatus(Integer id, String status) {
+        Shipment s = lockShipment(id);
+        transition(s, parseStatus(status));
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SHIPMENT));
+        eventPublisher.publishEvent(new ShipmentChangedEvent(s.getShipmentId(), false));
+        return s;
+    }
+
+    /** Moves the shipment to {@code next} if the lifecycle allows it; cancelling puts the stock back. */
+    private void transition(Shipment s, ShipmentStatus next) {
+        ShipmentStatus current = s.getStatus();
+        if (current == next) {
+            return;
+        }
+        if (current != null && !current.canTransitionTo(next)) {
+            throw new BusinessException("Shipment #" + s.getShipmentId() + " cannot move from "
+                    + current + " to " + next + ".");
+        }
+        if (next == ShipmentStatus.CANCELLED) {
+            returnStock(s);
+        }
+        s.setStatus(next);
+        logStatusChange(s, current, next);
     }
 
     @Transactional
     public void delete(Integer id) {
-        Shipment s = get(id);
-        Inventory inv = s.getInventory();
-        if (inv != null) {
+        Shipment s = lockShipment(id);
+        // A cancelled shipment already gave its stock back
+        if (s.getStatus() != ShipmentStatus.CANCELLED) {
+            returnStock(s);
+        }
+        shipmentRepo.delete(s);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SHIPMENT));
+        eventPublisher.publishEvent(new ShipmentChangedEvent(id, true));
+    }
+
+    private void returnStock(Shipment s) {
+        if (s.getInventory() != null) {
+            Inventory inv = lockItem(s.getInventory().getItemId());
             inv.setQuantity(inv.getQuantity() + s.getQuantity());
+            inv.setLastUpdated(LocalDateTime.now());
             if (inv.getStorageSpace() != null) {
-                updateSpaceCapacity(inv.getStorageSpace(), s.getQuantity());
+                capacityLedger.restore(inv.getStorageSpace(), s.getQuantity());
             }
             inventoryRepo.save(inv);
+            eventPublisher.publishEvent(new StockMovementEvent(StockMovementEvent.SHIPMENT_CANCELLED, inv.getLocation(),
+                    inv.getStorageSpaceId(), inv.getItemId(), s.getQuantity()));
         }
-        shipmentRepo.delete(s);
     }
 
-    private void updateSpaceCapacity(Space space, int change) {
-        int currentUsed = space.getUsedCapacity() != null ? space.getUsedCapacity() : 0;
-        int newUsed = currentUsed + change;
-        if (newUsed < 0) newUsed = 0;
+    /**
+     * Locks the item's zone and then the item row, the same order ShipmentBatchService uses, so
+     * a single shipment and a batch touching the same item queue up instead of overwriting each
+     * other's stock count or deadlocking.
+     */
+    private Inventory lockItem(Integer itemId) {
+        List<Integer> spaceIds = inventoryRepo.findSpaceIdsByItemIds(List.of(itemId));
+        if (!spaceIds.isEmpty()) {
+            capacityLedger.lockZones(spaceIds);
+        }
+        return inventoryRepo.lockById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item not found"));
+    }
+
+    /**
+     * Locks the shipment row after its item, keeping the zone, item, shipment order of the other
+     * paths. Two requests cancelling or deleting the same shipment then run one after the other,
+     * and the second sees the status the first left instead of returning the stock again.
+     */
+    private Shipment lockShipment(Integer id) {
+        shipmentRepo.findItemIdById(id).ifPresent(this::lockItem);
+        return shipmentRepo.lockById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found ID: " + id));
+    }
+
+    private void logStatusChange(Shipment s, ShipmentStatus from, ShipmentStatus to) {
+        statusLogRepo.save(new ShipmentStatusChange(s.getShipmentId(), from, to, LocalDateTime.now(), currentUsername()));
+    }
+
+    static ShipmentStatus parseStatus(String status) {
+        try {
+            return ShipmentStatus.parse(status);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(ex.getMessage());
+        }
+    }
+
+    /** New shipments default to PENDING and cannot be created already cancelled. */
+    static ShipmentStatus initialStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return ShipmentStatus.PENDING;
+        }
+        ShipmentStatus parsed = parseStatus(status);
+        if (parsed == ShipmentStatus.CANCELLED) {
+            throw new BusinessException("A new shipment cannot start as CANCELLED.");
+        }
+        return parsed;
+    }
 
-        space.setUsedCapacity(newUsed);
-        space.setAvailableCapacity(space.getTotalCapacity() - newUsed);
+    static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : null;
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.example.lwms1.service;
 
 import com.example.lwms1.dto.SpaceDTO;
+import com.example.lwms1.event.WarehouseChangedEvent;
 import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.Space;
 import com.example.lwms1.repository.SpaceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -14,10 +16,14 @@ import java.util.Optional;
 @Service
 public class SpaceService {
     private final SpaceRepository repo;
+    private final CapacityLedger capacityLedger;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public SpaceService(SpaceRepository repo) {
+    public SpaceService(SpaceRepository repo, CapacityLedger capacityLedger, ApplicationEventPublisher eventPublisher) {
         this.repo = repo;
+        this.capacityLedger = capacityLedger;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -55,11 +61,22 @@ public class SpaceService {
         s.setUsedCapacity(0);
         s.setAvailableCapacity(total);
 
-        return repo.save(s);
+        Space saved = repo.save(s);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SPACE));
+        return saved;
     }
 
-    @Transactional
+    // Not @Transactional: each attempt runs in its own transaction so a version conflict
+    // with a concurrent receipt can be retried against fresh capacity figures.
     public Space update(Integer id, SpaceDTO dto) {
+        Space saved = capacityLedger.retryOnConflict(id, () -> applyUpdate(id, dto));
+        // A rename changes the natural id, so drop what was cached under the old zone as well
+        repo.evictFromCache(id);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SPACE));
+        return saved;
+    }
+
+    private Space applyUpdate(Integer id, SpaceDTO dto) {
         Space s = getById(id);
 
         s.setZone(dto.getZone());
@@ -72,7 +89,8 @@ public class SpaceService {
         }
 
         s.setAvailableCapacity(available);
-        return repo.save(s);
+        // saveAndFlush so a stale @Version surfaces inside the retried transaction
+        return repo.saveAndFlush(s);
     }
 
     @Transactional
@@ -84,5 +102,7 @@ public class SpaceService {
         }
 
         repo.delete(s);
+        repo.evictFromCache(id);
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.SPACE));
     }
 }
\ No newline at end of file
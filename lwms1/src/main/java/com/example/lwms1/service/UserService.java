@@ -2,6 +2,7 @@ package com.example.lwms1.service;
 
 import com.example.lwms1.dto.UserCreateDTO;
 import com.example.lwms1.dto.UserRoleUpdateDTO;
+import com.example.lwms1.event.WarehouseChangedEvent;
 import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.Role;
@@ -9,6 +10,7 @@ import com.example.lwms1.model.UserAccount;
 import com.example.lwms1.repository.RoleRepository;
 import com.example.lwms1.repository.UserAccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,12 +27,17 @@ public class UserService {
     private final UserAccountRepository userRepo;
     private final RoleRepository roleRepo;
     private final PasswordEncoder encoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CachedUserDetailsService userDetailsService;
 
     @Autowired
-    public UserService(UserAccountRepository userRepo, RoleRepository roleRepo, PasswordEncoder encoder) {
+    public UserService(UserAccountRepository userRepo, RoleRepository roleRepo, PasswordEncoder encoder,
+                       ApplicationEventPublisher eventPublisher, CachedUserDetailsService userDetailsService) {
         this.userRepo = userRepo;
         this.roleRepo = roleRepo;
         this.encoder = encoder;
+        this.eventPublisher = eventPublisher;
+        this.userDetailsService = userDetailsService;
     }
 
     public List<UserAccount> listAll() {
@@ -49,21 +56,25 @@ public class UserService {
         u.setPassword(encoder.encode(dto.getPassword()));
         u.setEnabled(true);
 
-        String roleName = formatRole(dto.getRole());
-        Optional<Role> roleOpt = roleRepo.findByName(roleName);
-        Role role;
-
-        if (roleOpt.isPresent()) {
-            role = roleOpt.get();
-        } else {
-            Role newRole = new Role(roleName);
-            role = roleRepo.save(newRole);
-        }
         Set<Role> roles = new HashSet<Role>();
-        roles.add(role);
+        roles.add(findOrCreateRole(formatRole(dto.getRole())));
         u.setRoles(roles);
 
-        return userRepo.save(u);
+        UserAccount saved = userRepo.save(u);
+        // a failed login for this name may have been looked up before it existed
+        userDetailsService.evict(saved.getUsername());
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.USER));
+        return saved;
+    }
+
+    /** Replaces all roles of the user with the single role from the form. */
+    public UserAccount setUserRole(UserRoleUpdateDTO dto) {
+        UserAccount user = findByUsername(dto.getUsername());
+        verifyNotSystemAdmin(user);
+        Set<Role> roles = new HashSet<Role>();
+        roles.add(findOrCreateRole(formatRole(dto.getRole())));
+        user.setRoles(roles);
+        return saveRoleChange(user);
     }
 
     public void deleteUser(Long id) {
@@ -74,11 +85,42 @@ public class UserService {
                 throw new BusinessException("The system administrator account cannot be deleted!");
             }
             userRepo.deleteById(id);
+            userDetailsService.evict(user.getUsername());
+            eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.USER));
         } else {
             throw new ResourceNotFoundException("User not found with ID: " + id);
         }
     }
 
+    private UserAccount findByUsername(String username) {
+        Optional<UserAccount> userOpt = userRepo.findByUsername(username);
+        if (userOpt.isPresent()) {
+            return userOpt.get();
+        }
+        throw new ResourceNotFoundException("User not found: " + username);
+    }
+
+    private void verifyNotSystemAdmin(UserAccount user) {
+        if (user.getUsername().equalsIgnoreCase("admin")) {
+            throw new BusinessException("The roles of the system administrator account cannot be changed!");
+        }
+    }
+
+    private Role findOrCreateRole(String roleName) {
+        Optional<Role> roleOpt = roleRepo.findByName(roleName);
+        if (roleOpt.isPresent()) {
+            return roleOpt.get();
+        }
+        return roleRepo.save(new Role(roleName));
+    }
+
+    private UserAccount saveRoleChange(UserAccount user) {
+        UserAccount saved = userRepo.save(user);
+        userDetailsService.evict(user.getUsername());
+        eventPublisher.publishEvent(new WarehouseChangedEvent(WarehouseChangedEvent.USER));
+        return saved;
+    }
+
     private String formatRole(String role) {
         if (role == null || role.isEmpty()) {
             return "ROLE_USER";
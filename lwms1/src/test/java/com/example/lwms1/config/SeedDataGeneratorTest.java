@@ -0,0 +1,93 @@
+package com.example.lwms1.config;
+
+import com.example.lwms1.repository.InventoryJdbcRepository;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.MaintenanceScheduleRepository;
+import com.example.lwms1.repository.ReportRepository;
+import com.example.lwms1.repository.ShipmentJdbcRepository;
+import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import com.example.lwms1.service.MaintenanceLockRegistry;
+import com.example.lwms1.service.ReportContentStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Runs the generator against the embedded test database, as a load test or benchmark would. */
+@DataJpaTest
+@Import({SeedDataGenerator.class, InventoryJdbcRepository.class, ShipmentJdbcRepository.class,
+        ReportContentStore.class, MaintenanceLockRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SeedDataGeneratorTest {
+
+    @Autowired private SeedDataGenerator generator;
+    @Autowired private SpaceRepository spaceRepo;
+    @Autowired private InventoryRepository inventoryRepo;
+    @Autowired private ShipmentRepository shipmentRepo;
+    @Autowired private MaintenanceScheduleRepository maintenanceRepo;
+    @Autowired private ReportRepository reportRepo;
+    @Autowired private MaintenanceLockRegistry lockRegistry;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("shipment_status_log", "shipment", "inventory", "space",
+                "maintenance_schedule", "report_chunks", "reports")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    @DisplayName("Seed: Should write the requested volumes with items and shipments skewed to the front")
+    void testGenerateSkewedWarehouse() {
+        // Arrange
+        SeedDataGenerator.Volumes volumes = new SeedDataGenerator.Volumes(20, 2000, 1000, 40, 3, 3.0, 7L);
+
+        // Act
+        SeedDataGenerator.SeededData data = generator.generate(volumes);
+
+        // Assert
+        assertEquals(20, spaceRepo.count());
+        assertEquals(2000, inventoryRepo.count());
+        assertEquals(1000, shipmentRepo.count());
+        assertEquals(40, maintenanceRepo.count());
+        assertEquals(3, reportRepo.count());
+        assertEquals(2000, data.itemIds().size());
+
+        // The two hot zones (10%) hold over a third of the items
+        Integer hot = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory WHERE location IN (?, ?)", Integer.class,
+                data.zones().get(0), data.zones().get(1));
+        assertTrue(hot > 700, "hot zones hold " + hot + " items");
+
+        // The first 10% of the items get a large share of the shipments
+        Set<Integer> popular = new HashSet<>(data.itemIds().subList(0, 200));
+        long popularShipments = jdbcTemplate.queryForList("SELECT item_id FROM shipment", Integer.class).stream()
+                .filter(popular::contains)
+                .count();
+        assertTrue(popularShipments > 350, "popular items have " + popularShipments + " shipments");
+
+        // Capacity bookkeeping matches the stored quantities and no zone is over capacity
+        Long used = jdbcTemplate.queryForObject("SELECT SUM(used_capacity) FROM space", Long.class);
+        Long stored = jdbcTemplate.queryForObject("SELECT SUM(quantity) FROM inventory", Long.class);
+        assertEquals(stored, used);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM space WHERE available_capacity < 0 OR used_capacity > total_capacity", Integer.class));
+
+        // Pending maintenance never locks a hot zone
+        assertTrue(lockRegistry.getLockedSpaceIds().size() <= 1);
+        assertFalse(lockRegistry.isLocked(spaceRepo.findByZone(data.zones().get(0)).get().getSpaceId()));
+    }
+}
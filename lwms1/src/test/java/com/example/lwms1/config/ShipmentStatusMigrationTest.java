@@ -0,0 +1,48 @@
+package com.example.lwms1.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ShipmentStatusMigration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShipmentStatusMigrationTest {
+
+    @Autowired private ShipmentStatusMigration migration;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM shipment");
+    }
+
+    @Test
+    @DisplayName("Migration: Legacy free-text statuses should be rewritten to the enum names")
+    void testNormalisesLegacyStatuses() {
+        // Arrange
+        for (String status : List.of("Pending", "in transit", "Shipped", "DELIVERED", "lost", "CANCELLED")) {
+            jdbcTemplate.update("INSERT INTO shipment (quantity, origin, destination, status) VALUES (1, 'A', 'B', ?)",
+                    status);
+        }
+
+        // Act
+        int updated = migration.normalise();
+
+        // Assert
+        assertEquals(4, updated);
+        assertEquals(List.of("CANCELLED", "DELIVERED", "IN_TRANSIT", "IN_TRANSIT", "PENDING", "PENDING"),
+                jdbcTemplate.queryForList("SELECT status FROM shipment ORDER BY status", String.class));
+        assertEquals(0, migration.normalise());
+    }
+}
@@ -75,7 +75,7 @@ class InventoryControllerTest {
         when(result.hasErrors()).thenReturn(false);
 
         // Act
-        String viewName = inventoryController.addItem(dto, result, redirectAttributes, model);
+        String viewName = inventoryController.addItem(dto, result, false, redirectAttributes, model);
 
         // Assert
         assertEquals("redirect:/inventory", viewName);
@@ -83,6 +83,31 @@ class InventoryControllerTest {
         assertEquals("Item added successfully!", redirectAttributes.getFlashAttributes().get("successMessage"));
     }
 
+    @Test
+    @DisplayName("Add Item: Auto-locate should let the allocator place the stock and report the zones")
+    void addItem_AutoLocate() {
+        // Arrange
+        InventoryDTO dto = new InventoryDTO();
+        dto.setLocation(InventoryDTO.AUTO_LOCATION);
+        BindingResult result = mock(BindingResult.class);
+        when(result.hasErrors()).thenReturn(false);
+        Inventory first = new Inventory();
+        first.setLocation("Zone-A");
+        first.setQuantity(40);
+        Inventory second = new Inventory();
+        second.setLocation("Zone-B");
+        second.setQuantity(10);
+        when(inventoryService.createAutoLocated(dto, true)).thenReturn(List.of(first, second));
+
+        // Act
+        String viewName = inventoryController.addItem(dto, result, true, redirectAttributes, model);
+
+        // Assert
+        assertEquals("redirect:/inventory", viewName);
+        verify(inventoryService, never()).create(any());
+        assertEquals("Item added to Zone-A (40), Zone-B (10).", redirectAttributes.getFlashAttributes().get("successMessage"));
+    }
+
     @Test
     @DisplayName("Update Item: Should call service update with Integer ID")
     void updateItem_Success() {
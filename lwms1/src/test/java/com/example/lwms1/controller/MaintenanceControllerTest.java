@@ -1,6 +1,7 @@
 package com.example.lwms1.controller;
 
 import com.example.lwms1.dto.MaintenanceDTO;
+import com.example.lwms1.model.MaintenanceSchedule;
 import com.example.lwms1.service.MaintenanceService;
 import com.example.lwms1.service.SpaceService;
 import org.junit.jupiter.api.BeforeEach;
@@ -64,8 +65,11 @@ class MaintenanceControllerTest {
     void schedule_Success() {
         // Arrange
         MaintenanceDTO dto = new MaintenanceDTO();
+        MaintenanceSchedule saved = new MaintenanceSchedule();
         BindingResult result = mock(BindingResult.class);
         when(result.hasErrors()).thenReturn(false);
+        when(maintenanceService.schedule(dto)).thenReturn(saved);
+        when(maintenanceService.describeLock(saved)).thenReturn("Zone will be locked from 2030-01-01 08:00.");
 
         // Act
         String viewName = maintenanceController.schedule(dto, result, model, redirectAttributes);
@@ -73,7 +77,7 @@ class MaintenanceControllerTest {
         // Assert
         assertEquals("redirect:/admin/maintenance", viewName);
         verify(maintenanceService).schedule(dto);
-        assertEquals("Maintenance scheduled! Zone is now locked.",
+        assertEquals("Maintenance scheduled! Zone will be locked from 2030-01-01 08:00.",
                 redirectAttributes.getFlashAttributes().get("successMessage"));
     }
 
@@ -1,6 +1,7 @@
 package com.example.lwms1.controller;
 
 import com.example.lwms1.dto.ReportDTO;
+import com.example.lwms1.dto.ReportJobDTO;
 import com.example.lwms1.service.ReportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,12 +10,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.ui.ConcurrentModel;
 import org.springframework.ui.Model;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
 
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -51,6 +55,7 @@ class ReportControllerTest {
         assertEquals("admin/report/list", viewName);
         assertTrue(model.containsAttribute("reports"));
         assertTrue(model.containsAttribute("form"));
+        assertTrue(model.containsAttribute("jobs"));
         verify(reportService).listAll();
     }
 
@@ -60,6 +65,7 @@ class ReportControllerTest {
         // Arrange
         ReportDTO dto = new ReportDTO();
         dto.setReportType("INVENTORY_SUMMARY");
+        when(reportService.generate(dto)).thenReturn("job-1");
 
         // Act
         String viewName = reportController.generate(dto, redirectAttributes);
@@ -67,7 +73,7 @@ class ReportControllerTest {
         // Assert
         assertEquals("redirect:/admin/reports", viewName);
         verify(reportService).generate(dto);
-        assertEquals("Report for INVENTORY_SUMMARY generated!",
+        assertEquals("Report for INVENTORY_SUMMARY queued (job job-1).",
                 redirectAttributes.getFlashAttributes().get("successMessage"));
     }
 
@@ -83,4 +89,17 @@ class ReportControllerTest {
         assertEquals("Report deleted successfully.",
                 redirectAttributes.getFlashAttributes().get("successMessage"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Job status: Should return 404 for unknown job ids")
+    void jobStatus_NotFound() {
+        // Arrange
+        when(reportService.findJob("missing")).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<ReportJobDTO> response = reportController.jobStatus("missing");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
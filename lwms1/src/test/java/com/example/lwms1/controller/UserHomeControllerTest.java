@@ -1,6 +1,9 @@
 package com.example.lwms1.controller;
 
+import com.example.lwms1.dto.InventoryPageDTO;
+import com.example.lwms1.model.Inventory;
 import com.example.lwms1.model.Shipment;
+import com.example.lwms1.search.InventorySearchService;
 import com.example.lwms1.service.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +17,7 @@ import org.springframework.ui.ConcurrentModel;
 import org.springframework.ui.Model;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,6 +33,7 @@ class UserHomeControllerTest {
     @Mock private MaintenanceService maintenanceService;
     @Mock private ReportService reportService;
     @Mock private DashboardService dashboardService;
+    @Mock private InventorySearchService searchService;
     @Mock private Authentication auth;
 
     @InjectMocks
@@ -62,23 +67,41 @@ class UserHomeControllerTest {
     @Test
     @DisplayName("Inventory: Should return user inventory view")
     void testViewInventory() {
-        when(inventoryService.listAll()).thenReturn(Collections.emptyList());
+        InventoryPageDTO page = new InventoryPageDTO(Collections.emptyList(), InventoryPageDTO.SortKey.ID, 50, null, null, false);
+        when(inventoryService.listPage(null, "id", null)).thenReturn(page);
 
-        String viewName = userHomeController.viewInventory(model);
+        String viewName = userHomeController.viewInventory(null, "id", null, null, model);
 
         assertEquals("user/inventory", viewName);
         assertTrue(model.containsAttribute("items"));
+        assertEquals(page, model.getAttribute("page"));
     }
 
     @Test
-    @DisplayName("Shipments: Should return shipment view")
+    @DisplayName("Inventory: A search query should show the matching items instead of a page")
+    void testViewInventorySearch() {
+        List<Inventory> hits = List.of(new Inventory());
+        when(searchService.searchItems("lap", InventorySearchService.MAX_LIMIT)).thenReturn(hits);
+
+        String viewName = userHomeController.viewInventory(null, "id", null, "lap", model);
+
+        assertEquals("user/inventory", viewName);
+        assertEquals(hits, model.getAttribute("items"));
+        assertEquals("lap", model.getAttribute("query"));
+        verify(inventoryService, never()).listPage(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Shipments: Should list only active shipments")
     void testViewShipments() {
-        when(shipmentService.listAll()).thenReturn(Collections.emptyList());
+        List<Shipment> active = List.of(new Shipment());
+        when(shipmentService.listActive()).thenReturn(active);
 
         String viewName = userHomeController.viewShipments(model);
 
         assertEquals("user/shipment", viewName);
-        assertTrue(model.containsAttribute("shipmentList"));
+        assertEquals(active, model.getAttribute("shipmentList"));
+        verify(shipmentService, never()).listAll();
     }
 
     @Test
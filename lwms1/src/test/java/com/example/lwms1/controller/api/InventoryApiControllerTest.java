@@ -0,0 +1,90 @@
+package com.example.lwms1.controller.api;
+
+import com.example.lwms1.dto.InventoryPageDTO;
+import com.example.lwms1.dto.InventoryResponseDTO;
+import com.example.lwms1.dto.InventoryVersionDTO;
+import com.example.lwms1.dto.KeysetPageDTO;
+import com.example.lwms1.ledger.StockHistoryService;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.search.InventorySearchService;
+import com.example.lwms1.service.ExportService;
+import com.example.lwms1.service.InventoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryApiControllerTest {
+
+    @Mock private InventoryService inventoryService;
+    @Mock private ExportService exportService;
+    @Mock private InventorySearchService searchService;
+    @Mock private StockHistoryService stockHistoryService;
+
+    private InventoryApiController controller;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private InventoryVersionDTO version;
+
+    @BeforeEach
+    void setUp() {
+        controller = new InventoryApiController(inventoryService, exportService, searchService, stockHistoryService,
+                new ObjectMapper());
+        request = new MockHttpServletRequest("GET", "/api/v1/inventory");
+        response = new MockHttpServletResponse();
+        version = new InventoryVersionDTO(1L, LocalDateTime.of(2024, 5, 1, 10, 0));
+        when(inventoryService.getVersion()).thenReturn(version);
+    }
+
+    @Test
+    @DisplayName("List: Should return the page as JSON DTOs with an ETag")
+    void list_ReturnsPage() {
+        // Arrange
+        Inventory item = new Inventory();
+        item.setItemId(7);
+        item.setItemName("Drill");
+        item.setQuantity(3);
+        when(inventoryService.listPage(null, null, null)).thenReturn(
+                new InventoryPageDTO(List.of(item), InventoryPageDTO.SortKey.ID, 50, null, null, false));
+
+        // Act
+        KeysetPageDTO<InventoryResponseDTO> page =
+                controller.list(null, null, null, new ServletWebRequest(request, response));
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals("Drill", page.getItems().get(0).getItemName());
+        assertFalse(page.isHasNext());
+        assertEquals(version.getETag(), response.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("List: A matching If-None-Match should answer 304 without reading the rows")
+    void list_NotModified() {
+        // Arrange
+        request.addHeader("If-None-Match", version.getETag());
+
+        // Act
+        KeysetPageDTO<InventoryResponseDTO> page =
+                controller.list(null, null, null, new ServletWebRequest(request, response));
+
+        // Assert
+        assertNull(page);
+        assertEquals(304, response.getStatus());
+        verify(inventoryService, never()).listPage(any(), any(), any());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.lwms1.datasource;
+
+import com.example.lwms1.dto.SpaceDTO;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.SpaceRepository;
+import com.example.lwms1.service.CapacityLedger;
+import com.example.lwms1.service.SpaceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs real service calls through the replica wiring of ReadReplicaConfig. The "replica" is a
+ * second pool on the same in-memory database, as in the embedded profile, so the read counters
+ * show which pool served each transaction.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "lwms.datasource.replica-urls=${spring.datasource.url}",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadReplicaConfig.class, SpaceService.class, CapacityLedger.class, ReadReplicaRoutingTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReadReplicaRoutingTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired private SpaceService spaceService;
+    @Autowired private SpaceRepository spaceRepo;
+    @Autowired private ReplicaLagMonitor lagMonitor;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReadYourWrites.end();
+        spaceRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Replicas: A read-only service call should be served by the replica")
+    void testReadOnlyCallUsesReplica() {
+        // Arrange
+        double before = reads("replica-1");
+
+        // Act
+        spaceService.listAll();
+
+        // Assert
+        assertEquals(before + 1, reads("replica-1"));
+    }
+
+    @Test
+    @DisplayName("Replicas: A write should stay on the primary")
+    void testWriteUsesPrimary() {
+        // Arrange
+        SpaceDTO dto = new SpaceDTO();
+        dto.setZone("RR-1");
+        dto.setTotalCapacity(10);
+        double before = reads("replica-1");
+
+        // Act
+        spaceService.create(dto);
+
+        // Assert
+        assertEquals(before, reads("replica-1"));
+        assertTrue(spaceRepo.findByZone("RR-1").isPresent());
+    }
+
+    @Test
+    @DisplayName("Replicas: A read that must see the user's writes should go to the primary")
+    void testReadYourWritesUsesPrimary() {
+        // Arrange
+        double replicaBefore = reads("replica-1");
+        double primaryBefore = reads(ReplicaRoutingDataSource.PRIMARY);
+        ReadYourWrites.begin();
+
+        // Act
+        spaceService.listAll();
+
+        // Assert
+        assertEquals(replicaBefore, reads("replica-1"));
+        assertEquals(primaryBefore + 1, reads(ReplicaRoutingDataSource.PRIMARY));
+    }
+
+    @Test
+    @DisplayName("Replicas: Rows read from a replica should not be put into the second-level cache")
+    void testReplicaReadsBypassCachePuts() {
+        // Arrange
+        SpaceDTO dto = new SpaceDTO();
+        dto.setZone("RR-2");
+        dto.setTotalCapacity(10);
+        spaceService.create(dto);
+        Integer spaceId = spaceRepo.findByZone("RR-2").orElseThrow().getSpaceId();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+
+        // Act
+        spaceService.listAll();
+        long putsFromReplica = statistics.getSecondLevelCachePutCount() + statistics.getQueryCachePutCount();
+        ReadYourWrites.begin();
+        spaceService.listAll();
+
+        // Assert
+        assertEquals(0, putsFromReplica);
+        assertTrue(sessionFactory.getCache().containsEntity(Space.class, spaceId));
+    }
+
+    private double reads(String pool) {
+        return meterRegistry.get("lwms.datasource.reads").tag("pool", pool).counter().count();
+    }
+}
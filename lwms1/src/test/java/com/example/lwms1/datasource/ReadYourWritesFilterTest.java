@@ -0,0 +1,84 @@
+package com.example.lwms1.datasource;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(
+            ReadReplicaConfig.readYourWritesWindow(Duration.ofMillis(ReadReplicaConfig.DEFAULT_LAG_CHECK_INTERVAL_MS)));
+    private final MockHttpSession session = new MockHttpSession();
+
+    @Test
+    @DisplayName("Filter: Should read from the primary on the page a POST redirects to")
+    void testRedirectAfterPostReadsPrimary() throws Exception {
+        // Arrange
+        MockHttpServletRequest post = request("POST", "/inventory/add");
+        MockHttpServletResponse redirect = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(post, redirect, (req, res) -> ((MockHttpServletResponse) res).sendRedirect("/inventory"));
+        boolean pinned = readsPrimary(request("GET", "/inventory"));
+
+        // Assert
+        assertTrue(pinned);
+        assertNotNull(session.getAttribute(ReadYourWritesFilter.PRIMARY_UNTIL));
+    }
+
+    @Test
+    @DisplayName("Filter: Should let reads use replicas when the user has not written")
+    void testPlainGetUsesReplicas() throws Exception {
+        assertFalse(readsPrimary(request("GET", "/inventory")));
+        assertFalse(ReadYourWrites.isActive());
+    }
+
+    @Test
+    @DisplayName("Filter: Should release the pin once the window has passed")
+    void testPinExpires() throws Exception {
+        // Arrange
+        session.setAttribute(ReadYourWritesFilter.PRIMARY_UNTIL, System.currentTimeMillis() - 1);
+
+        // Act & Assert
+        assertFalse(readsPrimary(request("GET", "/inventory")));
+    }
+
+    @Test
+    @DisplayName("Filter: Should not pin the session when the write was refused")
+    void testFailedWriteDoesNotPin() throws Exception {
+        // Act
+        filter.doFilter(request("POST", "/inventory/add"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(400));
+
+        // Assert
+        assertNull(session.getAttribute(ReadYourWritesFilter.PRIMARY_UNTIL));
+    }
+
+    private boolean readsPrimary(MockHttpServletRequest request) throws Exception {
+        AtomicBoolean active = new AtomicBoolean();
+        FilterChain chain = (req, res) -> active.set(ReadYourWrites.isActive());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return active.get();
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setSession(session);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Filter: Should size the window from the lag limit and the check interval")
+    void testWindowFollowsCheckInterval() {
+        assertEquals(Duration.ofSeconds(11), ReadReplicaConfig.readYourWritesWindow(Duration.ofSeconds(2)));
+        assertEquals(Duration.ofSeconds(35), ReadReplicaConfig.readYourWritesWindow(Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.lwms1.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock private DataSource primary;
+    @Mock private DataSource replicaOne;
+    @Mock private DataSource replicaTwo;
+
+    private final MovableClock clock = new MovableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+    private Replica first;
+    private Replica second;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        first = new Replica("replica-1", replicaOne, Duration.ofSeconds(5), Duration.ofSeconds(6), clock);
+        second = new Replica("replica-2", replicaTwo, Duration.ofSeconds(5), Duration.ofSeconds(6), clock);
+        first.setLagSeconds(0);
+        second.setLagSeconds(0);
+        routing = new ReplicaRoutingDataSource(primary, List.of(first, second), meterRegistry);
+        routing.afterPropertiesSet();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.end();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Routing: Should spread reads over the replicas in turn")
+    void testRoundRobin() {
+        // Act
+        Object a = routing.determineCurrentLookupKey();
+        Object b = routing.determineCurrentLookupKey();
+        Object c = routing.determineCurrentLookupKey();
+
+        // Assert
+        assertNotEquals(a, b);
+        assertEquals(a, c);
+        assertEquals(3.0, meterRegistry.get("lwms.datasource.reads").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    @DisplayName("Routing: Should skip a replica that lags too far behind")
+    void testSkipsLaggingReplica() {
+        // Arrange
+        first.setLagSeconds(30);
+
+        // Act & Assert
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Routing: Should fall back to the primary when no replica is usable")
+    void testFallsBackToPrimary() {
+        // Arrange
+        first.setLagSeconds(Double.NaN);
+        second.setLagSeconds(60);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(1.0, meterRegistry.get("lwms.datasource.reads").tag("pool", "primary").counter().count());
+    }
+
+    @Test
+    @DisplayName("Routing: Should read from the primary right after the user wrote")
+    void testReadYourWrites() {
+        // Arrange
+        ReadYourWrites.begin();
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Routing: Should keep work outside read-only transactions on the primary")
+    void testWritesUsePrimary() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(0.0, meterRegistry.get("lwms.datasource.reads").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    @DisplayName("Routing: Should not read from a replica before its lag has been measured")
+    void testSkipsUnmeasuredReplica() {
+        // Arrange
+        Replica unmeasured = new Replica("replica-3", replicaOne, Duration.ofSeconds(5), Duration.ofSeconds(6), clock);
+        ReplicaRoutingDataSource fresh = new ReplicaRoutingDataSource(primary, List.of(unmeasured), meterRegistry);
+        fresh.afterPropertiesSet();
+
+        // Act & Assert
+        assertFalse(unmeasured.isUsable());
+        assertTrue(Double.isNaN(unmeasured.getLagSeconds()));
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, fresh.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Routing: Should stop reading from a replica whose lag reading has gone stale")
+    void testSkipsStaleReplica() {
+        // Arrange: the lag checks stopped; replica-2 was measured once more, 5 s later
+        clock.advance(Duration.ofSeconds(5));
+        second.setLagSeconds(0);
+        clock.advance(Duration.ofSeconds(2));
+
+        // Act & Assert
+        assertFalse(first.isUsable());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+    }
+
+    private static class MovableClock extends Clock {
+        private volatile Instant instant;
+
+        MovableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
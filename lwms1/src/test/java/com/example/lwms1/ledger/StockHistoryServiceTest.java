@@ -0,0 +1,114 @@
+package com.example.lwms1.ledger;
+
+import com.example.lwms1.dto.StockQuantityDTO;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.model.StockSnapshot;
+import com.example.lwms1.repository.StockLedgerJdbcRepository;
+import com.example.lwms1.repository.StockMovementRepository;
+import com.example.lwms1.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockHistoryServiceTest {
+
+    @Mock private StockSnapshotRepository snapshotRepo;
+    @Mock private StockMovementRepository movementRepo;
+    @Mock private StockLedgerJdbcRepository ledgerRepo;
+
+    @InjectMocks
+    private StockHistoryService historyService;
+
+    @Test
+    @DisplayName("As-of: Quantity should be the snapshot quantity plus the movements after its cutoff")
+    void quantityAsOf_AddsLedgerTailToSnapshot() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.of(2024, 5, 1, 2, 25);
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 15, 0);
+        StockSnapshot snapshot = snapshot(3L, cutoff);
+        when(snapshotRepo.findFirstByCutoffLessThanEqualOrderByCutoffDesc(at)).thenReturn(Optional.of(snapshot));
+        when(ledgerRepo.findSnapshotQuantity(3L, 7)).thenReturn(40);
+        when(ledgerRepo.sumDelta(7, cutoff, at)).thenReturn(-15);
+
+        // Act
+        StockQuantityDTO result = historyService.quantityAsOf(7, at);
+
+        // Assert
+        assertEquals(25, result.getQuantity());
+        assertEquals(at, result.getAsOf());
+    }
+
+    @Test
+    @DisplayName("As-of: An instant before the first snapshot should be rejected")
+    void quantityAsOf_BeforeHistory_Throws() {
+        // Arrange
+        LocalDateTime at = LocalDateTime.of(2020, 1, 1, 0, 0);
+        StockSnapshot opening = snapshot(1L, LocalDateTime.of(2024, 1, 1, 0, 0));
+        when(snapshotRepo.findFirstByCutoffLessThanEqualOrderByCutoffDesc(at)).thenReturn(Optional.empty());
+        when(snapshotRepo.findFirstByOrderByCutoffAsc()).thenReturn(Optional.of(opening));
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () -> historyService.quantityAsOf(7, at));
+        assertTrue(ex.getMessage().contains("2024-01-01"));
+        verifyNoInteractions(ledgerRepo);
+    }
+
+    @Test
+    @DisplayName("Snapshot: A new snapshot should roll the previous one forward and thin out old ones")
+    void takeSnapshot_RollsPreviousForward() {
+        // Arrange
+        StockSnapshot previous = snapshot(10L, LocalDateTime.now().minusDays(1));
+        StockSnapshot created = snapshot(11L, LocalDateTime.now());
+        StockSnapshot firstOfMonth = snapshot(1L, LocalDateTime.of(2024, 3, 1, 2, 25));
+        StockSnapshot sameMonth = snapshot(2L, LocalDateTime.of(2024, 3, 2, 2, 25));
+        when(snapshotRepo.findFirstByOrderByCutoffDesc()).thenReturn(Optional.of(previous));
+        when(snapshotRepo.save(any(StockSnapshot.class))).thenReturn(created);
+        when(snapshotRepo.findByCutoffBeforeOrderByCutoffAsc(any())).thenReturn(List.of(firstOfMonth, sameMonth));
+
+        // Act
+        historyService.takeSnapshot();
+
+        // Assert
+        LocalDateTime previousCutoff = previous.getCutoff();
+        verify(ledgerRepo).insertRolledSnapshot(eq(11L), eq(10L), eq(previousCutoff), any());
+        verify(ledgerRepo).deleteSnapshotItems(2L);
+        verify(ledgerRepo, never()).deleteSnapshotItems(1L);
+        verify(snapshotRepo).delete(sameMonth);
+    }
+
+    @Test
+    @DisplayName("Snapshot: Nothing should be taken while the latest snapshot is still recent")
+    void takeSnapshot_SkipsWhenRecent() {
+        // Arrange
+        StockSnapshot previous = snapshot(10L, LocalDateTime.now().minusHours(1));
+        when(snapshotRepo.findFirstByOrderByCutoffDesc()).thenReturn(Optional.of(previous));
+
+        // Act
+        historyService.takeSnapshot();
+
+        // Assert
+        verify(snapshotRepo, never()).save(any());
+        verify(ledgerRepo, never()).insertRolledSnapshot(anyLong(), anyLong(), any(), any());
+    }
+
+    private static StockSnapshot snapshot(long id, LocalDateTime cutoff) {
+        StockSnapshot snapshot = mock(StockSnapshot.class);
+        lenient().when(snapshot.getSnapshotId()).thenReturn(id);
+        lenient().when(snapshot.getCutoff()).thenReturn(cutoff);
+        return snapshot;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.lwms1.metrics;
+
+import com.example.lwms1.event.StockMovementEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BusinessMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BusinessMetrics businessMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        businessMetrics = new BusinessMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Stock: Receipts and shipments should be counted per zone and direction")
+    void testUnitsCountedPerZoneAndDirection() {
+        // Act
+        businessMetrics.onStockMovement(new StockMovementEvent(StockMovementEvent.RECEIPT, "Zone-A", 1, 40));
+        businessMetrics.onStockMovement(new StockMovementEvent(StockMovementEvent.RECEIPT, "Zone-A", 2, 10));
+        businessMetrics.onStockMovement(new StockMovementEvent(StockMovementEvent.SHIPMENT, "Zone-A", 1, -15));
+
+        // Assert
+        assertEquals(50.0, meterRegistry.get("lwms.stock.units")
+                .tags("zone", "Zone-A", "direction", "in", "type", StockMovementEvent.RECEIPT).counter().count());
+        assertEquals(15.0, meterRegistry.get("lwms.stock.units")
+                .tags("zone", "Zone-A", "direction", "out", "type", StockMovementEvent.SHIPMENT).counter().count());
+    }
+
+    @Test
+    @DisplayName("Stock: A zero-quantity adjustment should not register a meter")
+    void testZeroMovementIgnored() {
+        // Act
+        businessMetrics.onStockMovement(new StockMovementEvent(StockMovementEvent.ADJUSTMENT, "Zone-A", 1, 0));
+
+        // Assert
+        assertNull(meterRegistry.find("lwms.stock.units").counter());
+    }
+}
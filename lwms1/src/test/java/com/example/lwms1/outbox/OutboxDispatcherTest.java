@@ -0,0 +1,147 @@
+package com.example.lwms1.outbox;
+
+import com.example.lwms1.event.ShipmentChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.model.OutboxEvent;
+import com.example.lwms1.model.OutboxOffset;
+import com.example.lwms1.repository.OutboxEventRepository;
+import com.example.lwms1.repository.OutboxOffsetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxDispatcherTest {
+
+    @Mock private OutboxEventRepository eventRepo;
+    @Mock private OutboxOffsetRepository offsetRepo;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxWriter outboxWriter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxWriter = new OutboxWriter(eventRepo, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Dispatch: Events should reach the consumer in order and move its offset past them")
+    void testDeliversBatchAndAdvancesOffset() throws Exception {
+        // Arrange
+        RecordingConsumer consumer = new RecordingConsumer("metrics", false);
+        OutboxOffset offset = new OutboxOffset("metrics", 10);
+        when(offsetRepo.lockByConsumer("metrics")).thenReturn(Optional.of(offset));
+        when(eventRepo.findAfter(eq(10L), any())).thenReturn(List.of(
+                row(11, "StockMovement", new StockMovementEvent(StockMovementEvent.RECEIPT, "Zone-A", 1, 40)),
+                row(12, "ShipmentChanged", new ShipmentChangedEvent(7, false))));
+
+        // Act
+        int delivered = dispatcher(consumer).deliverBatch(consumer);
+
+        // Assert
+        assertEquals(2, delivered);
+        assertEquals(12, offset.getLastEventId());
+        assertEquals(2, consumer.received.size());
+        StockMovementEvent movement = (StockMovementEvent) consumer.received.get(0);
+        assertEquals("Zone-A", movement.getZone());
+        assertEquals(40, movement.getQuantity());
+        assertEquals(List.of(7), ((ShipmentChangedEvent) consumer.received.get(1)).getShipmentIds());
+    }
+
+    @Test
+    @DisplayName("Dispatch: A failing consumer should keep its offset without blocking the others")
+    void testFailingConsumerIsIsolated() throws Exception {
+        // Arrange
+        RecordingConsumer broken = new RecordingConsumer("broken", true);
+        RecordingConsumer healthy = new RecordingConsumer("healthy", false);
+        OutboxOffset brokenOffset = new OutboxOffset("broken", 0);
+        OutboxOffset healthyOffset = new OutboxOffset("healthy", 0);
+        when(offsetRepo.lockByConsumer("broken")).thenReturn(Optional.of(brokenOffset));
+        when(offsetRepo.lockByConsumer("healthy")).thenReturn(Optional.of(healthyOffset));
+        when(eventRepo.findAfter(eq(0L), any())).thenReturn(List.of(
+                row(1, "ShipmentChanged", new ShipmentChangedEvent(3, true))));
+
+        // Act
+        new OutboxDispatcher(eventRepo, offsetRepo, outboxWriter, List.of(broken, healthy), transactionManager,
+                meterRegistry).dispatch();
+
+        // Assert
+        assertEquals(0, brokenOffset.getLastEventId());
+        assertEquals(1, healthyOffset.getLastEventId());
+        assertEquals(1, healthy.received.size());
+        assertEquals(1.0, meterRegistry.get("lwms.outbox.failures").tag("consumer", "broken").counter().count());
+    }
+
+    @Test
+    @DisplayName("Dispatch: Delivery should stop in front of an id that may still be committing")
+    void testStopsAtRecentGap() throws Exception {
+        // Arrange
+        RecordingConsumer consumer = new RecordingConsumer("audit", false);
+        OutboxOffset offset = new OutboxOffset("audit", 0);
+        when(offsetRepo.lockByConsumer("audit")).thenReturn(Optional.of(offset));
+        when(eventRepo.findAfter(anyLong(), any())).thenReturn(List.of(
+                row(1, "ShipmentChanged", new ShipmentChangedEvent(1, false)),
+                row(3, "ShipmentChanged", new ShipmentChangedEvent(3, false))));
+
+        // Act
+        int delivered = dispatcher(consumer).deliverBatch(consumer);
+
+        // Assert
+        assertEquals(1, delivered, "Event #3 waits until #2 commits or the gap times out");
+        assertEquals(1, offset.getLastEventId());
+    }
+
+    private OutboxDispatcher dispatcher(OutboxConsumer consumer) {
+        return new OutboxDispatcher(eventRepo, offsetRepo, outboxWriter, List.of(consumer), transactionManager,
+                meterRegistry);
+    }
+
+    private OutboxEvent row(long id, String type, Object event) throws Exception {
+        OutboxEvent row = new OutboxEvent(type, objectMapper.writeValueAsString(event), LocalDateTime.now());
+        row.setId(id);
+        return row;
+    }
+
+    private static final class RecordingConsumer implements OutboxConsumer {
+        private final String name;
+        private final boolean failing;
+        private final List<Object> received = new ArrayList<>();
+
+        private RecordingConsumer(String name, boolean failing) {
+            this.name = name;
+            this.failing = failing;
+        }
+
+        @Override
+        public String getConsumerName() {
+            return name;
+        }
+
+        @Override
+        public void handle(List<Object> events) {
+            if (failing) {
+                throw new IllegalStateException("consumer down");
+            }
+            received.addAll(events);
+        }
+    }
+}
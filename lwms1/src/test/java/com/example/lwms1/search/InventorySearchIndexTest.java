@@ -0,0 +1,86 @@
+package com.example.lwms1.search;
+
+import com.example.lwms1.dto.InventorySearchHitDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventorySearchIndexTest {
+
+    private InventorySearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InventorySearchIndex();
+        index.replaceAll(List.of(
+                doc(3, "Laptop 14in", "Electronics", "Zone-A"),
+                doc(1, "Lamp, desk", "Furniture", "Zone-B"),
+                doc(2, "USB-C cable", "Electronics", "Zone-A"),
+                doc(4, "Oak desk", "Furniture", "Zone-C")).iterator());
+    }
+
+    @Test
+    @DisplayName("Search: Every query word should match the start of a word in name, category or location")
+    void testSearchMatchesWordPrefixesAcrossFields() {
+        // Act & Assert
+        assertEquals(List.of(3), ids(index.search("lap ele", 10)));
+        assertEquals(List.of(1, 4), ids(index.search("DESK", 10)));
+        assertEquals(List.of(2), ids(index.search("c zone-a usb", 10)));
+        assertEquals(List.of(), ids(index.search("top", 10)));
+        assertEquals(List.of(), ids(index.search("  -- ", 10)));
+    }
+
+    @Test
+    @DisplayName("Search: Hits should be ordered by the matched word and cut to the limit")
+    void testSearchOrderAndLimit() {
+        // "lamp" sorts before "laptop"
+        assertEquals(List.of(1, 3), ids(index.search("la", 10)));
+        assertEquals(List.of(1), ids(index.search("la", 1)));
+    }
+
+    @Test
+    @DisplayName("Apply: Updated and deleted items should replace their indexed copies")
+    void testApplyUpdatesAndDeletes() {
+        // Act
+        index.apply(List.of(doc(3, "Tablet 10in", "Electronics", "Zone-A"), doc(5, "Laptop stand", "Furniture", "Zone-B")),
+                List.of(4));
+
+        // Assert
+        assertEquals(List.of(5), ids(index.search("laptop", 10)));
+        assertEquals(List.of(3), ids(index.search("tab", 10)));
+        assertEquals(List.of(1), ids(index.search("desk", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Apply: Compaction should keep the same results as the overlay it replaces")
+    void testCompactionKeepsResults() {
+        // Arrange
+        List<InventorySearchHitDTO> added = new ArrayList<>();
+        for (int id = 100; id < 100 + InventorySearchIndex.COMPACT_THRESHOLD; id++) {
+            added.add(doc(id, "Pallet " + id, "Packaging", "Zone-D"));
+        }
+
+        // Act
+        index.apply(added, List.of(1));
+        index.apply(List.of(doc(2, "Pallet wrap", "Packaging", "Zone-D")), List.of());
+
+        // Assert
+        assertEquals(List.of(2), ids(index.search("pallet wrap", 10)));
+        assertEquals(List.of(4), ids(index.search("desk", 10)));
+        assertEquals(3 + InventorySearchIndex.COMPACT_THRESHOLD, index.size());
+    }
+
+    private static InventorySearchHitDTO doc(int id, String name, String category, String location) {
+        return new InventorySearchHitDTO(id, name, category, location);
+    }
+
+    private static List<Integer> ids(List<InventorySearchHitDTO> hits) {
+        return hits.stream().map(InventorySearchHitDTO::getItemId).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.model.Role;
+import com.example.lwms1.model.UserAccount;
+import com.example.lwms1.repository.UserAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachedUserDetailsServiceTest {
+
+    @Mock private UserAccountRepository userRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachedUserDetailsService userDetailsService;
+    private UserAccount user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new CachedUserDetailsService(userRepo, meterRegistry);
+
+        user = new UserAccount();
+        user.setUsername("johndoe");
+        user.setPassword("hashed");
+        user.setRoles(new HashSet<>(Set.of(new Role("ROLE_USER"))));
+    }
+
+    @Test
+    @DisplayName("Cache: Repeated logins should hit the database once and count hits and misses")
+    void testRepeatedLookupsServedFromCache() {
+        // Arrange
+        when(userRepo.findByUsername("johndoe")).thenReturn(Optional.of(user));
+
+        // Act
+        UserDetails first = userDetailsService.loadUserByUsername("johndoe");
+        UserDetails second = userDetailsService.loadUserByUsername("johndoe");
+
+        // Assert
+        verify(userRepo, times(1)).findByUsername("johndoe");
+        assertNotSame(first, second, "Each login should get its own UserDetails instance");
+        assertEquals("hashed", second.getPassword());
+        assertTrue(second.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        assertEquals(1.0, meterRegistry.get("lwms.user_details.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("lwms.user_details.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Evict: The next login after a change should reload the user")
+    void testEvictForcesReload() {
+        // Arrange
+        when(userRepo.findByUsername("johndoe")).thenReturn(Optional.of(user));
+        userDetailsService.loadUserByUsername("johndoe");
+
+        // Act
+        userDetailsService.evict("johndoe");
+        userDetailsService.loadUserByUsername("johndoe");
+
+        // Assert
+        verify(userRepo, times(2)).findByUsername("johndoe");
+        assertEquals(1.0, meterRegistry.get("lwms.user_details.cache.evictions").counter().count());
+    }
+
+    @Test
+    @DisplayName("Evict: A login that read the user before a change should not cache the old data")
+    void testLoadRacingEvictNotCached() {
+        // Arrange
+        when(userRepo.findByUsername("johndoe")).thenAnswer(invocation -> {
+            userDetailsService.evict("johndoe"); // the change commits while this login is loading
+            return Optional.of(user);
+        });
+
+        // Act
+        userDetailsService.loadUserByUsername("johndoe");
+
+        // Assert
+        assertEquals(0, userDetailsService.size());
+    }
+
+    @Test
+    @DisplayName("Unknown users should not be cached")
+    void testUnknownUserNotCached() {
+        // Arrange
+        when(userRepo.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertEquals(0, userDetailsService.size());
+    }
+}
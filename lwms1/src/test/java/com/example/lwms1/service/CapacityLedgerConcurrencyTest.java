@@ -0,0 +1,234 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.InventoryDTO;
+import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.ShipmentStatusChangeRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single zone from many threads against the embedded test database.
+ * Every operation runs in its own committed transaction, like concurrent HTTP requests would.
+ */
+@DataJpaTest
+@Import({CapacityLedger.class, InventoryService.class, ShipmentService.class, MaintenanceLockRegistry.class,
+        PutawayAllocator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CapacityLedgerConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired private SpaceRepository spaceRepo;
+    @Autowired private InventoryRepository inventoryRepo;
+    @Autowired private ShipmentRepository shipmentRepo;
+    @Autowired private ShipmentStatusChangeRepository statusLogRepo;
+    @Autowired private CapacityLedger ledger;
+    @Autowired private InventoryService inventoryService;
+    @Autowired private ShipmentService shipmentService;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        statusLogRepo.deleteAll();
+        shipmentRepo.deleteAll();
+        inventoryRepo.deleteAll();
+        spaceRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Concurrency: Receipts and releases on one hot zone should not drift")
+    void testNoDriftUnderContention() throws Exception {
+        // Arrange
+        Space zone = newZone("HOT-1", 1_000_000);
+        int opsPerThread = 200;
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // Act: every op receives 3 units, every 4th op also ships 1 unit out
+        runConcurrently(() -> {
+            for (int i = 0; i < opsPerThread; i++) {
+                int op = i;
+                tx.executeWithoutResult(status -> {
+                    assertTrue(ledger.reserve(zone, 3));
+                    if (op % 4 == 0) {
+                        ledger.release(zone, 1);
+                    }
+                });
+            }
+        });
+
+        // Assert
+        int expectedUsed = THREADS * opsPerThread * 3 - THREADS * (opsPerThread / 4);
+        Space reloaded = spaceRepo.findById(zone.getSpaceId()).orElseThrow();
+        assertEquals(expectedUsed, reloaded.getUsedCapacity());
+        assertEquals(1_000_000 - expectedUsed, reloaded.getAvailableCapacity());
+    }
+
+    @Test
+    @DisplayName("Concurrency: A zone should never be filled past its total capacity")
+    void testNoOverfillUnderContention() throws Exception {
+        // Arrange
+        Space zone = newZone("HOT-2", 500);
+        AtomicInteger accepted = new AtomicInteger();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // Act: 16 threads x 50 attempts = 800 single-unit receipts into 500 slots
+        runConcurrently(() -> {
+            for (int i = 0; i < 50; i++) {
+                Boolean ok = tx.execute(status -> ledger.reserve(zone, 1));
+                if (Boolean.TRUE.equals(ok)) {
+                    accepted.incrementAndGet();
+                }
+            }
+        });
+
+        // Assert
+        Space reloaded = spaceRepo.findById(zone.getSpaceId()).orElseThrow();
+        assertEquals(500, accepted.get());
+        assertEquals(500, reloaded.getUsedCapacity());
+        assertEquals(0, reloaded.getAvailableCapacity());
+    }
+
+    @Test
+    @DisplayName("Versioning: Saving a stale Space after a ledger update should be rejected")
+    void testStaleEntityWriteIsDetected() {
+        // Arrange
+        Space zone = newZone("HOT-3", 100);
+        Space stale = spaceRepo.findById(zone.getSpaceId()).orElseThrow();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> ledger.reserve(zone, 10));
+
+        // Act & Assert
+        stale.setTotalCapacity(200);
+        assertThrows(OptimisticLockingFailureException.class, () -> spaceRepo.saveAndFlush(stale));
+    }
+
+    @Test
+    @DisplayName("Caching: A reservation should update the caller's Space and leave other zones cached")
+    void testReservationKeepsEntityAndCacheCurrent() {
+        // Arrange
+        Space zone = newZone("HOT-4", 100);
+        Space other = newZone("HOT-5", 100);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> spaceRepo.findAllById(List.of(zone.getSpaceId(), other.getSpaceId())));
+        assertTrue(cache.containsEntity(Space.class, other.getSpaceId()));
+
+        // Act
+        Space seen = tx.execute(status -> {
+            Space managed = spaceRepo.findById(zone.getSpaceId()).orElseThrow();
+            assertTrue(ledger.reserve(managed, 30));
+            return managed;
+        });
+
+        // Assert
+        assertEquals(30, seen.getUsedCapacity());
+        assertEquals(70, seen.getAvailableCapacity());
+        assertTrue(cache.containsEntity(Space.class, other.getSpaceId()));
+        assertEquals(30, spaceRepo.findById(zone.getSpaceId()).orElseThrow().getUsedCapacity());
+    }
+
+    @Test
+    @DisplayName("Concurrency: Editing an item while it is being shipped should keep the zone in step with its stock")
+    void testUpdateRacingShipmentsDoesNotDrift() throws Exception {
+        // Arrange
+        Space zone = newZone("HOT-6", 1_000_000);
+        Inventory item = new Inventory();
+        item.setItemName("Pallet");
+        item.setQuantity(10_000);
+        item.setLocation(zone.getZone());
+        item.setStorageSpace(zone);
+        Integer itemId = inventoryRepo.save(item).getItemId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> ledger.reserve(zone, 10_000));
+        AtomicInteger thread = new AtomicInteger();
+
+        // Act: half the threads ship single units, the other half edit the stock count
+        runConcurrently(() -> {
+            int t = thread.getAndIncrement();
+            for (int i = 0; i < 25; i++) {
+                if (t % 2 == 0) {
+                    shipmentService.create(shipment(itemId, 1));
+                } else {
+                    inventoryService.update(itemId, edit(10_000 + t * 100 + i));
+                }
+            }
+        });
+
+        // Assert
+        int quantity = inventoryRepo.findById(itemId).orElseThrow().getQuantity();
+        Space reloaded = spaceRepo.findById(zone.getSpaceId()).orElseThrow();
+        assertEquals(quantity, reloaded.getUsedCapacity());
+        assertEquals(1_000_000 - quantity, reloaded.getAvailableCapacity());
+    }
+
+    private static ShipmentDTO shipment(Integer itemId, int quantity) {
+        ShipmentDTO dto = new ShipmentDTO();
+        dto.setItemId(itemId);
+        dto.setQuantity(quantity);
+        dto.setOrigin("Dock 1");
+        dto.setDestination("Customer");
+        dto.setExpectedDeliveryDate(LocalDate.now().plusDays(1));
+        return dto;
+    }
+
+    private static InventoryDTO edit(int quantity) {
+        InventoryDTO dto = new InventoryDTO();
+        dto.setItemName("Pallet");
+        dto.setQuantity(quantity);
+        return dto;
+    }
+
+    private Space newZone(String name, int capacity) {
+        Space s = new Space();
+        s.setZone(name);
+        s.setTotalCapacity(capacity);
+        s.setUsedCapacity(0);
+        s.setAvailableCapacity(capacity);
+        return spaceRepo.save(s);
+    }
+
+    private void runConcurrently(Runnable work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    work.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -1,57 +1,66 @@
 package com.example.lwms1.service;
 
-import com.example.lwms1.model.Inventory;
-import com.example.lwms1.model.Shipment;
-import com.example.lwms1.model.Space;
+import com.example.lwms1.datasource.ReadYourWrites;
+import com.example.lwms1.dto.CapacityTotalsDTO;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.LocalDate;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class DashboardServiceTest {
 
-    @Mock private InventoryService inventoryService;
-    @Mock private ShipmentService shipmentService;
-    @Mock private MaintenanceService maintenanceService;
-    @Mock private ReportService reportService;
-    @Mock private SpaceService spaceService;
-    @Mock private UserService userService;
+    @Mock private InventoryRepository inventoryRepo;
+    @Mock private ShipmentRepository shipmentRepo;
+    @Mock private MaintenanceScheduleRepository maintenanceRepo;
+    @Mock private ReportRepository reportRepo;
+    @Mock private SpaceRepository spaceRepo;
+    @Mock private UserAccountRepository userRepo;
+    @Mock private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private DashboardService dashboardService;
 
     @BeforeEach
     void setUp() {
+        // The queries normally fan out to the dashboard executor; run them inline here
+        dashboardService = new DashboardService(inventoryRepo, shipmentRepo, maintenanceRepo, reportRepo,
+                spaceRepo, userRepo, new SyncTaskExecutor(), transactionManager);
+
         // Use lenient() to prevent UnnecessaryStubbingException
-        // These provide defaults so getAllStats() doesn't throw NullPointer
-        lenient().when(inventoryService.listAll()).thenReturn(Collections.emptyList());
-        lenient().when(shipmentService.listAll()).thenReturn(Collections.emptyList());
-        lenient().when(maintenanceService.getPendingMaintenanceCount()).thenReturn(0L);
-        lenient().when(reportService.listAll()).thenReturn(Collections.emptyList());
-        lenient().when(spaceService.listAll()).thenReturn(Collections.emptyList());
-        lenient().when(userService.listAll()).thenReturn(Collections.emptyList());
+        lenient().when(inventoryRepo.count()).thenReturn(0L);
+        lenient().when(shipmentRepo.countByStatusIn(ShipmentStatus.ACTIVE)).thenReturn(0L);
+        lenient().when(shipmentRepo.countByStatusInAndExpectedDeliveryDateBefore(eq(ShipmentStatus.ACTIVE), any(LocalDate.class)))
+                .thenReturn(0L);
+        lenient().when(maintenanceRepo.countByCompletionStatusIgnoreCase("PENDING")).thenReturn(0L);
+        lenient().when(reportRepo.count()).thenReturn(0L);
+        lenient().when(userRepo.count()).thenReturn(0L);
+        lenient().when(spaceRepo.sumCapacity()).thenReturn(new CapacityTotalsDTO(null, null));
     }
 
     @Test
-    @DisplayName("Stats: Should calculate 50.0% utilization")
+    @DisplayName("Stats: Should calculate 50.0% utilization from the SQL capacity totals")
     void testUtilizationCalculation() {
         // Arrange
-        Space s1 = new Space();
-        s1.setUsedCapacity(50); // Ensure Space model has these setters
-        s1.setTotalCapacity(100);
-
-        when(spaceService.listAll()).thenReturn(Collections.singletonList(s1));
+        when(spaceRepo.sumCapacity()).thenReturn(new CapacityTotalsDTO(50L, 100L));
 
         // Act
         Map<String, Object> stats = dashboardService.getAllStats();
@@ -64,20 +73,80 @@ public class DashboardServiceTest {
     @DisplayName("Stats: Basic Counts verification")
     void testBasicCounts() {
         // Arrange
-        Inventory item = new Inventory();
-        item.setItemName("Test Item");
+        when(inventoryRepo.count()).thenReturn(1L);
+        when(shipmentRepo.countByStatusIn(ShipmentStatus.ACTIVE)).thenReturn(2L);
+        when(shipmentRepo.countByStatusInAndExpectedDeliveryDateBefore(ShipmentStatus.ACTIVE, LocalDate.now()))
+                .thenReturn(1L);
 
-        Shipment ship = new Shipment();
-        ship.setOrigin("Warehouse A");
+        // Act
+        Map<String, Object> stats = dashboardService.getAllStats();
 
-        when(inventoryService.listAll()).thenReturn(Arrays.asList(item));
-        when(shipmentService.listAll()).thenReturn(Arrays.asList(ship));
+        // Assert
+        assertEquals(1L, stats.get("inventoryCount"));
+        assertEquals(2L, stats.get("activeShipmentsCount"));
+        assertEquals(1L, stats.get("overdueShipmentsCount"));
+        verify(inventoryRepo, never()).findAll();
+        verify(shipmentRepo, never()).count();
+    }
 
+    @Test
+    @DisplayName("Snapshot: Should serve repeated reads from memory until a write event arrives")
+    void testSnapshotRefreshedOnlyAfterWriteEvent() {
         // Act
-        Map<String, Object> stats = dashboardService.getAllStats();
+        dashboardService.getAllStats();
+        dashboardService.getAllStats();
+
+        // Assert
+        verify(inventoryRepo, times(1)).count();
+
+        // Act
+        dashboardService.onWarehouseChanged(new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY));
+        dashboardService.getAllStats();
+
+        // Assert
+        verify(inventoryRepo, times(2)).count();
+    }
+
+    @Test
+    @DisplayName("Snapshot: A failed query should surface and leave the snapshot to be rebuilt")
+    void testFailedQueryPropagatesAndRetries() {
+        // Arrange
+        when(shipmentRepo.countByStatusIn(ShipmentStatus.ACTIVE))
+                .thenThrow(new IllegalStateException("db down")).thenReturn(3L);
+
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> dashboardService.getAllStats());
+        assertEquals("db down", ex.getMessage());
+        assertEquals(3L, dashboardService.getAllStats().get("activeShipmentsCount"));
+    }
+
+    @Test
+    @DisplayName("Stats: Each query should run read-only with a statement timeout")
+    void testQueriesRunWithTimeout() {
+        // Act
+        dashboardService.getAllStats();
+
+        // Assert: one transaction per aggregate query
+        verify(transactionManager, times(7)).getTransaction(argThat(definition ->
+                definition.isReadOnly() && definition.getTimeout() == DashboardService.QUERY_TIMEOUT_SECONDS));
+    }
+
+    @Test
+    @DisplayName("Snapshot: A rebuild after a write should read the primary, one due to age may use a replica")
+    void testRebuildAfterWriteReadsPrimary() {
+        // Arrange: report which pool the count would have come from
+        when(inventoryRepo.count()).thenAnswer(invocation -> ReadYourWrites.isActive() ? 1L : 0L);
+        dashboardService.getAllStats();
+        dashboardService.onWarehouseChanged(new WarehouseChangedEvent(WarehouseChangedEvent.INVENTORY));
+
+        // Act
+        Map<String, Object> afterWrite = dashboardService.getAllStats();
+        ReflectionTestUtils.setField(dashboardService, "snapshot", null);
+        Map<String, Object> unforced = dashboardService.getAllStats();
 
         // Assert
-        assertEquals(1, stats.get("inventoryCount"));
-        assertEquals(1, stats.get("activeShipmentsCount"));
+        assertEquals(1L, afterWrite.get("inventoryCount"));
+        assertEquals(0L, unforced.get("inventoryCount"));
+        assertFalse(ReadYourWrites.isActive());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.InventoryImportResultDTO;
+import com.example.lwms1.event.InventoryChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.ledger.StockLedger;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryJdbcRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryImportServiceTest {
+
+    @Mock private SpaceRepository spaceRepo;
+    @Mock private InventoryJdbcRepository inventoryJdbcRepo;
+    @Mock private MaintenanceLockRegistry lockRegistry;
+    @Mock private CapacityLedger capacityLedger;
+    @Mock private StockLedger stockLedger;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @Spy private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private InventoryImportService importService;
+
+    private Space zoneA;
+
+    @BeforeEach
+    void setUp() {
+        zoneA = new Space();
+        zoneA.setSpaceId(1);
+        zoneA.setZone("Zone-A");
+        lenient().when(spaceRepo.findAll()).thenReturn(List.of(zoneA));
+    }
+
+    @Test
+    @DisplayName("Import: Valid rows should be inserted in one batch while bad rows are reported by line")
+    void testImportReportsRowErrorsWithoutAborting() throws IOException {
+        // Arrange
+        when(capacityLedger.reserve(zoneA, 35)).thenReturn(true);
+        doAnswer(invocation -> {
+            List<Inventory> items = invocation.getArgument(0);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setItemId(100 + i);
+            }
+            return null;
+        }).when(inventoryJdbcRepo).insertAll(any(), anyInt());
+        String csv = "itemName,category,quantity,location\n" +
+                "Laptop,Electronics,10,Zone-A\n" +
+                "\"Desk, oak\",Furniture,20,Zone-A\n" +
+                "Chair,Furniture,-5,Zone-A\n" +
+                "Lamp,Furniture,abc,Zone-A\n" +
+                "Phone,Electronics,5,Zone-Z\n" +
+                "Cable,Electronics,5,Zone-A\n";
+
+        // Act
+        InventoryImportResultDTO result = importService.importCsv(stream(csv));
+
+        // Assert
+        assertEquals(6, result.getRowsRead());
+        assertEquals(3, result.getImportedRows());
+        assertEquals(3, result.getFailedRows());
+        assertEquals(List.of(4L, 5L, 6L), result.getErrors().stream().map(InventoryImportResultDTO.RowError::getLineNumber).toList());
+        assertEquals("Space not found: Zone-Z", result.getErrors().get(2).getMessage());
+
+        // one capacity reservation for the whole zone, one batched insert
+        verify(capacityLedger, times(1)).reserve(any(), anyInt());
+        ArgumentCaptor<List<Inventory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventoryJdbcRepo, times(1)).insertAll(captor.capture(), anyInt());
+        assertEquals(List.of("Laptop", "Desk, oak", "Cable"), captor.getValue().stream().map(Inventory::getItemName).toList());
+        verify(stockLedger).recordAll(captor.getValue(), StockMovementEvent.IMPORT);
+        verify(eventPublisher).publishEvent(any(StockMovementEvent.class));
+        verify(eventPublisher).publishEvent(any(WarehouseChangedEvent.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof InventoryChangedEvent changed
+                && changed.getItemIds().equals(List.of(100, 101, 102))));
+    }
+
+    @Test
+    @DisplayName("Import: A zone without enough room should reject its rows and insert nothing")
+    void testImportRejectsZoneWithoutCapacity() throws IOException {
+        // Arrange
+        when(capacityLedger.reserve(zoneA, 30)).thenReturn(false);
+        String csv = "location,itemName,category,quantity\n" +
+                "Zone-A,Laptop,Electronics,10\n" +
+                "Zone-A,Monitor,Electronics,20\n";
+
+        // Act
+        InventoryImportResultDTO result = importService.importCsv(stream(csv));
+
+        // Assert
+        assertEquals(0, result.getImportedRows());
+        assertEquals(2, result.getFailedRows());
+        assertEquals("Insufficient space in Zone-A", result.getErrors().get(0).getMessage());
+        verifyNoInteractions(inventoryJdbcRepo);
+        verifyNoInteractions(stockLedger);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Import: Missing header columns should fail the whole file")
+    void testImportRequiresHeader() {
+        // Act & Assert
+        assertThrows(BusinessException.class,
+                () -> importService.importCsv(stream("name,qty\nLaptop,1\n")));
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.lwms1.service;
 
+import com.example.lwms1.dto.InventoryCursor;
 import com.example.lwms1.dto.InventoryDTO;
+import com.example.lwms1.dto.InventoryPageDTO;
+import com.example.lwms1.dto.PutawaySlotDTO;
 import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.model.Inventory;
 import com.example.lwms1.model.Space;
 import com.example.lwms1.repository.InventoryRepository;
-import com.example.lwms1.repository.MaintenanceScheduleRepository;
 import com.example.lwms1.repository.SpaceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,7 +33,11 @@ public class InventoryServiceTest {
 
     @Mock private InventoryRepository inventoryRepo;
     @Mock private SpaceRepository spaceRepo;
-    @Mock private MaintenanceScheduleRepository maintenanceRepo;
+    @Mock private MaintenanceLockRegistry lockRegistry;
+    @Mock private CapacityLedger capacityLedger;
+    @Mock private PutawayAllocator putawayAllocator;
+
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private InventoryService inventoryService;
@@ -55,18 +66,18 @@ public class InventoryServiceTest {
     void testCreateInventorySuccess() {
         // Arrange
         when(spaceRepo.findByZone("Zone-A")).thenReturn(Optional.of(mockSpace));
-        when(maintenanceRepo.existsByEquipmentIdAndCompletionStatusIgnoreCase(10, "PENDING")).thenReturn(false);
-        when(inventoryRepo.save(any(Inventory.class))).thenAnswer(i -> i.getArgument(0));
+        when(lockRegistry.isLocked(10)).thenReturn(false);
+        when(capacityLedger.reserve(mockSpace, 5)).thenReturn(true);
+        when(inventoryRepo.save(any(Inventory.class))).thenAnswer(i -> saved(i.getArgument(0), 1));
 
         // Act
         Inventory result = inventoryService.create(mockDto);
 
         // Assert
         assertNotNull(result);
-        assertEquals(15, mockSpace.getUsedCapacity()); // 10 initial + 5 new
-        assertEquals(85, mockSpace.getAvailableCapacity());
+        verify(capacityLedger).reserve(mockSpace, 5); // capacity is taken atomically by the ledger
         verify(inventoryRepo).save(any(Inventory.class));
-        verify(spaceRepo).save(mockSpace);
+        verify(spaceRepo, never()).save(any());
     }
 
     @Test
@@ -75,7 +86,7 @@ public class InventoryServiceTest {
         // Arrange
         when(spaceRepo.findByZone("Zone-A")).thenReturn(Optional.of(mockSpace));
         // Simulate a "PENDING" maintenance task for this space
-        when(maintenanceRepo.existsByEquipmentIdAndCompletionStatusIgnoreCase(10, "PENDING")).thenReturn(true);
+        when(lockRegistry.isLocked(10)).thenReturn(true);
 
         // Act & Assert
         BusinessException ex = assertThrows(BusinessException.class, () -> inventoryService.create(mockDto));
@@ -90,10 +101,12 @@ public class InventoryServiceTest {
         // Arrange
         mockDto.setQuantity(200); // Exceeds total capacity of 100
         when(spaceRepo.findByZone("Zone-A")).thenReturn(Optional.of(mockSpace));
-        when(maintenanceRepo.existsByEquipmentIdAndCompletionStatusIgnoreCase(10, "PENDING")).thenReturn(false);
+        when(lockRegistry.isLocked(10)).thenReturn(false);
+        when(capacityLedger.reserve(mockSpace, 200)).thenReturn(false);
 
         // Act & Assert
         assertThrows(BusinessException.class, () -> inventoryService.create(mockDto));
+        verify(inventoryRepo, never()).save(any());
     }
 
     @Test
@@ -101,22 +114,27 @@ public class InventoryServiceTest {
     void testUpdateInventoryAdjustment() {
         // Arrange
         Inventory existingInv = new Inventory();
+        existingInv.setItemId(1);
         existingInv.setQuantity(10); // Current quantity in DB
         existingInv.setLocation("Zone-A");
 
         mockDto.setQuantity(15); // Updating to 15 (Adjustment of +5)
 
-        when(inventoryRepo.findById(1)).thenReturn(Optional.of(existingInv));
+        when(inventoryRepo.findSpaceIdsByItemIds(List.of(1))).thenReturn(List.of(10));
+        when(inventoryRepo.lockById(1)).thenReturn(Optional.of(existingInv));
         when(spaceRepo.findByZone("Zone-A")).thenReturn(Optional.of(mockSpace));
-        when(maintenanceRepo.existsByEquipmentIdAndCompletionStatusIgnoreCase(10, "PENDING")).thenReturn(false);
+        when(lockRegistry.isLocked(10)).thenReturn(false);
+        when(capacityLedger.adjust(mockSpace, 5)).thenReturn(true);
 
         // Act
         inventoryService.update(1, mockDto);
 
         // Assert
-        // Initial Space Used was 10. Adjustment is +5. New Used = 15.
-        assertEquals(15, mockSpace.getUsedCapacity());
-        verify(spaceRepo).save(mockSpace);
+        // Existing quantity was 10, new quantity 15: the zone is adjusted by +5
+        verify(capacityLedger).adjust(mockSpace, 5);
+        assertEquals(15, existingInv.getQuantity());
+        // The zone and the item were locked before the old quantity was read
+        verify(capacityLedger).lockZones(List.of(10));
     }
 
     @Test
@@ -124,20 +142,154 @@ public class InventoryServiceTest {
     void testDeleteFreesSpace() {
         // Arrange
         Inventory existingInv = new Inventory();
+        existingInv.setItemId(1);
         existingInv.setQuantity(10);
         existingInv.setLocation("Zone-A");
 
-        when(inventoryRepo.findById(1)).thenReturn(Optional.of(existingInv));
+        when(inventoryRepo.lockById(1)).thenReturn(Optional.of(existingInv));
         when(spaceRepo.findByZone("Zone-A")).thenReturn(Optional.of(mockSpace));
-        when(maintenanceRepo.existsByEquipmentIdAndCompletionStatusIgnoreCase(10, "PENDING")).thenReturn(false);
+        when(lockRegistry.isLocked(10)).thenReturn(false);
 
         // Act
         inventoryService.delete(1);
 
         // Assert
-        // Initial Space Used was 10. Delete 10. New Used = 0.
-        assertEquals(0, mockSpace.getUsedCapacity());
-        assertEquals(100, mockSpace.getAvailableCapacity());
+        // The 10 units are handed back to the zone
+        verify(capacityLedger).release(mockSpace, 10);
         verify(inventoryRepo).delete(existingInv);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("List Page: Should fetch one extra row and expose the last item as the next cursor")
+    void testListPageHasNext() {
+        // Arrange
+        List<Inventory> rows = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            Inventory inv = new Inventory();
+            inv.setItemId(id);
+            rows.add(inv);
+        }
+        when(inventoryRepo.findFirstPageById(any(Pageable.class))).thenReturn(rows);
+
+        // Act
+        InventoryPageDTO page = inventoryService.listPage(null, "id", 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertEquals(InventoryCursor.encode(InventoryPageDTO.SortKey.ID, 2, null), page.getNextCursor());
+        assertTrue(page.isFirstPage());
+        verify(inventoryRepo, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("List Page: Should seek from the values in the cursor without reading the cursor row")
+    void testListPageSeeksOnCursor() {
+        // Arrange
+        LocalDateTime stamp = LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123_456_000);
+        Inventory anchor = new Inventory();
+        anchor.setItemId(40);
+        anchor.setLastUpdated(stamp);
+        String after = InventoryCursor.of(InventoryPageDTO.SortKey.LAST_UPDATED, anchor);
+        when(inventoryRepo.findPageAfterLastUpdated(eq(stamp), eq(40), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        InventoryPageDTO page = inventoryService.listPage(after, "lastUpdated", null);
+
+        // Assert
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertFalse(page.isFirstPage());
+        assertEquals(InventoryPageDTO.SortKey.LAST_UPDATED, page.getSort());
+        assertEquals(InventoryService.DEFAULT_PAGE_SIZE, page.getSize());
+        verify(inventoryRepo, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("List Page: Should continue past uncategorised items instead of treating them as ''")
+    void testListPageAfterNullCategory() {
+        // Arrange
+        Inventory uncategorised = new Inventory();
+        uncategorised.setItemId(7);
+        String after = InventoryCursor.of(InventoryPageDTO.SortKey.CATEGORY, uncategorised);
+        when(inventoryRepo.findPageAfterNullCategory(eq(7), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        inventoryService.listPage(after, "category", null);
+
+        // Assert
+        verify(inventoryRepo, never()).findPageAfterCategory(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("List Page: Should restart from the first page on a cursor it cannot read")
+    void testListPageIgnoresGarbledCursor() {
+        // Arrange
+        String idCursor = InventoryCursor.encode(InventoryPageDTO.SortKey.ID, 5, null);
+        when(inventoryRepo.findFirstPageByCategory(any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        inventoryService.listPage("not a cursor!", "category", null);
+        InventoryPageDTO page = inventoryService.listPage(idCursor, "category", null);
+
+        // Assert
+        assertTrue(page.isFirstPage());
+        verify(inventoryRepo, times(2)).findFirstPageByCategory(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Auto-locate: A split receipt should lock its zones and store one item per zone")
+    void testCreateAutoLocatedSplitsAcrossZones() {
+        // Arrange
+        Space zoneB = new Space();
+        zoneB.setSpaceId(20);
+        zoneB.setZone("Zone-B");
+        mockDto.setLocation(InventoryDTO.AUTO_LOCATION);
+        mockDto.setQuantity(120);
+        when(putawayAllocator.plan(120, "Electronics", true)).thenReturn(List.of(
+                new PutawaySlotDTO(10, "Zone-A", 90), new PutawaySlotDTO(20, "Zone-B", 30)));
+        when(spaceRepo.findById(10)).thenReturn(Optional.of(mockSpace));
+        when(spaceRepo.findById(20)).thenReturn(Optional.of(zoneB));
+        when(capacityLedger.reserve(any(Space.class), anyInt())).thenReturn(true);
+        when(inventoryRepo.save(any(Inventory.class))).thenAnswer(i -> saved(i.getArgument(0), 7));
+
+        // Act
+        List<Inventory> created = inventoryService.createAutoLocated(mockDto, true);
+
+        // Assert
+        verify(capacityLedger).lockZones(List.of(10, 20));
+        assertEquals(List.of("Zone-A", "Zone-B"), created.stream().map(Inventory::getLocation).toList());
+        assertEquals(List.of(90, 30), created.stream().map(Inventory::getQuantity).toList());
+    }
+
+    @Test
+    @DisplayName("Auto-locate: A zone the ledger refuses should be re-planned instead of failing the receipt")
+    void testCreateAutoLocatedReplansRefusedZone() {
+        // Arrange
+        Space zoneB = new Space();
+        zoneB.setSpaceId(20);
+        zoneB.setZone("Zone-B");
+        when(putawayAllocator.plan(5, "Electronics", false))
+                .thenReturn(List.of(new PutawaySlotDTO(10, "Zone-A", 5)))
+                .thenReturn(List.of(new PutawaySlotDTO(20, "Zone-B", 5)));
+        when(spaceRepo.findById(10)).thenReturn(Optional.of(mockSpace));
+        when(spaceRepo.findById(20)).thenReturn(Optional.of(zoneB));
+        when(capacityLedger.reserve(mockSpace, 5)).thenReturn(false);
+        when(capacityLedger.reserve(zoneB, 5)).thenReturn(true);
+        when(inventoryRepo.save(any(Inventory.class))).thenAnswer(i -> saved(i.getArgument(0), 8));
+
+        // Act
+        List<Inventory> created = inventoryService.createAutoLocated(mockDto, false);
+
+        // Assert
+        assertEquals(1, created.size());
+        assertEquals("Zone-B", created.get(0).getLocation());
+        verify(putawayAllocator).markStale("Zone-A");
+        verify(capacityLedger, never()).lockZones(any());
+    }
+
+    private static Inventory saved(Inventory inv, int id) {
+        inv.setItemId(id);
+        return inv;
+    }
+}
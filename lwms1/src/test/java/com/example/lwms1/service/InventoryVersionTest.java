@@ -0,0 +1,87 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.ShipmentStatusChangeRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The inventory API answers conditional GETs from InventoryService.getVersion, so every write
+ * that changes a quantity has to move that version.
+ */
+@DataJpaTest
+@Import({InventoryService.class, ShipmentService.class, CapacityLedger.class, MaintenanceLockRegistry.class,
+        PutawayAllocator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InventoryVersionTest {
+
+    @Autowired private InventoryService inventoryService;
+    @Autowired private ShipmentService shipmentService;
+    @Autowired private InventoryRepository inventoryRepo;
+    @Autowired private ShipmentRepository shipmentRepo;
+    @Autowired private ShipmentStatusChangeRepository statusLogRepo;
+    @Autowired private SpaceRepository spaceRepo;
+
+    @AfterEach
+    void cleanUp() {
+        statusLogRepo.deleteAll();
+        shipmentRepo.deleteAll();
+        inventoryRepo.deleteAll();
+        spaceRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Versioning: A shipment and its cancellation should each change the inventory ETag")
+    void testShipmentChangesETag() throws Exception {
+        // Arrange
+        Space zone = new Space();
+        zone.setZone("ETAG-1");
+        zone.setTotalCapacity(100);
+        zone.setUsedCapacity(50);
+        zone.setAvailableCapacity(50);
+        zone = spaceRepo.save(zone);
+        Inventory item = new Inventory();
+        item.setItemName("Pallet");
+        item.setQuantity(50);
+        item.setLocation(zone.getZone());
+        item.setStorageSpace(zone);
+        item.setLastUpdated(LocalDateTime.now().minusDays(1));
+        item = inventoryRepo.save(item);
+        String before = inventoryService.getVersion().getETag();
+
+        // Act
+        ShipmentDTO dto = new ShipmentDTO();
+        dto.setItemId(item.getItemId());
+        dto.setQuantity(5);
+        dto.setOrigin("Dock 1");
+        dto.setDestination("Customer");
+        dto.setExpectedDeliveryDate(LocalDate.now().plusDays(1));
+        Shipment shipment = shipmentService.create(dto);
+        String afterShipment = inventoryService.getVersion().getETag();
+        // Last-Modified has millisecond resolution
+        Thread.sleep(5);
+        shipmentService.changeStatus(shipment.getShipmentId(), "CANCELLED");
+        String afterCancel = inventoryService.getVersion().getETag();
+
+        // Assert
+        assertNotEquals(before, afterShipment);
+        assertNotEquals(afterShipment, afterCancel);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements behind each list page with Hibernate statistics. Every item sits in
+ * its own space and every shipment points at its own item, so an N+1 would show up as a
+ * statement count that grows with the number of rows.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ShipmentService.class, InventoryService.class, CapacityLedger.class, MaintenanceLockRegistry.class,
+        PutawayAllocator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ListQueryCountTest {
+
+    @Autowired private ShipmentService shipmentService;
+    @Autowired private InventoryService inventoryService;
+    @Autowired private SpaceRepository spaceRepo;
+    @Autowired private InventoryRepository inventoryRepo;
+    @Autowired private ShipmentRepository shipmentRepo;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate readOnlyTx;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        shipmentRepo.deleteAll();
+        inventoryRepo.deleteAll();
+        spaceRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Shipment list: Statement count should not grow with the number of shipments")
+    void testShipmentListStatementCountIsConstant() {
+        // Arrange
+        seed(5);
+        long small = countStatements(() -> shipmentService.listAll().forEach(s -> s.getInventory().getItemName()));
+        seed(45);
+
+        // Act
+        long large = countStatements(() -> shipmentService.listAll().forEach(s -> s.getInventory().getItemName()));
+
+        // Assert
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    @DisplayName("Inventory list: Statement count should not grow with the number of items")
+    void testInventoryListStatementCountIsConstant() {
+        // Arrange
+        seed(5);
+        long smallAll = countStatements(() -> inventoryService.listAll().forEach(Inventory::getItemName));
+        long smallPage = countStatements(() -> inventoryService.listPage(null, null, null));
+        seed(45);
+
+        // Act
+        long largeAll = countStatements(() -> inventoryService.listAll().forEach(Inventory::getItemName));
+        long largePage = countStatements(() -> inventoryService.listPage(null, null, null));
+
+        // Assert
+        assertEquals(1, smallAll);
+        assertEquals(smallAll, largeAll);
+        assertEquals(1, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    private long countStatements(Runnable listPage) {
+        statistics.clear();
+        readOnlyTx.executeWithoutResult(status -> listPage.run());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int rows) {
+        for (int i = 0; i < rows; i++) {
+            int n = seeded++;
+            Space space = new Space();
+            space.setZone("Z-" + n);
+            space.setTotalCapacity(100);
+            space.setUsedCapacity(10);
+            space.setAvailableCapacity(90);
+            space = spaceRepo.save(space);
+
+            Inventory item = new Inventory();
+            item.setItemName("Item " + n);
+            item.setCategory("General");
+            item.setQuantity(10);
+            item.setLocation(space.getZone());
+            item.setStorageSpace(space);
+            item = inventoryRepo.save(item);
+
+            Shipment shipment = new Shipment();
+            shipment.setInventory(item);
+            shipment.setOrigin(space.getZone());
+            shipment.setDestination("Customer " + n);
+            shipment.setStatus(ShipmentStatus.PENDING);
+            shipment.setQuantity(1);
+            shipment.setExpectedDeliveryDate(LocalDate.now().plusDays(3));
+            shipmentRepo.save(shipment);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.datasource.ReadYourWrites;
+import com.example.lwms1.event.ShipmentChangedEvent;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LiveFeedServiceTest {
+
+    @Mock private SpaceRepository spaceRepo;
+    @Mock private ShipmentRepository shipmentRepo;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    // Send tasks are collected instead of run, which is what a slow client looks like
+    private final List<Runnable> queuedSends = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private LiveFeedService liveFeed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        liveFeed = new LiveFeedService(spaceRepo, shipmentRepo, transactionManager, queuedSends::add, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Flush: Repeated updates should be loaded once and shared by every subscriber")
+    void testUpdatesCoalescedAcrossSubscribers() {
+        // Arrange
+        liveFeed.subscribe(LiveFeedService.SHIPMENTS, null);
+        liveFeed.subscribe(LiveFeedService.SHIPMENTS, null);
+        liveFeed.subscribe(LiveFeedService.SHIPMENTS, 7);
+        liveFeed.subscribe(LiveFeedService.SPACES, null);
+        for (int i = 0; i < 3; i++) {
+            liveFeed.onShipmentChanged(new ShipmentChangedEvent(7, false));
+        }
+        liveFeed.onShipmentChanged(new ShipmentChangedEvent(8, false));
+        when(shipmentRepo.findAllWithInventoryByIdIn(any())).thenReturn(List.of(shipment(7), shipment(8)));
+
+        // Act
+        liveFeed.flush();
+        queuedSends.forEach(Runnable::run);
+
+        // Assert
+        verify(shipmentRepo, times(1)).findAllWithInventoryByIdIn(argThat(ids -> ids.size() == 2));
+        verifyNoInteractions(spaceRepo);
+        assertEquals(3, queuedSends.size(), "Only the shipment subscribers should have something to send");
+        // Two full-feed subscribers get both shipments, the tracking subscriber only #7
+        assertEquals(5.0, meterRegistry.get("lwms.live.messages").counter().count());
+    }
+
+    @Test
+    @DisplayName("Backpressure: A subscriber that falls behind should get one resync instead of the backlog")
+    void testSlowSubscriberGetsResync() {
+        // Arrange
+        liveFeed.subscribe(LiveFeedService.SHIPMENTS, null);
+        List<Shipment> changed = new ArrayList<>();
+        for (int id = 1; id <= LiveFeedService.MAX_PENDING_PER_SUBSCRIBER + 1; id++) {
+            liveFeed.onShipmentChanged(new ShipmentChangedEvent(id, false));
+            changed.add(shipment(id));
+        }
+        when(shipmentRepo.findAllWithInventoryByIdIn(any())).thenReturn(changed);
+
+        // Act
+        liveFeed.flush();
+        queuedSends.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("lwms.live.resyncs").counter().count());
+        assertEquals(0.0, meterRegistry.get("lwms.live.messages").counter().count());
+    }
+
+    @Test
+    @DisplayName("Flush: Nothing should be read from the database while nobody is listening")
+    void testNoSubscribersNoQueries() {
+        // Arrange
+        liveFeed.onStockMovement(new StockMovementEvent(StockMovementEvent.RECEIPT, "Zone-A", 1, 10));
+
+        // Act
+        liveFeed.flush();
+
+        // Assert
+        verifyNoInteractions(spaceRepo, shipmentRepo);
+        assertEquals(0, queuedSends.size());
+    }
+
+    @Test
+    @DisplayName("Flush: Changed shipments should be reloaded from the primary, not a lagging replica")
+    void testChangedShipmentsReadFromPrimary() {
+        // Arrange
+        liveFeed.subscribe(LiveFeedService.SHIPMENTS, null);
+        liveFeed.onShipmentChanged(new ShipmentChangedEvent(7, false));
+        List<Boolean> pinned = new ArrayList<>();
+        when(shipmentRepo.findAllWithInventoryByIdIn(any())).thenAnswer(invocation -> {
+            pinned.add(ReadYourWrites.isActive());
+            return List.of(shipment(7));
+        });
+
+        // Act
+        liveFeed.flush();
+
+        // Assert
+        assertEquals(List.of(true), pinned);
+        assertFalse(ReadYourWrites.isActive());
+    }
+
+    private Shipment shipment(int id) {
+        Shipment s = new Shipment();
+        s.setShipmentId(id);
+        s.setStatus(ShipmentStatus.IN_TRANSIT);
+        return s;
+    }
+}
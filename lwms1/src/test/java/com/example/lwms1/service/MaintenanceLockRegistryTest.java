@@ -0,0 +1,189 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.event.WarehouseChangedEvent;
+import com.example.lwms1.model.MaintenanceSchedule;
+import com.example.lwms1.repository.MaintenanceScheduleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MaintenanceLockRegistryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 3, 10, 12, 0);
+
+    @Mock
+    private MaintenanceScheduleRepository repo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MovableClock clock;
+    private MaintenanceLockRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock(NOW.toInstant(ZoneOffset.UTC));
+        registry = new MaintenanceLockRegistry(repo, eventPublisher, clock);
+
+        // Space 7 is in an open window, space 9's window starts tomorrow, space 3's ended an hour ago
+        when(repo.findByCompletionStatusIgnoreCase("PENDING")).thenReturn(List.of(
+                task(1, 7, NOW.minusHours(1), NOW.plusHours(2)),
+                task(2, 9, NOW.plusDays(1), NOW.plusDays(2)),
+                task(3, 3, NOW.minusHours(5), NOW.minusHours(1))));
+        registry.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    @DisplayName("Rebuild: Should lock only the spaces whose window is open now")
+    void testRebuildFromDatabase() {
+        assertTrue(registry.isLocked(7));
+        assertFalse(registry.isLocked(9));
+        assertFalse(registry.isLocked(3));
+        assertEquals(List.of(7), registry.getLockedSpaceIds());
+    }
+
+    @Test
+    @DisplayName("Lookup: Should answer for any point in time, not just now")
+    void testLockedAtTime() {
+        assertTrue(registry.isLocked(9, NOW.plusDays(1).plusHours(3)));
+        assertFalse(registry.isLocked(9, NOW.plusDays(2)));
+        assertTrue(registry.isLocked(3, NOW.minusHours(2)));
+    }
+
+    @Test
+    @DisplayName("Refresh: Should flip locks when a window opens or closes")
+    void testRefreshAtWindowBoundaries() {
+        // Act
+        clock.set(NOW.plusDays(1));
+        registry.refresh();
+
+        // Assert
+        assertFalse(registry.isLocked(7));
+        assertTrue(registry.isLocked(9));
+        verify(eventPublisher, atLeastOnce()).publishEvent(any(WarehouseChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Track: Should lock a space only while a pending task's window is open")
+    void testTrackPendingTask() {
+        // Act
+        registry.track(task(4, 5, NOW, NOW.plusMinutes(30)));
+
+        // Assert
+        assertTrue(registry.isLocked(5));
+
+        // Act
+        clock.set(NOW.plusMinutes(30));
+        registry.refresh();
+
+        // Assert
+        assertFalse(registry.isLocked(5));
+    }
+
+    @Test
+    @DisplayName("Track: Should release the space when its task is completed")
+    void testTrackCompletedTask() {
+        // Arrange
+        MaintenanceSchedule done = task(1, 7, NOW.minusHours(1), NOW.plusHours(2));
+        done.setCompletionStatus("COMPLETED");
+
+        // Act
+        registry.track(done);
+
+        // Assert
+        assertFalse(registry.isLocked(7));
+        verify(repo, times(1)).findByCompletionStatusIgnoreCase("PENDING");
+    }
+
+    @Test
+    @DisplayName("Legacy: Should lock from the scheduled date until completion when a task has no window")
+    void testTaskWithoutWindow() {
+        // Arrange
+        MaintenanceSchedule legacy = new MaintenanceSchedule();
+        legacy.setScheduleId(5);
+        legacy.setEquipmentId(11);
+        legacy.setScheduledDate(LocalDate.of(2030, 3, 11));
+        legacy.setCompletionStatus("PENDING");
+
+        // Act
+        registry.track(legacy);
+
+        // Assert
+        assertFalse(registry.isLocked(11));
+        assertTrue(registry.isLocked(11, LocalDateTime.of(2030, 3, 11, 0, 0)));
+        assertTrue(registry.isLocked(11, LocalDateTime.of(2031, 1, 1, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Release: Should unlock a space when its task is deleted")
+    void testReleaseDeletedTask() {
+        // Act
+        registry.release(1);
+
+        // Assert
+        assertFalse(registry.isLocked(7));
+        assertFalse(registry.isLocked(7, NOW));
+    }
+
+    private static MaintenanceSchedule task(int id, int spaceId, LocalDateTime start, LocalDateTime end) {
+        MaintenanceSchedule m = new MaintenanceSchedule();
+        m.setScheduleId(id);
+        m.setEquipmentId(spaceId);
+        m.setScheduledDate(start.toLocalDate());
+        m.setStartsAt(start);
+        m.setEndsAt(end);
+        m.setCompletionStatus("PENDING");
+        return m;
+    }
+
+    // Shared with the registry's timer thread, so a flip it fires sees the same time as the test
+    private static class MovableClock extends Clock {
+        private volatile Instant instant;
+
+        MovableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(LocalDateTime at) {
+            instant = at.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.lwms1.service;
 
 import com.example.lwms1.dto.MaintenanceDTO;
+import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.MaintenanceSchedule;
 import com.example.lwms1.repository.MaintenanceScheduleRepository;
@@ -11,8 +12,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +29,11 @@ public class MaintenanceServiceTest {
     @Mock
     private MaintenanceScheduleRepository repo;
 
+    @Mock
+    private MaintenanceLockRegistry lockRegistry;
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MaintenanceService service;
 
@@ -91,6 +100,53 @@ public class MaintenanceServiceTest {
         // Assert
         assertEquals("PENDING", saved.getCompletionStatus());
         verify(repo).save(any(MaintenanceSchedule.class));
+        assertEquals(LocalDate.now().atStartOfDay(), saved.getStartsAt());
+        verify(lockRegistry).track(saved);
+    }
+
+    @Test
+    @DisplayName("Schedule: Should reject a window that ends before it starts")
+    void testScheduleRejectsInvertedWindow() {
+        // Arrange
+        MaintenanceDTO dto = new MaintenanceDTO();
+        dto.setEquipmentId(101);
+        dto.setDescription("Dock Door Repair");
+        dto.setScheduledDate(LocalDate.now().plusDays(1));
+        dto.setStartTime(LocalTime.of(14, 0));
+        dto.setEndsAt(LocalDate.now().plusDays(1).atTime(9, 0));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> service.schedule(dto));
+        verify(repo, never()).save(any());
+        verifyNoInteractions(lockRegistry);
+    }
+
+    @Test
+    @DisplayName("Delete: Should release the zone lock when a pending task is removed")
+    void testDeletePendingUnlocksZone() {
+        // Arrange
+        when(repo.findById(1)).thenReturn(Optional.of(mockTask));
+
+        // Act
+        service.delete(1);
+
+        // Assert
+        verify(repo).delete(mockTask);
+        verify(lockRegistry).release(1);
+    }
+
+    @Test
+    @DisplayName("Locked Spaces: Should answer from the lock registry without scanning schedules")
+    void testLockedSpaceIdsFromRegistry() {
+        // Arrange
+        when(lockRegistry.getLockedSpaceIds()).thenReturn(List.of(101));
+
+        // Act
+        List<Integer> locked = service.getCurrentlyLockedSpaceIds();
+
+        // Assert
+        assertEquals(List.of(101), locked);
+        verify(repo, never()).findAll();
     }
 
     @Test
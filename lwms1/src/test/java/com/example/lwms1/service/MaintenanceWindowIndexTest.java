@@ -0,0 +1,103 @@
+package com.example.lwms1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaintenanceWindowIndexTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    private MaintenanceWindowIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MaintenanceWindowIndex();
+    }
+
+    @Test
+    @DisplayName("Lookup: Window start is inclusive and its end exclusive")
+    void testHalfOpenWindow() {
+        // Arrange
+        index.put(1, 7, T, T.plusHours(2));
+
+        // Assert
+        assertFalse(index.isLocked(7, T.minusNanos(1)));
+        assertTrue(index.isLocked(7, T));
+        assertTrue(index.isLocked(7, T.plusHours(2).minusNanos(1)));
+        assertFalse(index.isLocked(7, T.plusHours(2)));
+        assertFalse(index.isLocked(8, T));
+    }
+
+    @Test
+    @DisplayName("Lookup: Overlapping windows lock the space until the last one ends")
+    void testOverlappingWindows() {
+        // Arrange
+        index.put(1, 7, T, T.plusHours(2));
+        index.put(2, 7, T.plusHours(1), T.plusHours(4));
+        index.put(3, 7, T.plusHours(6), T.plusHours(7));
+
+        // Assert
+        assertTrue(index.isLocked(7, T.plusHours(3)));
+        assertFalse(index.isLocked(7, T.plusHours(5)));
+        assertTrue(index.isLocked(7, T.plusHours(6)));
+
+        // Act
+        index.remove(2);
+
+        // Assert
+        assertFalse(index.isLocked(7, T.plusHours(3)));
+        assertTrue(index.isLocked(7, T.plusHours(1)));
+    }
+
+    @Test
+    @DisplayName("Lookup: A window without an end stays locked")
+    void testOpenEndedWindow() {
+        // Arrange
+        index.put(1, 7, T, null);
+
+        // Assert
+        assertTrue(index.isLocked(7, T.plusYears(5)));
+        assertEquals(Set.of(7), index.lockedAt(T.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Put: Should replace the previous window of the same schedule")
+    void testPutReplacesWindow() {
+        // Arrange
+        index.put(1, 7, T, T.plusHours(1));
+
+        // Act
+        index.put(1, 9, T.plusDays(1), T.plusDays(2));
+
+        // Assert
+        assertFalse(index.isLocked(7, T));
+        assertTrue(index.isLocked(9, T.plusDays(1)));
+        assertEquals(T.plusDays(1), index.nextBoundaryAfter(T));
+    }
+
+    @Test
+    @DisplayName("Boundaries: Should return the next start or end after a time")
+    void testNextBoundary() {
+        // Arrange
+        index.put(1, 7, T, T.plusHours(2));
+        index.put(2, 8, T, T.plusHours(1));
+
+        // Assert
+        assertEquals(T, index.nextBoundaryAfter(T.minusMinutes(1)));
+        assertEquals(T.plusHours(1), index.nextBoundaryAfter(T));
+
+        // Act
+        index.remove(2);
+
+        // Assert
+        assertEquals(T, index.nextBoundaryAfter(T.minusMinutes(1)));
+        assertEquals(T.plusHours(2), index.nextBoundaryAfter(T));
+        assertNull(index.nextBoundaryAfter(T.plusHours(2)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.PutawaySlotDTO;
+import com.example.lwms1.event.StockMovementEvent;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PutawayAllocatorTest {
+
+    @Mock private SpaceRepository spaceRepo;
+    @Mock private InventoryRepository inventoryRepo;
+    @Mock private MaintenanceLockRegistry lockRegistry;
+
+    @InjectMocks
+    private PutawayAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        // available: A 50, B 20, C 80, D 35
+        lenient().when(spaceRepo.findAll()).thenReturn(List.of(
+                space(1, "Zone-A", 50), space(2, "Zone-B", 20), space(3, "Zone-C", 80), space(4, "Zone-D", 35)));
+    }
+
+    @Test
+    @DisplayName("Plan: The fullest zone that still has room should win, skipping zones under maintenance")
+    void testBestFitSkipsLockedZones() {
+        // Arrange
+        lenient().when(lockRegistry.isLocked(4)).thenReturn(true);
+
+        // Act
+        List<PutawaySlotDTO> plan = allocator.plan(30, null, false);
+
+        // Assert: D (35) is the tightest fit but locked, so A (50)
+        assertEquals(List.of("Zone-A"), zones(plan));
+        assertEquals(30, plan.get(0).getQuantity());
+    }
+
+    @Test
+    @DisplayName("Plan: A zone already holding the category should be preferred when it has room")
+    void testCategoryAffinity() {
+        // Arrange
+        when(inventoryRepo.findSpaceIdsByCategory("Furniture")).thenReturn(List.of(3, 2));
+
+        // Act & Assert: B is too small for 30, C already holds furniture
+        assertEquals(List.of("Zone-C"), zones(allocator.plan(30, "Furniture", false)));
+    }
+
+    @Test
+    @DisplayName("Plan: Without a fitting zone a split should use the largest zones and best-fit the rest")
+    void testSplitAcrossZones() {
+        // Act
+        List<PutawaySlotDTO> plan = allocator.plan(100, null, true);
+
+        // Assert: C takes 80, the remaining 20 fit B exactly
+        assertEquals(List.of("Zone-C", "Zone-B"), zones(plan));
+        assertEquals(List.of(80, 20), plan.stream().map(PutawaySlotDTO::getQuantity).toList());
+        assertThrows(BusinessException.class, () -> allocator.plan(100, null, false));
+        assertThrows(BusinessException.class, () -> allocator.plan(186, null, true));
+    }
+
+    @Test
+    @DisplayName("Plan: A committed stock movement should have its zone re-read before the next plan")
+    void testStockMovementRefreshesZone() {
+        // Arrange
+        allocator.plan(10, null, false);
+        when(spaceRepo.findByZone("Zone-C")).thenReturn(Optional.of(space(3, "Zone-C", 10)));
+
+        // Act
+        allocator.onStockMovement(new StockMovementEvent(StockMovementEvent.RECEIPT, "Zone-C", 5, 70));
+
+        // Assert: only A (50) can take 40 now
+        assertEquals(List.of("Zone-A"), zones(allocator.plan(40, null, false)));
+        verify(spaceRepo, times(1)).findAll();
+    }
+
+    private static Space space(int id, String zone, int available) {
+        Space space = new Space();
+        space.setSpaceId(id);
+        space.setZone(zone);
+        space.setAvailableCapacity(available);
+        return space;
+    }
+
+    private static List<String> zones(List<PutawaySlotDTO> plan) {
+        return plan.stream().map(PutawaySlotDTO::getZone).toList();
+    }
+}
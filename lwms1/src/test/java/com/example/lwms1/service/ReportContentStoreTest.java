@@ -0,0 +1,85 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.model.Report;
+import com.example.lwms1.model.ReportChunk;
+import com.example.lwms1.repository.ReportChunkRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReportContentStoreTest {
+
+    @Mock private ReportChunkRepository chunkRepo;
+
+    @InjectMocks
+    private ReportContentStore contentStore;
+
+    @Test
+    @DisplayName("Round trip: Large body should be split into compressed chunks and read back unchanged")
+    void testWriteAndReadBackAcrossChunks() throws IOException {
+        // Arrange: random text compresses poorly, so the body needs more than one chunk
+        List<ReportChunk> stored = new ArrayList<>();
+        when(chunkRepo.save(any(ReportChunk.class))).thenAnswer(inv -> {
+            stored.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        when(chunkRepo.findByReportIdAndChunkIndex(eq(5), anyInt()))
+                .thenAnswer(inv -> Optional.of(stored.get(inv.getArgument(1))));
+
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        for (int i = 0; i < 600_000; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+
+        // Act
+        ReportContentStore.BodyWriter writer = contentStore.openWriter(5);
+        try (writer) {
+            writer.write(text.toString());
+        }
+        Report report = new Report();
+        report.setReportId(5);
+        report.setChunkCount(writer.getChunkCount());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        contentStore.copyTo(report, out);
+
+        // Assert
+        assertTrue(stored.size() > 1, "Body should span several chunks");
+        assertEquals(stored.size(), writer.getChunkCount());
+        assertTrue(stored.stream().allMatch(c -> c.getData().length <= ReportChunk.MAX_SIZE));
+        assertEquals(600_000L, writer.getOriginalSize());
+        assertEquals(text.toString(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Legacy: Reports without chunks should be served from the old details column")
+    void testLegacyReportReadsDetails() throws IOException {
+        // Arrange
+        Report report = new Report();
+        report.setReportId(1);
+        report.setDetails("old report body");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        contentStore.copyTo(report, out);
+
+        // Assert
+        assertEquals("old report body", out.toString(StandardCharsets.UTF_8));
+        verifyNoInteractions(chunkRepo);
+    }
+}
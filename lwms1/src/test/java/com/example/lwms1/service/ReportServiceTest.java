@@ -1,19 +1,34 @@
 package com.example.lwms1.service;
 
 import com.example.lwms1.dto.ReportDTO;
+import com.example.lwms1.dto.ReportJobDTO;
+import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.model.*;
 import com.example.lwms1.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,12 +42,32 @@ public class ReportServiceTest {
     @Mock private SpaceRepository spaceRepo;
     @Mock private MaintenanceScheduleRepository maintenanceRepo;
 
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private EntityManager entityManager;
+    @Mock private ReportContentStore contentStore;
+
+    // Runs the job on the calling thread so the report is saved before generate() returns
+    @Spy private TaskExecutor reportExecutor = new SyncTaskExecutor();
+
     @InjectMocks
     private ReportService reportService;
 
+    private final ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(contentStore.openWriter(1)).thenAnswer(inv -> new ReportContentStore.BodyWriter(compressedBody));
+        lenient().when(reportRepo.save(any(Report.class))).thenAnswer(inv -> {
+            Report report = inv.getArgument(0);
+            report.setReportId(1);
+            return report;
+        });
+    }
+
     @Test
     @DisplayName("Generate: Inventory Report should correctly format item data")
-    void testGenerateInventoryReport() {
+    void testGenerateInventoryReport() throws IOException {
         // Arrange
         ReportDTO dto = new ReportDTO();
         dto.setReportType("INVENTORY");
@@ -43,28 +78,37 @@ public class ReportServiceTest {
         item.setQuantity(100);
         item.setLocation("Warehouse-B");
 
-        when(inventoryRepo.findAll()).thenReturn(Collections.singletonList(item));
+        when(inventoryRepo.count()).thenReturn(1L);
+        when(inventoryRepo.streamAll()).thenReturn(Stream.of(item));
 
         // Act
-        reportService.generate(dto);
+        String jobId = reportService.generate(dto);
 
         // Assert
         ArgumentCaptor<Report> captor = ArgumentCaptor.forClass(Report.class);
-        verify(reportRepo).save(captor.capture());
+        verify(reportRepo, times(2)).save(captor.capture());
+
+        ReportJobDTO job = reportService.findJob(jobId).orElseThrow();
+        assertEquals(ReportJobDTO.State.COMPLETED, job.getState());
+        assertEquals(1, job.getProcessedRows());
+        assertEquals(1, job.getReportId());
 
         Report result = captor.getValue();
-        String details = result.getDetails();
+        String details = writtenBody();
 
         assertEquals("INVENTORY", result.getReportType());
+        assertEquals((long) details.getBytes(StandardCharsets.UTF_8).length, result.getOriginalSize());
+        assertEquals(1, result.getChunkCount());
         assertTrue(details.contains("Smartphone"), "Report should contain item name");
         assertTrue(details.contains("100"), "Report should contain quantity");
         assertTrue(details.contains("Stock audit"), "Report should contain custom notes");
-        verify(inventoryRepo).findAll();
+        verify(inventoryRepo).streamAll();
+        verify(inventoryRepo, never()).findAll();
     }
 
     @Test
     @DisplayName("Generate: Shipment Report should include shipment status and destination")
-    void testGenerateShipmentReport() {
+    void testGenerateShipmentReport() throws IOException {
         // Arrange
         ReportDTO dto = new ReportDTO();
         dto.setReportType("SHIPMENT");
@@ -72,26 +116,27 @@ public class ReportServiceTest {
         Shipment shipment = new Shipment();
         shipment.setShipmentId(501);
         shipment.setDestination("New York");
-        shipment.setStatus("SHIPPED");
+        shipment.setStatus(ShipmentStatus.IN_TRANSIT);
 
-        when(shipmentRepo.findAll()).thenReturn(Collections.singletonList(shipment));
+        when(shipmentRepo.count()).thenReturn(1L);
+        when(shipmentRepo.streamAll()).thenReturn(Stream.of(shipment));
 
         // Act
         reportService.generate(dto);
 
         // Assert
         ArgumentCaptor<Report> captor = ArgumentCaptor.forClass(Report.class);
-        verify(reportRepo).save(captor.capture());
+        verify(reportRepo, times(2)).save(captor.capture());
 
-        String details = captor.getValue().getDetails();
+        String details = writtenBody();
         assertTrue(details.contains("#SH-501"), "Should match the #SH- format in service");
         assertTrue(details.contains("New York"));
-        assertTrue(details.contains("SHIPPED"));
+        assertTrue(details.contains("IN_TRANSIT"));
     }
 
     @Test
     @DisplayName("Generate: Space Report should include zone and capacity details")
-    void testGenerateSpaceReport() {
+    void testGenerateSpaceReport() throws IOException {
         // Arrange
         ReportDTO dto = new ReportDTO();
         dto.setReportType("SPACE");
@@ -101,16 +146,17 @@ public class ReportServiceTest {
         space.setTotalCapacity(500);
         space.setUsedCapacity(150);
 
-        when(spaceRepo.findAll()).thenReturn(Collections.singletonList(space));
+        when(spaceRepo.count()).thenReturn(1L);
+        when(spaceRepo.streamAll()).thenReturn(Stream.of(space));
 
         // Act
         reportService.generate(dto);
 
         // Assert
         ArgumentCaptor<Report> captor = ArgumentCaptor.forClass(Report.class);
-        verify(reportRepo).save(captor.capture());
+        verify(reportRepo, times(2)).save(captor.capture());
 
-        String details = captor.getValue().getDetails();
+        String details = writtenBody();
         assertTrue(details.contains("Loading-Dock"));
         assertTrue(details.contains("500"));
         assertTrue(details.contains("150"));
@@ -118,7 +164,7 @@ public class ReportServiceTest {
 
     @Test
     @DisplayName("Generate: Maintenance Report should include task description and status")
-    void testGenerateMaintenanceReport() {
+    void testGenerateMaintenanceReport() throws IOException {
         // Arrange
         ReportDTO dto = new ReportDTO();
         dto.setReportType("MAINTENANCE");
@@ -129,18 +175,69 @@ public class ReportServiceTest {
         task.setCompletionStatus("IN_PROGRESS");
         task.setScheduledDate(LocalDate.now());
 
-        when(maintenanceRepo.findAll()).thenReturn(Collections.singletonList(task));
+        when(maintenanceRepo.count()).thenReturn(1L);
+        when(maintenanceRepo.streamAll()).thenReturn(Stream.of(task));
 
         // Act
         reportService.generate(dto);
 
         // Assert
         ArgumentCaptor<Report> captor = ArgumentCaptor.forClass(Report.class);
-        verify(reportRepo).save(captor.capture());
+        verify(reportRepo, times(2)).save(captor.capture());
 
-        String details = captor.getValue().getDetails();
+        String details = writtenBody();
         assertTrue(details.contains("HVAC Repair"));
         assertTrue(details.contains("IN_PROGRESS"));
         assertTrue(details.contains("202"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Generate: Should reject the job with a business error when the report queue is full")
+    void testGenerateRejectedWhenQueueFull() {
+        // Arrange
+        ReportDTO dto = new ReportDTO();
+        dto.setReportType("INVENTORY");
+        doThrow(new TaskRejectedException("queue full")).when(reportExecutor).execute(any(Runnable.class));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> reportService.generate(dto));
+        assertTrue(reportService.listJobs().isEmpty(), "Rejected jobs should not be tracked");
+        verifyNoInteractions(reportRepo);
+    }
+
+    @Test
+    @DisplayName("Generate: Failing job should be reported as FAILED instead of propagating")
+    void testGenerateMarksJobFailed() {
+        // Arrange
+        ReportDTO dto = new ReportDTO();
+        dto.setReportType("INVENTORY");
+        when(inventoryRepo.count()).thenReturn(3L);
+        when(inventoryRepo.streamAll()).thenThrow(new IllegalStateException("connection lost"));
+
+        // Act
+        String jobId = reportService.generate(dto);
+
+        // Assert
+        ReportJobDTO job = reportService.findJob(jobId).orElseThrow();
+        assertEquals(ReportJobDTO.State.FAILED, job.getState());
+        assertEquals("connection lost", job.getErrorMessage());
+        verify(reportRepo, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("Delete: Should remove the stored chunks together with the report")
+    void testDeleteRemovesContent() {
+        // Act
+        reportService.delete(7);
+
+        // Assert
+        verify(contentStore).delete(7);
+        verify(reportRepo).deleteById(7);
+    }
+
+    private String writtenBody() throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressedBody.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
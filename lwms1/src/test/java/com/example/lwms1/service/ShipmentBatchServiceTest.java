@@ -0,0 +1,126 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.ShipmentBatchResultDTO;
+import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.exception.BusinessException;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.ShipmentJdbcRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShipmentBatchServiceTest {
+
+    @Mock private InventoryRepository inventoryRepo;
+    @Mock private ShipmentJdbcRepository shipmentJdbcRepo;
+    @Mock private CapacityLedger capacityLedger;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @Spy private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private ShipmentBatchService batchService;
+
+    private Space zoneA;
+    private Inventory laptop;
+
+    @BeforeEach
+    void setUp() {
+        zoneA = new Space();
+        zoneA.setSpaceId(1);
+        zoneA.setZone("Zone-A");
+
+        laptop = new Inventory();
+        laptop.setItemId(10);
+        laptop.setItemName("Laptop");
+        laptop.setQuantity(12);
+        laptop.setLocation("Zone-A");
+        laptop.setStorageSpace(zoneA);
+    }
+
+    @Test
+    @DisplayName("Batch: Lines should be checked against running stock and each item and zone updated once")
+    void testBatchAggregatesAndReportsPerLine() {
+        // Arrange
+        when(inventoryRepo.findSpaceIdsByItemIds(List.of(10, 99))).thenReturn(List.of(1));
+        when(inventoryRepo.lockAllByIdInOrder(List.of(10, 99))).thenReturn(List.of(laptop));
+        doAnswer(invocation -> {
+            List<Shipment> shipments = invocation.getArgument(0);
+            for (int i = 0; i < shipments.size(); i++) {
+                shipments.get(i).setShipmentId(500 + i);
+            }
+            return null;
+        }).when(shipmentJdbcRepo).insertAll(any(), anyInt());
+
+        List<ShipmentDTO> lines = new ArrayList<>();
+        lines.add(line(10, 5));   // ok, 7 left
+        lines.add(line(10, 10));  // more than what is left
+        lines.add(line(10, 0));   // invalid quantity
+        lines.add(line(99, 1));   // unknown item
+        lines.add(line(10, 7));   // ok, takes the rest
+
+        // Act
+        ShipmentBatchResultDTO result = batchService.createAll(lines);
+
+        // Assert
+        assertEquals(2, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertEquals(500, result.getLines().get(0).getShipmentId());
+        assertEquals("Insufficient stock available.", result.getLines().get(1).getError());
+        assertFalse(result.getLines().get(2).isSuccess());
+        assertTrue(result.getLines().get(3).getError().contains("Item not found"));
+        assertEquals(501, result.getLines().get(4).getShipmentId());
+
+        assertEquals(0, laptop.getQuantity());
+        verify(capacityLedger).lockZones(any());
+        verify(capacityLedger, times(1)).release(zoneA, 12);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Shipment>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(shipmentJdbcRepo).insertAll(inserted.capture(), anyInt());
+        assertEquals(2, inserted.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Batch: Oversized batches should be rejected before anything is locked")
+    void testOversizedBatchRejected() {
+        // Arrange
+        List<ShipmentDTO> lines = Collections.nCopies(ShipmentBatchService.MAX_LINES + 1, line(10, 1));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> batchService.createAll(lines));
+        verifyNoInteractions(inventoryRepo, capacityLedger, shipmentJdbcRepo);
+    }
+
+    private ShipmentDTO line(Integer itemId, int quantity) {
+        ShipmentDTO dto = new ShipmentDTO();
+        dto.setItemId(itemId);
+        dto.setQuantity(quantity);
+        dto.setOrigin("Dock 1");
+        dto.setDestination("Customer");
+        dto.setExpectedDeliveryDate(LocalDate.now().plusDays(2));
+        return dto;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.lwms1.service;
+
+import com.example.lwms1.dto.ShipmentBatchResultDTO;
+import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.exception.ResourceNotFoundException;
+import com.example.lwms1.model.Inventory;
+import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.Space;
+import com.example.lwms1.repository.InventoryRepository;
+import com.example.lwms1.repository.ShipmentJdbcRepository;
+import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.ShipmentStatusChangeRepository;
+import com.example.lwms1.repository.SpaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single shipments, cancellations and shipment batches racing on the same items. Every call
+ * commits on its own, like concurrent HTTP requests would, so a lost update shows up as stock
+ * or zone capacity that no longer adds up.
+ */
+@DataJpaTest
+@Import({ShipmentService.class, ShipmentBatchService.class, CapacityLedger.class, ShipmentJdbcRepository.class,
+        LocalValidatorFactoryBean.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShipmentConcurrencyTest {
+
+    private static final int THREADS = 12;
+    private static final int ROUNDS = 20;
+    private static final int STOCK = 100_000;
+
+    @Autowired private ShipmentService shipmentService;
+    @Autowired private ShipmentBatchService batchService;
+    @Autowired private InventoryRepository inventoryRepo;
+    @Autowired private ShipmentRepository shipmentRepo;
+    @Autowired private ShipmentStatusChangeRepository statusLogRepo;
+    @Autowired private SpaceRepository spaceRepo;
+
+    @AfterEach
+    void cleanUp() {
+        statusLogRepo.deleteAll();
+        shipmentRepo.deleteAll();
+        inventoryRepo.deleteAll();
+        spaceRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Concurrency: Single shipments, cancellations and batches on shared items should not lose stock")
+    void testMixedShipmentsKeepStockConsistent() throws Exception {
+        // Arrange
+        Space zone = newZone("SHIP-HOT", STOCK * 2);
+        Inventory first = newItem("Pallet A", zone);
+        Inventory second = newItem("Pallet B", zone);
+        AtomicInteger shipped = new AtomicInteger();
+
+        // Act: even threads ship and cancel one at a time, odd threads send batches over both items
+        runConcurrently(thread -> {
+            for (int round = 0; round < ROUNDS; round++) {
+                if (thread % 2 == 0) {
+                    Shipment s = shipmentService.create(line(first.getItemId(), 3));
+                    shipmentService.create(line(second.getItemId(), 2));
+                    shipped.addAndGet(5);
+                    if (round % 5 == 0) {
+                        shipmentService.changeStatus(s.getShipmentId(), "CANCELLED");
+                        shipped.addAndGet(-3);
+                    }
+                } else {
+                    ShipmentBatchResultDTO result = batchService.createAll(List.of(
+                            line(second.getItemId(), 1), line(first.getItemId(), 2), line(second.getItemId(), 4)));
+                    assertEquals(0, result.getFailed());
+                    shipped.addAndGet(7);
+                }
+            }
+        });
+
+        // Assert
+        int left = inventoryRepo.findById(first.getItemId()).orElseThrow().getQuantity()
+                + inventoryRepo.findById(second.getItemId()).orElseThrow().getQuantity();
+        Space reloaded = spaceRepo.findById(zone.getSpaceId()).orElseThrow();
+        assertEquals(2 * STOCK - shipped.get(), left);
+        assertEquals(left, reloaded.getUsedCapacity());
+        assertEquals(reloaded.getTotalCapacity() - left, reloaded.getAvailableCapacity());
+    }
+
+    @Test
+    @DisplayName("Concurrency: Cancelling or deleting the same shipment at once should return its stock only once")
+    void testDoubleCancelReturnsStockOnce() throws Exception {
+        // Arrange
+        Space zone = newZone("SHIP-CANCEL", STOCK * 2);
+        Inventory item = newItem("Pallet C", zone);
+        List<Integer> shipmentIds = new ArrayList<>();
+        for (int i = 0; i < ROUNDS * 2; i++) {
+            shipmentIds.add(shipmentService.create(line(item.getItemId(), 5)).getShipmentId());
+        }
+
+        // Act: every thread works through the same shipments; every third one deletes instead of cancelling
+        runConcurrently(thread -> {
+            for (Integer id : shipmentIds) {
+                try {
+                    if (thread % 3 == 0) {
+                        shipmentService.delete(id);
+                    } else {
+                        shipmentService.changeStatus(id, "CANCELLED");
+                    }
+                } catch (ResourceNotFoundException ex) {
+                    // already deleted by another thread
+                }
+            }
+        });
+
+        // Assert
+        Space reloaded = spaceRepo.findById(zone.getSpaceId()).orElseThrow();
+        assertEquals(STOCK, inventoryRepo.findById(item.getItemId()).orElseThrow().getQuantity());
+        assertEquals(STOCK * 2, reloaded.getUsedCapacity());
+        assertEquals(0, reloaded.getAvailableCapacity());
+    }
+
+    private Space newZone(String name, int capacity) {
+        Space s = new Space();
+        s.setZone(name);
+        s.setTotalCapacity(capacity);
+        s.setUsedCapacity(STOCK * 2);
+        s.setAvailableCapacity(capacity - STOCK * 2);
+        return spaceRepo.save(s);
+    }
+
+    private Inventory newItem(String name, Space zone) {
+        Inventory item = new Inventory();
+        item.setItemName(name);
+        item.setQuantity(STOCK);
+        item.setLocation(zone.getZone());
+        item.setStorageSpace(zone);
+        return inventoryRepo.save(item);
+    }
+
+    private static ShipmentDTO line(Integer itemId, int quantity) {
+        ShipmentDTO dto = new ShipmentDTO();
+        dto.setItemId(itemId);
+        dto.setQuantity(quantity);
+        dto.setOrigin("Dock 1");
+        dto.setDestination("Customer");
+        dto.setExpectedDeliveryDate(LocalDate.now().plusDays(1));
+        return dto;
+    }
+
+    private void runConcurrently(IntConsumerWithException work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    work.accept(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerWithException {
+        void accept(int thread) throws Exception;
+    }
+}
@@ -1,19 +1,25 @@
 package com.example.lwms1.service;
 
 import com.example.lwms1.dto.ShipmentDTO;
+import com.example.lwms1.exception.BusinessException;
 import com.example.lwms1.exception.ResourceNotFoundException;
 import com.example.lwms1.model.Inventory;
 import com.example.lwms1.model.Shipment;
+import com.example.lwms1.model.ShipmentStatus;
+import com.example.lwms1.model.ShipmentStatusChange;
 import com.example.lwms1.model.Space;
 import com.example.lwms1.repository.InventoryRepository;
 import com.example.lwms1.repository.ShipmentRepository;
+import com.example.lwms1.repository.ShipmentStatusChangeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -30,6 +36,14 @@ public class ShipmentServiceTest {
     @Mock
     private InventoryRepository inventoryRepo;
 
+    @Mock
+    private ShipmentStatusChangeRepository statusLogRepo;
+
+    @Mock
+    private CapacityLedger capacityLedger;
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShipmentService shipmentService;
 
@@ -73,9 +87,8 @@ public class ShipmentServiceTest {
         // Inventory check: 20 starting - 10 shipped = 10 left
         assertEquals(10, mockInventory.getQuantity());
 
-        // Space math: 50 used - 10 quantity = 40 new used capacity
-        assertEquals(40, mockSpace.getUsedCapacity());
-        assertEquals(60, mockSpace.getAvailableCapacity());
+        // The shipped units are released from the zone
+        verify(capacityLedger).release(mockSpace, 10);
 
         verify(inventoryRepo).save(mockInventory);
         verify(shipmentRepo).save(any(Shipment.class));
@@ -101,7 +114,7 @@ public class ShipmentServiceTest {
         // Arrange
         Shipment existingShipment = new Shipment();
         existingShipment.setShipmentId(100);
-        existingShipment.setStatus("PENDING");
+        existingShipment.setStatus(ShipmentStatus.PENDING);
 
         mockDto.setShipmentId(100);
         mockDto.setStatus("DELIVERED");
@@ -114,8 +127,71 @@ public class ShipmentServiceTest {
         shipmentService.updateFullShipment(mockDto);
 
         // Assert
-        assertEquals("DELIVERED", existingShipment.getStatus());
+        assertEquals(ShipmentStatus.DELIVERED, existingShipment.getStatus());
         verify(shipmentRepo).save(existingShipment);
+
+        ArgumentCaptor<ShipmentStatusChange> logged = ArgumentCaptor.forClass(ShipmentStatusChange.class);
+        verify(statusLogRepo).save(logged.capture());
+        assertEquals(ShipmentStatus.PENDING, logged.getValue().getFromStatus());
+        assertEquals(ShipmentStatus.DELIVERED, logged.getValue().getToStatus());
+    }
+
+    @Test
+    @DisplayName("Update Full Shipment: Should reject a transition out of a final status")
+    void testUpdateRejectsIllegalTransition() {
+        // Arrange
+        Shipment delivered = new Shipment();
+        delivered.setShipmentId(100);
+        delivered.setStatus(ShipmentStatus.DELIVERED);
+
+        mockDto.setShipmentId(100);
+        mockDto.setStatus("IN_TRANSIT");
+
+        when(shipmentRepo.findById(100)).thenReturn(Optional.of(delivered));
+        when(inventoryRepo.findById(1)).thenReturn(Optional.of(mockInventory));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> shipmentService.updateFullShipment(mockDto));
+        assertEquals(ShipmentStatus.DELIVERED, delivered.getStatus());
+        verify(shipmentRepo, never()).save(any());
+        verifyNoInteractions(statusLogRepo);
+    }
+
+    @Test
+    @DisplayName("Change Status: Cancelling should return the stock once, and deleting afterwards should not again")
+    void testCancelReturnsStockOnce() {
+        // Arrange
+        Shipment s = new Shipment();
+        s.setShipmentId(100);
+        s.setQuantity(10);
+        s.setInventory(mockInventory);
+        s.setStatus(ShipmentStatus.IN_TRANSIT);
+
+        when(shipmentRepo.findById(100)).thenReturn(Optional.of(s));
+
+        // Act
+        shipmentService.changeStatus(100, "cancelled");
+        shipmentService.delete(100);
+
+        // Assert
+        assertEquals(ShipmentStatus.CANCELLED, s.getStatus());
+        assertEquals(30, mockInventory.getQuantity());
+        verify(capacityLedger, times(1)).restore(mockSpace, 10);
+        verify(shipmentRepo).delete(s);
+    }
+
+    @Test
+    @DisplayName("Change Status: Should reject an unknown status value")
+    void testChangeStatusRejectsUnknownValue() {
+        // Arrange
+        Shipment s = new Shipment();
+        s.setShipmentId(100);
+        s.setStatus(ShipmentStatus.PENDING);
+        when(shipmentRepo.findById(100)).thenReturn(Optional.of(s));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> shipmentService.changeStatus(100, "LOST"));
+        assertEquals(ShipmentStatus.PENDING, s.getStatus());
     }
 
     @Test
@@ -133,9 +209,9 @@ public class ShipmentServiceTest {
         shipmentService.delete(100);
 
         // Assert
-        // If we delete a shipment of 10, your service logic adds 10 back to UsedCapacity
-        // Initial 50 + 10 = 60
-        assertEquals(60, mockSpace.getUsedCapacity());
+        // Deleting a shipment of 10 puts the 10 units back into the zone
+        verify(capacityLedger).restore(mockSpace, 10);
+        assertEquals(30, mockInventory.getQuantity());
         verify(shipmentRepo).delete(s);
     }
 
@@ -12,11 +12,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +28,11 @@ public class SpaceServiceTest {
     @Mock
     private SpaceRepository repo;
 
+    @Mock
+    private CapacityLedger capacityLedger;
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SpaceService spaceService;
 
@@ -38,6 +46,10 @@ public class SpaceServiceTest {
         mockSpace.setTotalCapacity(100);
         mockSpace.setUsedCapacity(40);
         mockSpace.setAvailableCapacity(60);
+
+        // Run the retried unit of work inline, as a single successful attempt
+        lenient().when(capacityLedger.retryOnConflict(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
     }
 
     @Test
@@ -78,4 +90,22 @@ public class SpaceServiceTest {
 
         assertThrows(BusinessException.class, () -> spaceService.update(1, updateDto));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Update: A renamed zone should be evicted from the second-level cache")
+    void testUpdateEvictsCachedSpace() {
+        // Arrange
+        SpaceDTO updateDto = new SpaceDTO();
+        updateDto.setZone("Zone A2");
+        updateDto.setTotalCapacity(100);
+        when(repo.findById(1)).thenReturn(Optional.of(mockSpace));
+        when(repo.saveAndFlush(any(Space.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Space saved = spaceService.update(1, updateDto);
+
+        // Assert
+        assertEquals("Zone A2", saved.getZone());
+        verify(repo).evictFromCache(1);
+    }
+}
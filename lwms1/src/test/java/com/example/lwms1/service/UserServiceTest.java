@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.HashSet;
@@ -32,6 +33,9 @@ public class UserServiceTest {
     @Mock private RoleRepository roleRepo;
     @Mock private PasswordEncoder encoder;
 
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private CachedUserDetailsService userDetailsService;
+
     @InjectMocks
     private UserService userService;
 
@@ -80,29 +84,6 @@ public class UserServiceTest {
         assertThrows(BusinessException.class, () -> userService.createUser(dto));
     }
 
-    @Test
-    @DisplayName("Revoke: Should throw exception if attempting to remove last role")
-    void testRevokeLastRole() {
-        when(userRepo.findByUsername("johndoe")).thenReturn(Optional.of(mockUser));
-
-        // Attempting to remove ROLE_USER (the only role he has)
-        assertThrows(BusinessException.class, () -> userService.revokeRole("johndoe", "USER"));
-    }
-
-    @Test
-    @DisplayName("Grant: Should add new role to existing set")
-    void testGrantRole() {
-        Role adminRole = new Role("ROLE_ADMIN");
-        when(userRepo.findByUsername("johndoe")).thenReturn(Optional.of(mockUser));
-        when(roleRepo.findByName("ROLE_ADMIN")).thenReturn(Optional.of(adminRole));
-        when(userRepo.save(any(UserAccount.class))).thenReturn(mockUser);
-
-        UserAccount result = userService.grantRole("johndoe", "ADMIN");
-
-        assertEquals(2, result.getRoles().size());
-        verify(userRepo).save(mockUser);
-    }
-
     @Test
     @DisplayName("Formatting: Helper method should handle various role inputs")
     void testRoleFormatting() {
@@ -118,5 +99,17 @@ public class UserServiceTest {
         userService.setUserRole(dto);
 
         verify(roleRepo).findByName("ROLE_MANAGER");
+        verify(userDetailsService).evict("johndoe");
+    }
+
+    @Test
+    @DisplayName("Delete: Should evict the deleted user from the login cache")
+    void testDeleteEvictsCachedUser() {
+        when(userRepo.findById(1L)).thenReturn(Optional.of(mockUser));
+
+        userService.deleteUser(1L);
+
+        verify(userRepo).deleteById(1L);
+        verify(userDetailsService).evict("johndoe");
     }
-}
\ No newline at end of file
+}